@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+#
+# Bulk menu import from the command line, through POST /api/staff/menu/import.
+#
+# The file is sent as CSV or JSON depending on its extension. With --replace the file is the
+# whole menu and items missing from it are made unavailable. Nothing is imported if any row is
+# invalid; the rejected rows are printed.
+#
+# Usage: scripts/import-menu.sh [--replace] <menu.csv|menu.json> [base-url]
+
+set -euo pipefail
+
+REPLACE=false
+if [[ "${1:-}" == "--replace" ]]; then
+  REPLACE=true
+  shift
+fi
+
+FILE="${1:?usage: $0 [--replace] <menu.csv|menu.json> [base-url]}"
+BASE_URL="${2:-http://localhost:8080}"
+
+case "$FILE" in
+  *.json) CONTENT_TYPE=application/json ;;
+  *.csv) CONTENT_TYPE=text/csv ;;
+  *) echo "$FILE: expected a .csv or .json file" >&2; exit 1 ;;
+esac
+
+curl -sS --fail-with-body \
+  -H "Content-Type: $CONTENT_TYPE" \
+  --data-binary "@$FILE" \
+  "$BASE_URL/api/staff/menu/import?replace=$REPLACE"
+echo
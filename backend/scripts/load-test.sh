@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+#
+# Load test of the servlet (MVC + JPA) and reactive (WebFlux + R2DBC) stacks at increasing
+# connection counts, against the in-memory H2 profile.
+#
+# Each stack is started from target/backend-*.jar (./mvnw -DskipTests package), then
+# com.chiringuito.benchmark.StackLoadTest (compiled test classes) keeps one request in flight
+# per connection for DURATION seconds after a short warmup, for two scenarios:
+#   menu  GET /api/menu
+#   cart  GET /api/order/cart, each connection reading a cart of its own
+# Admission control is switched off so both stacks queue rather than shed load, and SQL
+# logging is turned down. Run the load generator on a separate machine for numbers that are
+# not skewed by sharing CPUs with the server.
+#
+# Usage: scripts/load-test.sh [connections...]   (default: 50 200 1000 2000)
+#   DURATION=30 PORT=18080 scripts/load-test.sh 100 500
+
+set -euo pipefail
+
+CONNECTIONS=("${@:-50 200 1000 2000}")
+read -r -a CONNECTIONS <<< "${CONNECTIONS[*]}"
+DURATION="${DURATION:-20}"
+PORT="${PORT:-18080}"
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$BASE_DIR/target"
+URL="http://localhost:$PORT"
+
+JAR=$(ls "$TARGET"/backend-*.jar 2> /dev/null | grep -v plain | head -1 || true)
+if [[ -z "$JAR" || ! -d "$TARGET/test-classes" ]]; then
+  echo "Build first: ./mvnw -DskipTests package" >&2
+  exit 1
+fi
+
+run_stack() {
+  local name="$1" profiles="$2"
+  local log="$TARGET/load-test-$name.log"
+
+  echo "== $name ($profiles)"
+  java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" \
+    --spring.devtools.restart.enabled=false --chiringuito.admission.enabled=false \
+    --logging.level.com.chiringuito=INFO --logging.level.org.hibernate.SQL=INFO > "$log" 2>&1 &
+  local pid=$!
+
+  until curl -sf -o /dev/null "$URL/api/menu"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "   $name exited before serving requests, see $log" >&2
+      return 1
+    fi
+    sleep 0.2
+  done
+
+  for scenario in menu cart; do
+    for connections in "${CONNECTIONS[@]}"; do
+      printf '   '
+      java -cp "$TARGET/test-classes" com.chiringuito.benchmark.StackLoadTest "$URL" "$scenario" "$connections" "$DURATION"
+    done
+  done
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+}
+
+run_stack servlet local
+run_stack reactive local,reactive
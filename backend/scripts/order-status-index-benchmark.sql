@@ -0,0 +1,93 @@
+-- Order status encoding benchmark (PostgreSQL).
+--
+-- Builds two scratch copies of a large orders table in a throwaway schema:
+--   before: status VARCHAR(50) with a full index on status (V3 layout)
+--   after:  status_code SMALLINT with the partial active-orders index (V7/V8 layout)
+-- and reports table and index sizes plus the kitchen-queue query plan and timing for each.
+-- Nearly all rows are PICKED_UP history; a few hundred orders are in flight.
+--
+-- Usage: psql -d chiringuito -v rows=2000000 -f scripts/order-status-index-benchmark.sql
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 2000000
+\endif
+\timing off
+
+DROP SCHEMA IF EXISTS status_bench CASCADE;
+CREATE SCHEMA status_bench;
+SET search_path = status_bench;
+
+CREATE TABLE orders_before (
+    id UUID PRIMARY KEY,
+    status VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE orders_after (
+    id UUID PRIMARY KEY,
+    status_code SMALLINT NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Oldest rows first; the newest ~600 rows are still active
+INSERT INTO orders_after
+SELECT gen_random_uuid(),
+       CASE WHEN n > :rows - 200 THEN 1
+            WHEN n > :rows - 400 THEN 2
+            WHEN n > :rows - 600 THEN 3
+            ELSE 4 END,
+       round((random() * 60 + 5)::numeric, 2),
+       now() - make_interval(secs => (:rows - n) * 30)
+FROM generate_series(1, :rows) AS n;
+
+INSERT INTO orders_before
+SELECT id,
+       (ARRAY['PENDING', 'PREPARING', 'READY', 'PICKED_UP'])[status_code],
+       total_amount,
+       created_at
+FROM orders_after;
+
+CREATE INDEX idx_before_created_at ON orders_before (created_at);
+CREATE INDEX idx_before_status ON orders_before (status);
+CREATE INDEX idx_after_created_at ON orders_after (created_at);
+CREATE INDEX idx_after_active ON orders_after (status_code, created_at, id) WHERE status_code IN (1, 2, 3);
+
+VACUUM ANALYZE orders_before;
+VACUUM ANALYZE orders_after;
+
+\echo
+\echo '== Sizes'
+SELECT relname AS relation, pg_size_pretty(pg_relation_size(oid)) AS size
+FROM pg_class
+WHERE relnamespace = 'status_bench'::regnamespace AND relkind IN ('r', 'i')
+ORDER BY relname;
+
+\echo
+\echo '== Kitchen queue, before (status strings, full status index)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, status, created_at FROM orders_before
+WHERE status IN ('PREPARING', 'READY')
+ORDER BY created_at, id
+LIMIT 50;
+
+\echo
+\echo '== Kitchen queue, after (status codes, partial active-orders index)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id, status_code, created_at FROM orders_after
+WHERE status_code IN (2, 3)
+ORDER BY created_at, id
+LIMIT 50;
+
+\echo
+\echo '== Open carts count, before / after'
+EXPLAIN (ANALYZE, COSTS OFF) SELECT count(*) FROM orders_before WHERE status = 'PENDING';
+EXPLAIN (ANALYZE, COSTS OFF) SELECT count(*) FROM orders_after WHERE status_code = 1;
+
+\if :{?keep}
+\else
+  DROP SCHEMA status_bench CASCADE;
+\endif
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+#
+# Local payment webhook replayer: signs events the way the gateway does and delivers them to
+# POST /api/payment/webhook in a concurrent burst.
+#
+# Events are read one JSON object per line, e.g.
+#   {"id":"evt_1","type":"payment.succeeded","orderId":"<order or cart id>"}
+# Each event is delivered REPEAT times (default 1; more exercises deduplication) by PARALLEL
+# concurrent senders (default 8). Prints how many deliveries got each HTTP status: 202 new,
+# 200 redelivery, 401 bad signature. SECRET defaults to the 'local' profile's webhook secret.
+#
+# Usage: scripts/replay-webhooks.sh <events.ndjson|-> [base-url]
+#   REPEAT=3 PARALLEL=32 scripts/replay-webhooks.sh events.ndjson
+
+set -euo pipefail
+
+FILE="${1:?usage: $0 <events.ndjson|-> [base-url]}"
+export BASE_URL="${2:-http://localhost:8080}"
+export SECRET="${SECRET:-local-webhook-secret}"
+REPEAT="${REPEAT:-1}"
+PARALLEL="${PARALLEL:-8}"
+
+deliver() {
+  local body="$1" timestamp signature
+  timestamp=$(date +%s)
+  signature=$(printf '%s.%s' "$timestamp" "$body" | openssl dgst -sha256 -hmac "$SECRET" -hex | awk '{print $NF}')
+  curl -sS -o /dev/null -w '%{http_code}\n' \
+    -H "Content-Type: application/json" \
+    -H "Payment-Signature: t=$timestamp,v1=$signature" \
+    --data-binary "$body" \
+    "$BASE_URL/api/payment/webhook"
+}
+export -f deliver
+
+grep -v '^[[:space:]]*$' "$( [[ "$FILE" == "-" ]] && echo /dev/stdin || echo "$FILE" )" \
+  | awk -v repeat="$REPEAT" '{ for (i = 0; i < repeat; i++) print }' \
+  | xargs -d '\n' -P "$PARALLEL" -I {} bash -c 'deliver "$1"' _ {} \
+  | sort | uniq -c | awk '{ printf "%6d x HTTP %s\n", $1, $2 }'
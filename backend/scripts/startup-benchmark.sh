@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+#
+# Startup and first-request latency benchmark for the backend.
+#
+# Launches each build variant RUNS times against the in-memory H2 profile and reports, per
+# run and as a median:
+#   - startup:        "Started BackendApplication in X seconds" as logged by Spring Boot
+#   - first response: wall time from process launch until GET /api/menu returns 200
+#   - next request:   latency of the GET /api/menu issued right after the first success
+#
+# Variants (skipped when the artifact is missing):
+#   jvm     target/backend-*.jar                 (./mvnw -DskipTests package)
+#   native  target/chiringuito-backend           (./mvnw -Pnative -DskipTests native:compile)
+#   extracted / aot-cache
+#           target/app/backend-*.jar, without and with the trained target/app/app.aot
+#                                                (./mvnw -Paot-cache -DskipTests package, JDK 24+)
+#
+# Usage: scripts/startup-benchmark.sh [runs] [port]
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${2:-18080}"
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$BASE_DIR/target"
+URL="http://localhost:$PORT/api/menu"
+APP_ARGS=(--server.port="$PORT" --spring.profiles.active=local --spring.devtools.restart.enabled=false)
+
+now_ms() {
+  date +%s%3N
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) { print "n/a" } else if (NR % 2) { print v[(NR + 1) / 2] } else { print (v[NR / 2] + v[NR / 2 + 1]) / 2 } }'
+}
+
+run_variant() {
+  local name="$1"
+  shift
+  local log="$TARGET/startup-benchmark-$name.log"
+  local startups=() first_responses=() next_requests=()
+
+  echo "== $name"
+  for run in $(seq 1 "$RUNS"); do
+    local launched pid ready request_start request_end started started_ms
+    launched=$(now_ms)
+    "$@" "${APP_ARGS[@]}" > "$log" 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null "$URL"; do
+      if ! kill -0 "$pid" 2> /dev/null; then
+        echo "   $name exited before serving requests, see $log" >&2
+        return 1
+      fi
+      sleep 0.02
+    done
+    ready=$(now_ms)
+
+    # Time a request on a fresh connection right after the first one succeeded
+    request_start=$(now_ms)
+    curl -sf -o /dev/null "$URL"
+    request_end=$(now_ms)
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    started=$(grep -oE 'Started BackendApplication in [0-9.]+ seconds' "$log" | grep -oE '[0-9.]+' | head -1)
+    started_ms=$(awk -v s="${started:-0}" 'BEGIN { printf "%d", s * 1000 }')
+
+    startups+=("$started_ms")
+    first_responses+=("$((ready - launched))")
+    next_requests+=("$((request_end - request_start))")
+    printf '   run %d: startup %5d ms   first response %5d ms   next request %4d ms\n' \
+      "$run" "$started_ms" "$((ready - launched))" "$((request_end - request_start))"
+  done
+
+  printf '   median: startup %s ms   first response %s ms   next request %s ms\n' \
+    "$(printf '%s\n' "${startups[@]}" | median)" \
+    "$(printf '%s\n' "${first_responses[@]}" | median)" \
+    "$(printf '%s\n' "${next_requests[@]}" | median)"
+}
+
+JAR=$(ls "$TARGET"/backend-*.jar 2> /dev/null | grep -v plain | head -1 || true)
+if [[ -n "$JAR" ]]; then
+  run_variant jvm java -jar "$JAR"
+fi
+
+if [[ -x "$TARGET/chiringuito-backend" ]]; then
+  run_variant native "$TARGET/chiringuito-backend"
+fi
+
+EXTRACTED=$(ls "$TARGET"/app/backend-*.jar 2> /dev/null | head -1 || true)
+if [[ -n "$EXTRACTED" && -f "$TARGET/app/app.aot" ]]; then
+  run_variant extracted java -jar "$EXTRACTED"
+  run_variant aot-cache java -XX:AOTCache="$TARGET/app/app.aot" -jar "$EXTRACTED"
+fi
@@ -0,0 +1,42 @@
+package com.chiringuito.config;
+
+import com.chiringuito.web.admission.AdaptiveConcurrencyLimit;
+import com.chiringuito.web.admission.AdmissionControlFilter;
+import com.chiringuito.web.admission.AdmissionProperties;
+import com.chiringuito.web.admission.SessionRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "chiringuito.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public SessionRateLimiter sessionRateLimiter(AdmissionProperties properties) {
+        return new SessionRateLimiter(properties.sessionRequestsPerSecond(), properties.sessionBurst());
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionProperties properties,
+                                                                                 SessionRateLimiter sessionRateLimiter,
+                                                                                 MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(
+                properties.initialLimit(),
+                properties.minLimit(),
+                properties.maxLimit(),
+                properties.targetLatency().toNanos());
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(concurrencyLimit, sessionRateLimiter, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Run before anything else does work for a request that may be rejected
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,71 @@
+package com.chiringuito.config;
+
+import com.chiringuito.diagnostics.ActionEventInterceptor;
+import com.chiringuito.diagnostics.FlightRecordingEndpoint;
+import com.chiringuito.diagnostics.RepositoryCallEventInterceptor;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+
+/**
+ * Flight Recorder events for the service actions and repositories, and the endpoint that
+ * records them. The events are disabled by default; see {@link FlightRecordingEndpoint}. The
+ * endpoint only exists where it is exposed, which by default is the local profile only.
+ */
+@Configuration
+public class DiagnosticsConfig {
+
+    private static final String ACTION_PACKAGE = "com.chiringuito.service.action";
+
+    @Bean
+    public static BeanPostProcessor actionEventPostProcessor() {
+        return new ActionEventPostProcessor();
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryCallEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(
+                                    new RepositoryCallEventInterceptor(repository.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public FlightRecordingEndpoint flightRecordingEndpoint() {
+        return new FlightRecordingEndpoint();
+    }
+
+    // Public execute methods of the blocking actions. Reactive actions only assemble a
+    // pipeline in execute(), so an event around it would measure nothing
+    private static final class ActionEventPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        private ActionEventPostProcessor() {
+            this.advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    return ACTION_PACKAGE.equals(targetClass.getPackageName())
+                            && method.getName().equals("execute")
+                            && !Publisher.class.isAssignableFrom(method.getReturnType());
+                }
+            }, new ActionEventInterceptor());
+            // Outside the transaction advice, so commit time counts towards the action
+            setBeforeExistingAdvisors(true);
+        }
+    }
+}
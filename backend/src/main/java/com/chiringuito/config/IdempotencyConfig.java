@@ -0,0 +1,45 @@
+package com.chiringuito.config;
+
+import com.chiringuito.web.idempotency.IdempotencyKeyFilter;
+import com.chiringuito.web.idempotency.IdempotencyProperties;
+import com.chiringuito.web.idempotency.IdempotencyStore;
+import com.chiringuito.web.idempotency.InMemoryIdempotencyStore;
+import com.chiringuito.web.idempotency.JdbcIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "chiringuito.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "chiringuito.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.maxEntries(), properties.ttl());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "chiringuito.idempotency", name = "store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(IdempotencyProperties properties, JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate,
+                new InMemoryIdempotencyStore(properties.maxEntries(), properties.ttl()),
+                properties.ttl());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyKeyFilter> idempotencyKeyFilter(IdempotencyStore store,
+                                                                             IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyKeyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyKeyFilter(store, properties.waitTimeout()));
+        registration.addUrlPatterns("/api/order/*", "/api/payment/*");
+        // Before admission control: replays are cheap and must not be shed
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.chiringuito.config;
+
+import com.chiringuito.service.invalidation.InvalidationBus;
+import com.chiringuito.service.invalidation.InvalidationProperties;
+import com.chiringuito.service.invalidation.JdbcInvalidationBus;
+import com.chiringuito.service.invalidation.LocalInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "chiringuito.invalidation", name = "bus", havingValue = "local", matchIfMissing = true)
+    public InvalidationBus localInvalidationBus(InvalidationProperties properties, MeterRegistry meterRegistry) {
+        return new LocalInvalidationBus(properties.nodeId(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "chiringuito.invalidation", name = "bus", havingValue = "jdbc")
+    public InvalidationBus jdbcInvalidationBus(InvalidationProperties properties, MeterRegistry meterRegistry,
+                                               JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcInvalidationBus(properties.nodeId(), meterRegistry, jdbcTemplate, transactionManager,
+                properties.retention());
+    }
+}
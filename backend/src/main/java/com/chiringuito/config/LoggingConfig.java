@@ -0,0 +1,26 @@
+package com.chiringuito.config;
+
+import com.chiringuito.logging.AsyncAppenderMetrics;
+import com.chiringuito.logging.RequestLoggingContextFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLoggingContextFilter> requestLoggingContextFilter() {
+        FilterRegistrationBean<RequestLoggingContextFilter> registration =
+                new FilterRegistrationBean<>(new RequestLoggingContextFilter());
+        // Ahead of admission control, so rejected requests are logged with their id too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public AsyncAppenderMetrics asyncAppenderMetrics() {
+        return new AsyncAppenderMetrics();
+    }
+}
@@ -0,0 +1,85 @@
+package com.chiringuito.config;
+
+import com.chiringuito.domain.entity.CartEvent;
+import com.chiringuito.domain.entity.CartEventTypeConverter;
+import com.chiringuito.domain.entity.CartSnapshot;
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatusChange;
+import com.chiringuito.domain.entity.OrderStatusConverter;
+import com.chiringuito.domain.entity.SalesHourlyRollup;
+import com.chiringuito.service.cart.CartState;
+import com.chiringuito.service.dto.*;
+import com.chiringuito.service.search.MenuSearchIndexUpdater;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reachability metadata for the GraalVM native image ({@code ./mvnw -Pnative native:compile}).
+ * Spring AOT infers most hints from the bean graph; this covers what it cannot see:
+ * Flyway migration scripts loaded from the classpath, DTOs serialized by Jackson outside
+ * controller signatures (CBOR, reporting), and the Lombok-built entities, their id classes
+ * and entity listeners that Hibernate instantiates reflectively.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.ChiringuitoRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static final List<Class<?>> ENTITY_TYPES = List.of(
+            MenuItem.class,
+            CartEvent.class,
+            CartEventTypeConverter.class,
+            CartSnapshot.class,
+            Order.class,
+            OrderLine.class,
+            OrderStatusChange.class,
+            OrderStatusConverter.class,
+            SalesHourlyRollup.class,
+            SalesHourlyRollup.Key.class,
+            MenuSearchIndexUpdater.class
+    );
+
+    static final List<Class<?>> DTO_TYPES = List.of(
+            AddItemRequest.class,
+            UpdateQuantityRequest.class,
+            MenuItemDTO.class,
+            OrderLineDTO.class,
+            OrderSummaryDTO.class,
+            OrderHistoryEntryDTO.class,
+            OrderHistoryPageDTO.class,
+            PopularMenuItemDTO.class,
+            SalesRollupDTO.class,
+            KitchenOrderDTO.class,
+            KitchenOrderItemDTO.class,
+            MarkReadyResultDTO.class,
+            MarkPickedUpResultDTO.class,
+            MenuImportResultDTO.class,
+            CartState.CartLine.class
+    );
+
+    static class ChiringuitoRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("db/vendor/*/*.sql");
+
+            for (Class<?> type : ENTITY_TYPES) {
+                hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+
+            BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+            bindingHints.registerReflectionHints(hints.reflection(), DTO_TYPES.toArray(Class<?>[]::new));
+        }
+    }
+}
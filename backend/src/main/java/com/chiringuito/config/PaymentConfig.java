@@ -0,0 +1,10 @@
+package com.chiringuito.config;
+
+import com.chiringuito.service.payment.PaymentWebhookProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PaymentWebhookProperties.class)
+public class PaymentConfig {
+}
@@ -0,0 +1,50 @@
+package com.chiringuito.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC access for the reactive stack ('reactive' profile), configured from {@code spring.r2dbc}.
+ * <p>
+ * Only the {@link DatabaseClient} is a bean. A {@code ConnectionFactory} bean would make
+ * Spring Boot skip the JDBC DataSource that JPA, Flyway and the cart writes still run on, which
+ * is also why Boot's own R2DBC auto-configuration is excluded; the pool is owned and closed here.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+    private final ConnectionPool pool;
+
+    public ReactiveDatabaseConfig(R2dbcProperties properties) {
+        R2dbcProperties.Pool poolProperties = properties.getPool();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                        ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                                .username(properties.getUsername())
+                                .password(properties.getPassword())
+                                .build())
+                .initialSize(poolProperties.getInitialSize())
+                .maxSize(poolProperties.getMaxSize())
+                .maxIdleTime(poolProperties.getMaxIdleTime())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
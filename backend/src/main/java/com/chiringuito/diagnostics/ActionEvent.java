@@ -0,0 +1,36 @@
+package com.chiringuito.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a {@code service.action} class. Disabled unless a recording asks for it, either
+ * through {@link FlightRecordingEndpoint} or {@code -XX:StartFlightRecording:chiringuito.Action#enabled=true}.
+ */
+@Name("chiringuito.Action")
+@Label("Action")
+@Category("Chiringuito")
+@Description("Execution of a service action")
+@Enabled(false)
+@StackTrace(false)
+class ActionEvent extends Event {
+
+    @Label("Action")
+    String action;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("Cart Size")
+    @Description("Items in the cart the action returned, or -1 when it returned none")
+    int cartSize = -1;
+
+    @Label("Outcome")
+    @Description("'success' or the simple name of the exception thrown")
+    String outcome;
+}
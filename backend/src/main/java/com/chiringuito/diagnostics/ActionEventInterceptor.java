@@ -0,0 +1,72 @@
+package com.chiringuito.diagnostics;
+
+import com.chiringuito.service.dto.MarkPickedUpResultDTO;
+import com.chiringuito.service.dto.MarkReadyResultDTO;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import jakarta.servlet.http.HttpSession;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * Emits an {@link ActionEvent} around every action call. With the event disabled this is one
+ * {@code isEnabled()} check, and the event object never escapes so the JIT drops it.
+ * <p>
+ * The order ID comes from the returned cart or ready result, falling back to the session's
+ * cart, which is read after the call so that actions that create the order see it too.
+ */
+public class ActionEventInterceptor implements MethodInterceptor {
+
+    private static final String ORDER_ID_SESSION_KEY = "orderId";
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ActionEvent event = new ActionEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            event.outcome = "success";
+            return result;
+        } catch (Throwable ex) {
+            event.outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.action = AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+                describeOrder(event, result, invocation.getArguments());
+                event.commit();
+            }
+        }
+    }
+
+    private static void describeOrder(ActionEvent event, Object result, Object[] arguments) {
+        if (result instanceof OrderSummaryDTO summary) {
+            event.orderId = String.valueOf(summary.orderId());
+            event.cartSize = summary.itemCount() != null ? summary.itemCount() : -1;
+            return;
+        }
+        if (result instanceof MarkReadyResultDTO ready && ready.getOrderId() != null) {
+            event.orderId = ready.getOrderId().toString();
+            return;
+        }
+        if (result instanceof MarkPickedUpResultDTO pickedUp && pickedUp.getOrderId() != null) {
+            event.orderId = pickedUp.getOrderId().toString();
+            return;
+        }
+        for (Object argument : arguments) {
+            if (argument instanceof HttpSession session) {
+                try {
+                    Object orderId = session.getAttribute(ORDER_ID_SESSION_KEY);
+                    event.orderId = orderId != null ? orderId.toString() : null;
+                } catch (IllegalStateException invalidated) {
+                    // Session invalidated during the call: no cart to report
+                }
+            }
+        }
+    }
+}
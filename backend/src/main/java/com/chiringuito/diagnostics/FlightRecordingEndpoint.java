@@ -0,0 +1,138 @@
+package com.chiringuito.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/flightrecording}: POST starts a Flight Recorder recording with the JDK's
+ * low-overhead "default" settings plus the {@link ActionEvent} and {@link RepositoryCallEvent}
+ * events, DELETE stops it and GET downloads it as a {@code .jfr} file, also while it is still
+ * running. Only one recording is kept; starting again discards the previous one.
+ * <p>
+ * The recording keeps at most {@link #MAX_AGE} of data, so one that is never stopped does not
+ * fill the disk. The events that capture the environment variables, system properties and JVM
+ * arguments are turned off: those carry the webhook secret and the database credentials.
+ */
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    static final Duration MAX_AGE = Duration.ofMinutes(30);
+
+    static final List<String> SECRET_BEARING_EVENTS =
+            List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private Recording recording;
+
+    @WriteOperation
+    public synchronized Map<String, Object> start() {
+        if (recording != null) {
+            recording.close();
+        }
+        recording = new Recording(settings());
+        recording.setName("chiringuito");
+        recording.setToDisk(true);
+        recording.setMaxAge(MAX_AGE);
+        recording.enable(ActionEvent.class);
+        recording.enable(RepositoryCallEvent.class);
+        recording.start();
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("chiringuito-", ".jfr");
+        recording.dump(file);
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        return status;
+    }
+
+    private static Map<String, String> settings() {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("JDK 'default' Flight Recorder settings are not available", ex);
+        }
+        SECRET_BEARING_EVENTS.forEach(event -> settings.put(event + "#enabled", "false"));
+        return settings;
+    }
+
+    // Deleted once it has been streamed to the client
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deleteFile();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Keeps the converters on getInputStream() rather than reading the file directly
+            return false;
+        }
+
+        private void deleteFile() {
+            try {
+                Files.deleteIfExists(getFile().toPath());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
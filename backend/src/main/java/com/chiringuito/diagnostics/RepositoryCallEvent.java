@@ -0,0 +1,29 @@
+package com.chiringuito.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a Spring Data repository method; the event duration is the call duration.
+ * Disabled unless a recording asks for it, like {@link ActionEvent}.
+ */
+@Name("chiringuito.RepositoryCall")
+@Label("Repository Call")
+@Category("Chiringuito")
+@Description("Spring Data repository method call")
+@Enabled(false)
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    @Description("Entities returned, or rows changed by a modifying query; -1 when unknown")
+    int rows = -1;
+}
@@ -0,0 +1,66 @@
+package com.chiringuito.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Emits a {@link RepositoryCallEvent} around every call on one repository proxy. Added by
+ * {@link com.chiringuito.config.DiagnosticsConfig} to each Spring Data repository; the cost
+ * with the event disabled is the same single check as {@link ActionEventInterceptor}.
+ */
+public class RepositoryCallEventInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+
+    public RepositoryCallEventInterceptor(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = repositoryName + "." + invocation.getMethod().getName();
+                event.rows = rows(invocation.getMethod(), result);
+                event.commit();
+            }
+        }
+    }
+
+    private static int rows(Method method, Object result) {
+        if (result instanceof Collection<?> entities) {
+            return entities.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number changed && method.isAnnotationPresent(Modifying.class)) {
+            return changed.intValue();
+        }
+        // Counts, existence checks, streams and void methods say nothing about rows read
+        if (result == null || result instanceof Number || result instanceof Boolean || result instanceof Stream<?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
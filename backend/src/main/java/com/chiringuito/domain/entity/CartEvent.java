@@ -0,0 +1,53 @@
+package com.chiringuito.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * CartEvent entity representing one immutable change to an event-sourced cart.
+ * Events are numbered per cart from 1 without gaps; rows are only ever inserted, and deleted
+ * once the cart is idle (see AbandonedCartExpirer).
+ */
+@Entity
+@Table(name = "cart_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "cart_id", nullable = false, updatable = false)
+    private UUID cartId;
+
+    @NotNull
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Integer sequence;
+
+    @NotNull
+    @Column(name = "event_type", nullable = false, updatable = false)
+    private CartEventType type;
+
+    @Column(name = "menu_item_id", updatable = false)
+    private UUID menuItemId;
+
+    @Column(updatable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", precision = 10, scale = 2, updatable = false)
+    private BigDecimal unitPrice;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
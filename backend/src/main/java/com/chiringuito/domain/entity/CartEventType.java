@@ -0,0 +1,36 @@
+package com.chiringuito.domain.entity;
+
+/**
+ * Kinds of event appended to an event-sourced cart. Stored as fixed SMALLINT codes, so codes
+ * must never be renumbered or reused.
+ */
+public enum CartEventType {
+
+    /** Adds {@code quantity} units of an item at {@code unitPrice}, the price captured at that moment. */
+    ITEM_ADDED(1),
+    /** Replaces the quantity of an item already in the cart. */
+    QUANTITY_SET(2),
+    /** Drops an item from the cart. */
+    ITEM_REMOVED(3),
+    /** The cart was materialized into an order; no further events follow. */
+    CHECKED_OUT(4);
+
+    private final short code;
+
+    CartEventType(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static CartEventType fromCode(short code) {
+        for (CartEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cart event type code: " + code);
+    }
+}
@@ -0,0 +1,21 @@
+package com.chiringuito.domain.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Persists {@link CartEventType} as its SMALLINT code instead of the enum name or ordinal.
+ */
+@Converter(autoApply = true)
+public class CartEventTypeConverter implements AttributeConverter<CartEventType, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(CartEventType type) {
+        return type == null ? null : type.code();
+    }
+
+    @Override
+    public CartEventType convertToEntityAttribute(Short code) {
+        return code == null ? null : CartEventType.fromCode(code);
+    }
+}
@@ -0,0 +1,43 @@
+package com.chiringuito.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * CartSnapshot entity holding the folded lines of an event-sourced cart as of event
+ * {@code sequence}, so loading a cart replays only the events after it.
+ */
+@Entity
+@Table(name = "cart_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "cart_id", nullable = false, updatable = false)
+    private UUID cartId;
+
+    @NotNull
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Integer sequence;
+
+    // JSON array of the cart lines
+    @NotNull
+    @Column(name = "lines_json", nullable = false, updatable = false, length = 8000)
+    private String linesJson;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
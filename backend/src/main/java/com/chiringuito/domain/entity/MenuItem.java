@@ -1,5 +1,6 @@
 package com.chiringuito.domain.entity;
 
+import com.chiringuito.service.search.MenuSearchIndexUpdater;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -12,6 +13,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "menu_items")
+@EntityListeners(MenuSearchIndexUpdater.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,4 +53,9 @@ public class MenuItem {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    // Carried by cache invalidations so nodes can ignore messages about older versions
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -6,12 +6,15 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * Order entity representing a customer order in the system.
- * Orders start with PENDING status when first item is added.
+ * Orders start with PENDING status when first item is added and move through
+ * {@link OrderStatus} via {@link #transitionTo(OrderStatus)}, which stamps when the order
+ * was paid and when it was ready.
  */
 @Entity
 @Table(name = "orders")
@@ -26,8 +29,8 @@ public class Order {
     private UUID id;
 
     @NotNull
-    @Column(nullable = false, length = 50)
-    private String status;
+    @Column(name = "status_code", nullable = false)
+    private OrderStatus status;
 
     @NotNull
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
@@ -36,4 +39,39 @@ public class Order {
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    @Column(name = "paid_at")
+    private LocalDateTime paidAt;
+
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
+    /** Start of the pre-ordered pickup slot, or null for pickup as soon as ready. */
+    @Column(name = "pickup_slot")
+    private LocalDateTime pickupSlot;
+
+    /** Business day the reference number belongs to; set together with it when the order is paid. */
+    @Column(name = "reference_day")
+    private LocalDate referenceDay;
+
+    /** Short reference shown to the customer, such as "A-142"; unique within its business day. */
+    @Column(name = "reference_number", length = 20)
+    private String referenceNumber;
+
+    /**
+     * Moves the order to {@code next}, enforcing the order lifecycle.
+     *
+     * @throws IllegalStateException if the transition is not allowed from the current status
+     */
+    public void transitionTo(OrderStatus next) {
+        if (!status.canTransitionTo(next)) {
+            throw new IllegalStateException("Order " + id + " cannot move from " + status + " to " + next);
+        }
+        status = next;
+        if (next == OrderStatus.PREPARING) {
+            paidAt = LocalDateTime.now();
+        } else if (next == OrderStatus.READY) {
+            readyAt = LocalDateTime.now();
+        }
+    }
+}
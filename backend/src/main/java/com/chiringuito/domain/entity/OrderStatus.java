@@ -0,0 +1,53 @@
+package com.chiringuito.domain.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle of an order. Each status is stored as a fixed SMALLINT code, so codes must never
+ * be renumbered or reused; new statuses take the next free code.
+ * <p>
+ * PENDING (cart) → PREPARING (paid) → READY → PICKED_UP, or PENDING → EXPIRED for abandoned carts
+ */
+public enum OrderStatus {
+
+    PENDING(1),
+    PREPARING(2),
+    READY(3),
+    PICKED_UP(4),
+    EXPIRED(5);
+
+    /** Statuses of orders still in flight; the only ones covered by the active-orders index. */
+    public static final Set<OrderStatus> ACTIVE = EnumSet.of(PENDING, PREPARING, READY);
+
+    /** Terminal statuses; orders in them never change again and may be archived. */
+    public static final Set<OrderStatus> FINISHED = EnumSet.of(PICKED_UP, EXPIRED);
+
+    private final short code;
+
+    OrderStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == PREPARING || next == EXPIRED;
+            case PREPARING -> next == READY;
+            case READY -> next == PICKED_UP;
+            case PICKED_UP, EXPIRED -> false;
+        };
+    }
+
+    public static OrderStatus fromCode(short code) {
+        for (OrderStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status code: " + code);
+    }
+}
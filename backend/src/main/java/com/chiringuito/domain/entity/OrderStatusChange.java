@@ -0,0 +1,38 @@
+package com.chiringuito.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * OrderStatusChange entity representing one order status transition in the change stream.
+ * Rows are appended when an order changes status and deleted once consumed.
+ */
+@Entity
+@Table(name = "order_status_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @NotNull
+    @Column(name = "status_code", nullable = false)
+    private OrderStatus status;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
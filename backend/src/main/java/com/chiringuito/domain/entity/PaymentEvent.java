@@ -0,0 +1,46 @@
+package com.chiringuito.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * PaymentEvent entity representing one payment gateway webhook event. Rows are inserted on
+ * receipt and kept after being applied, so redeliveries of old events are still recognized.
+ */
+@Entity
+@Table(name = "payment_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private String eventId;
+
+    @NotNull
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private UUID orderId;
+
+    @NotNull
+    @Column(name = "type", nullable = false, updatable = false)
+    private String type;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    @Column(name = "outcome")
+    private String outcome;
+}
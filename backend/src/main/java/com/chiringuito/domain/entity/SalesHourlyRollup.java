@@ -0,0 +1,61 @@
+package com.chiringuito.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * SalesHourlyRollup entity holding sales totals for one menu item within one hour.
+ * Units, revenue and order count are counted when an order is paid; picked-up units
+ * when it is collected.
+ */
+@Entity
+@Table(name = "sales_hourly_rollups")
+@IdClass(SalesHourlyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesHourlyRollup {
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "menu_item_id", nullable = false)
+    private UUID menuItemId;
+
+    @NotNull
+    @Column(name = "units_sold", nullable = false)
+    private Long unitsSold;
+
+    @NotNull
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @NotNull
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @NotNull
+    @Column(name = "units_picked_up", nullable = false)
+    private Long unitsPickedUp;
+
+    public static SalesHourlyRollup empty(Key key) {
+        return new SalesHourlyRollup(key.getBucketStart(), key.getMenuItemId(), 0L, BigDecimal.ZERO, 0L, 0L);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDateTime bucketStart;
+        private UUID menuItemId;
+    }
+}
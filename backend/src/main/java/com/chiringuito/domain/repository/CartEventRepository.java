@@ -0,0 +1,34 @@
+package com.chiringuito.domain.repository;
+
+import com.chiringuito.domain.entity.CartEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CartEventRepository extends JpaRepository<CartEvent, Long> {
+
+    // Answered from the (cart_id, seq) unique index alone
+    @Query("select max(e.sequence) from CartEvent e where e.cartId = :cartId")
+    Optional<Integer> findLatestSequence(UUID cartId);
+
+    List<CartEvent> findByCartIdAndSequenceGreaterThanOrderBySequence(UUID cartId, int sequence);
+
+    /**
+     * Carts whose last event is older than {@code cutoff}: abandoned carts and carts already
+     * materialized into orders.
+     */
+    @Query("select e.cartId from CartEvent e group by e.cartId having max(e.createdAt) < :cutoff")
+    List<UUID> findIdleCartIds(LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from CartEvent e where e.cartId in :cartIds")
+    int deleteByCartIds(Collection<UUID> cartIds);
+}
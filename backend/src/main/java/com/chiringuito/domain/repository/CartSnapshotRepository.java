@@ -0,0 +1,21 @@
+package com.chiringuito.domain.repository;
+
+import com.chiringuito.domain.entity.CartSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CartSnapshotRepository extends JpaRepository<CartSnapshot, Long> {
+
+    Optional<CartSnapshot> findFirstByCartIdOrderBySequenceDesc(UUID cartId);
+
+    // Snapshots of carts whose events were already purged
+    @Modifying
+    @Query("delete from CartSnapshot s where not exists (select 1 from CartEvent e where e.cartId = s.cartId)")
+    int deleteOrphaned();
+}
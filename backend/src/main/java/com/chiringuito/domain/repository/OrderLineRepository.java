@@ -2,8 +2,10 @@ package com.chiringuito.domain.repository;
 
 import com.chiringuito.domain.entity.OrderLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,5 +15,13 @@ public interface OrderLineRepository extends JpaRepository<OrderLine, UUID> {
 
     List<OrderLine> findByOrderId(UUID orderId);
 
+    List<OrderLine> findByOrderIdIn(Collection<UUID> orderIds);
+
+    /**
+     * Lines of live or archived orders, read through the order_lines_all view.
+     */
+    @Query(value = "select * from order_lines_all where order_id in :orderIds", nativeQuery = true)
+    List<OrderLine> findHistoryByOrderIdIn(Collection<UUID> orderIds);
+
     Optional<OrderLine> findByOrderIdAndMenuItemId(UUID orderId, UUID menuItemId);
 }
\ No newline at end of file
@@ -1,11 +1,65 @@
 package com.chiringuito.domain.repository;
 
 import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
-}
\ No newline at end of file
+
+    // Order history is read newest first with keyset (seek) pagination on (created_at, id):
+    // each page continues strictly after the last row of the previous one, so the cost of a
+    // page does not depend on how deep into the history it is. The seek condition is written as
+    // a range bound on created_at plus a tie-break on id, rather than as an OR of the two, so each
+    // side of the view can start an ordered index scan on (created_at, id) at the cursor.
+    // History spans live and archived orders through the orders_all view (see OrderArchiver);
+    // the returned entities are for reading only.
+
+    @Query(value = "select * from orders_all order by created_at desc, id desc", nativeQuery = true)
+    List<Order> findHistory(Limit limit);
+
+    @Query(value = """
+            select * from orders_all
+            where created_at <= :createdAt and (created_at < :createdAt or id < :id)
+            order by created_at desc, id desc""", nativeQuery = true)
+    List<Order> findHistoryAfter(LocalDateTime createdAt, UUID id, Limit limit);
+
+    @Query(value = """
+            select * from orders_all
+            where status_code in :statusCodes
+            order by created_at desc, id desc""", nativeQuery = true)
+    List<Order> findHistoryByStatus(Collection<Short> statusCodes, Limit limit);
+
+    @Query(value = """
+            select * from orders_all
+            where status_code in :statusCodes
+              and created_at <= :createdAt and (created_at < :createdAt or id < :id)
+            order by created_at desc, id desc""", nativeQuery = true)
+    List<Order> findHistoryByStatusAfter(Collection<Short> statusCodes, LocalDateTime createdAt, UUID id, Limit limit);
+
+    List<Order> findByStatus(OrderStatus status);
+
+    // Locks the carts so a concurrent payment waits for their expiry, or the other way round
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id from Order o where o.status = :status and o.createdAt < :cutoff")
+    List<UUID> findIdsByStatusCreatedBefore(OrderStatus status, LocalDateTime cutoff);
+
+    /**
+     * Marks the carts among {@code ids} created before {@code cutoff} that were never paid as expired. Equivalent to
+     * {@link Order#transitionTo} PENDING → EXPIRED for each of them, applied in one statement.
+     */
+    @Modifying
+    @Query("update Order o set o.status = :expired where o.id in :ids and o.status = :pending and o.createdAt < :cutoff")
+    int expireCarts(Collection<UUID> ids, OrderStatus pending, OrderStatus expired, LocalDateTime cutoff);
+}
@@ -0,0 +1,20 @@
+package com.chiringuito.domain.repository;
+
+import com.chiringuito.domain.entity.OrderStatusChange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderStatusChangeRepository extends JpaRepository<OrderStatusChange, Long> {
+
+    // Locks the batch so two nodes never apply the same changes twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from OrderStatusChange c order by c.id")
+    List<OrderStatusChange> findOldestForUpdate(Limit limit);
+}
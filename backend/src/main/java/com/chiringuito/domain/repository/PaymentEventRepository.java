@@ -0,0 +1,26 @@
+package com.chiringuito.domain.repository;
+
+import com.chiringuito.domain.entity.PaymentEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, Long> {
+
+    // Locks the batch so two nodes never apply the same events, and never apply one order's
+    // events out of order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from PaymentEvent e where e.appliedAt is null order by e.id")
+    List<PaymentEvent> findPendingForUpdate(Limit limit);
+
+    @Query("select min(e.receivedAt) from PaymentEvent e where e.appliedAt is null")
+    Optional<LocalDateTime> findOldestPendingReceivedAt();
+}
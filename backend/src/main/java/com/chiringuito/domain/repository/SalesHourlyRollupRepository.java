@@ -0,0 +1,19 @@
+package com.chiringuito.domain.repository;
+
+import com.chiringuito.domain.entity.SalesHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesHourlyRollupRepository extends JpaRepository<SalesHourlyRollup, SalesHourlyRollup.Key> {
+
+    @Query("""
+            select r from SalesHourlyRollup r
+            where r.bucketStart >= :from and r.bucketStart < :to
+            order by r.bucketStart, r.menuItemId""")
+    List<SalesHourlyRollup> findBuckets(LocalDateTime from, LocalDateTime to);
+}
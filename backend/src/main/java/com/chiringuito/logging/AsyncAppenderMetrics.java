@@ -0,0 +1,40 @@
+package com.chiringuito.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+
+/**
+ * Publishes dropped events and queue depth of every {@link CountingAsyncAppender} attached to
+ * the root logger, tagged with the appender name.
+ */
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof CountingAsyncAppender appender) {
+                FunctionCounter.builder("chiringuito.logging.dropped", appender, CountingAsyncAppender::getDroppedCount)
+                        .description("Log events dropped by the async appender")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                Gauge.builder("chiringuito.logging.queue", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                        .description("Log events waiting in the async appender queue")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        }
+    }
+}
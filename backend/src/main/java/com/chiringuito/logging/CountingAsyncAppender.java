@@ -0,0 +1,35 @@
+package com.chiringuito.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Non-blocking {@link AsyncAppender} that counts the events it drops. The logback appender
+ * silently discards events when its queue is full (with {@code neverBlock}) or, for
+ * INFO and below, when the queue is past its discarding threshold; this subclass makes
+ * those losses visible as the {@code chiringuito.logging.dropped} metric.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    public CountingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        // Mirrors the discard decisions of AsyncAppenderBase; racy by nature, so the count is approximate
+        if (remaining == 0 || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+            dropped.increment();
+        }
+        super.append(event);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
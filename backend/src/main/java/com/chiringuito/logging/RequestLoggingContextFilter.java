@@ -0,0 +1,51 @@
+package com.chiringuito.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Puts {@code requestId} and, when the session holds a cart, {@code orderId} into the MDC for
+ * the duration of a request, so every log line (including the structured JSON lines in
+ * production) can be correlated. The request id is taken from {@code X-Request-Id} when the
+ * caller sends a sane one and is echoed back in the response.
+ */
+public class RequestLoggingContextFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    static final String REQUEST_ID = "requestId";
+    static final String ORDER_ID = "orderId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID, requestId);
+
+        HttpSession session = request.getSession(false);
+        Object orderId = session != null ? session.getAttribute(ORDER_ID) : null;
+        if (orderId != null) {
+            MDC.put(ORDER_ID, orderId.toString());
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(ORDER_ID);
+        }
+    }
+}
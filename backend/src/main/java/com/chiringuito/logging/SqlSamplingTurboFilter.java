@@ -0,0 +1,42 @@
+package com.chiringuito.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in {@code sampleRate} statements logged by Hibernate on
+ * {@code org.hibernate.SQL} and denies the rest before any message is formatted.
+ * A rate of 0 denies them all. Slow statements are reported separately on
+ * {@code org.hibernate.SQL_SLOW} and are not sampled.
+ * <p>
+ * Hibernate asks {@code isDebugEnabled()} before logging each statement, which reaches the
+ * filter without a message; that check always passes, so only the logging call itself is
+ * counted and sampled.
+ */
+public class SqlSamplingTurboFilter extends TurboFilter {
+
+    static final String SQL_LOGGER = "org.hibernate.SQL";
+
+    private final AtomicLong seen = new AtomicLong();
+    private int sampleRate = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level != Level.DEBUG || !SQL_LOGGER.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (sampleRate <= 0) {
+            return FilterReply.DENY;
+        }
+        return seen.getAndIncrement() % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
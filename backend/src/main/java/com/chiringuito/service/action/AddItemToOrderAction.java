@@ -6,12 +6,16 @@ import com.chiringuito.domain.repository.OrderRepository;
 import com.chiringuito.domain.entity.MenuItem;
 import com.chiringuito.domain.entity.Order;
 import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
 import com.chiringuito.service.dto.AddItemRequest;
 import com.chiringuito.service.dto.OrderLineDTO;
 import com.chiringuito.service.dto.OrderSummaryDTO;
 import com.chiringuito.service.exception.MaxItemsExceededException;
 import com.chiringuito.service.exception.MenuItemNotFoundException;
 import com.chiringuito.service.exception.MenuItemUnavailableException;
+import com.chiringuito.service.popularity.PopularItemsTracker;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import com.chiringuito.service.stock.StockLedger;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -22,6 +26,8 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+
 @Service
 @RequiredArgsConstructor
 public class AddItemToOrderAction {
@@ -29,6 +35,9 @@ public class AddItemToOrderAction {
     private final MenuItemRepository menuItemRepository;
     private final OrderRepository orderRepository;
     private final OrderLineRepository orderLineRepository;
+    private final PopularItemsTracker popularItemsTracker;
+    private final StockLedger stockLedger;
+    private final PickupSlotLedger pickupSlotLedger;
 
     private static final String ORDER_ID_SESSION_KEY = "orderId";
     private static final int MAX_QUANTITY_PER_LINE = 50;
@@ -58,16 +67,16 @@ public class AddItemToOrderAction {
             sessionOrderId = UUID.fromString((String) sessionOrderIdAttr);
         }
 
-        Order order;
-        boolean isNewOrder = (sessionOrderId == null);
-
+        // Expired, paid or archived orders are never reopened; the session gets a fresh cart
+        Order order = null;
         if (sessionOrderId != null) {
             order = orderRepository.findById(sessionOrderId)
-                    .orElseGet(() -> {
-                        Order newOrder = createNewOrder();
-                        return orderRepository.save(newOrder);
-                    });
-        } else {
+                    .filter(existing -> existing.getStatus() == OrderStatus.PENDING)
+                    .orElse(null);
+        }
+        boolean isNewOrder = (order == null);
+
+        if (isNewOrder) {
             order = createNewOrder();
             // Save to get an ID for the order lines
             order = orderRepository.save(order);
@@ -101,6 +110,12 @@ public class AddItemToOrderAction {
             throw new MaxItemsExceededException("Cannot exceed maximum of 50 items in cart");
         }
 
+        // Hold the units for this cart; given back if the addition rolls back
+        stockLedger.reserve(menuItem, request.getQuantity());
+        if (order.getPickupSlot() != null) {
+            pickupSlotLedger.claim(order.getPickupSlot(), request.getQuantity());
+        }
+
         // Update order line
         orderLine.setQuantity(orderLine.getQuantity() + request.getQuantity());
         orderLine.setUnitPrice(menuItem.getPrice()); // Capture price snapshot
@@ -145,6 +160,9 @@ public class AddItemToOrderAction {
             session.setAttribute(ORDER_ID_SESSION_KEY, orderId);
         }
 
+        // Feed the "popular right now" ranking once the addition is committed
+        afterCommit(() -> popularItemsTracker.record(menuItem.getId(), request.getQuantity()));
+
         // Build and return OrderSummaryDTO
         // Fetch all unique menu items needed for the DTO
         java.util.Set<UUID> menuItemIds = allOrderLines.stream()
@@ -166,7 +184,7 @@ public class AddItemToOrderAction {
 
     private Order createNewOrder() {
         Order order = new Order();
-        order.setStatus("PENDING");
+        order.setStatus(OrderStatus.PENDING);
         order.setTotalAmount(BigDecimal.ZERO);
         // Note: Order is not saved here, will be saved after calculating total
         return order;
@@ -193,12 +211,12 @@ public class AddItemToOrderAction {
                 .mapToInt(OrderLine::getQuantity)
                 .sum();
 
-        return OrderSummaryDTO.builder()
-                .orderId(orderId)
-                .status("PENDING")
-                .totalAmount(totalAmount)
-                .itemCount(itemCount)
-                .orderLines(orderLineDTOs)
-                .build();
+        return new OrderSummaryDTO(
+                orderId,
+                OrderStatus.PENDING.name(),
+                null,
+                totalAmount,
+                itemCount,
+                orderLineDTOs);
     }
 }
\ No newline at end of file
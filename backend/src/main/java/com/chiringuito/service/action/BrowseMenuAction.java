@@ -25,13 +25,12 @@ public class BrowseMenuAction {
     }
 
     private MenuItemDTO toDTO(MenuItem menuItem) {
-        return MenuItemDTO.builder()
-                .id(menuItem.getId())
-                .name(menuItem.getName())
-                .description(menuItem.getDescription())
-                .price(menuItem.getPrice())
-                .imageUrl(menuItem.getImageUrl())
-                .available(menuItem.getAvailable())
-                .build();
+        return new MenuItemDTO(
+                menuItem.getId(),
+                menuItem.getName(),
+                menuItem.getDescription(),
+                menuItem.getPrice(),
+                menuItem.getImageUrl(),
+                menuItem.getAvailable());
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.PickupSlotDTO;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pre-orders the session's cart for a pickup slot, claiming the slot's capacity for every
+ * item in the cart and giving back what the previously chosen slot held.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChoosePickupSlotAction {
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final PickupSlotLedger pickupSlotLedger;
+
+    private static final String ORDER_ID_SESSION_KEY = "orderId";
+
+    @Transactional
+    public PickupSlotDTO execute(LocalDateTime slotStart, HttpSession session) {
+        Object sessionOrderIdAttr = session.getAttribute(ORDER_ID_SESSION_KEY);
+        UUID sessionOrderId = null;
+        if (sessionOrderIdAttr instanceof UUID) {
+            sessionOrderId = (UUID) sessionOrderIdAttr;
+        } else if (sessionOrderIdAttr instanceof String) {
+            sessionOrderId = UUID.fromString((String) sessionOrderIdAttr);
+        }
+
+        // Only an open cart can still be pre-ordered
+        Order order = sessionOrderId == null ? null : orderRepository.findById(sessionOrderId)
+                .filter(existing -> existing.getStatus() == OrderStatus.PENDING)
+                .orElse(null);
+        if (order == null) {
+            throw new IllegalArgumentException("Add items to the cart before choosing a pickup slot");
+        }
+
+        if (!slotStart.equals(order.getPickupSlot())) {
+            int items = orderLineRepository.findByOrderId(order.getId()).stream()
+                    .mapToInt(OrderLine::getQuantity)
+                    .sum();
+            pickupSlotLedger.claim(slotStart, items);
+            pickupSlotLedger.release(order.getPickupSlot(), items);
+            order.setPickupSlot(slotStart);
+            orderRepository.save(order);
+        }
+
+        return pickupSlotLedger.openSlots().stream()
+                .filter(slot -> slot.start().equals(slotStart))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Not an open pickup slot: " + slotStart));
+    }
+}
@@ -0,0 +1,163 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.service.reporting.ExportFormat;
+import com.chiringuito.service.reporting.OrderExportRow;
+import com.chiringuito.service.reporting.OrderExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams live and archived orders created in a time range, joined with their lines and menu
+ * item names, straight from the database to an output stream.
+ * <p>
+ * Orders are read in keyset chunks of {@code chunk-size} orders on (created_at, id), each chunk in
+ * its own short read-only transaction through a forward-only cursor with a fetch size, and each
+ * row is written as soon as it is read. Memory use does not grow with the number of orders, and
+ * no transaction stays open on the database for the length of the whole export.
+ */
+@Service
+public class ExportOrdersAction {
+
+    private static final String CHUNK_SQL = """
+            with page as (
+                select id, status_code, total_amount, created_at, paid_at, ready_at from orders_all
+                where created_at >= :from and created_at < :to%s
+                order by created_at, id
+                limit :limit)
+            select p.id, p.status_code, p.total_amount, p.created_at, p.paid_at, p.ready_at,
+                   l.id as line_id, l.menu_item_id, m.name as menu_item_name, l.quantity, l.unit_price, l.line_total
+            from page p
+            left join order_lines_all l on l.order_id = p.id
+            left join menu_items m on m.id = l.menu_item_id
+            order by p.created_at, p.id, l.id""";
+    // A range bound plus a tie-break on id, as in the order history queries, so the chunk
+    // starts an index scan at the cursor instead of filtering every row of the range before it
+    private static final String AFTER_CURSOR =
+            "\n      and created_at >= :afterCreatedAt and (created_at > :afterCreatedAt or id > :afterId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ExportOrdersAction(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${chiringuito.export.chunk-size:1000}") int chunkSize,
+                              @Value("${chiringuito.export.fetch-size:500}") int fetchSize) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL only streams with a fetch size inside a transaction, hence one per chunk
+        cursorTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Writes the orders created in [{@code from}, {@code to}) to {@code out} oldest first, gzipped if asked.
+     * Does not close {@code out}.
+     */
+    public void execute(LocalDateTime from, LocalDateTime to, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192) : null;
+        try (OrderExportWriter writer = format.open(compressed != null ? compressed : out, objectMapper)) {
+            Chunk chunk = Chunk.FIRST;
+            while (chunk != null) {
+                Chunk after = chunk;
+                chunk = transactionTemplate.execute(status -> exportChunk(from, to, after, writer));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    // Returns where the next chunk starts, or null after the last one
+    private Chunk exportChunk(LocalDateTime from, LocalDateTime to, Chunk after, OrderExportWriter writer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("limit", chunkSize);
+        String sql;
+        if (after.lastId() == null) {
+            sql = CHUNK_SQL.formatted("");
+        } else {
+            sql = CHUNK_SQL.formatted(AFTER_CURSOR);
+            params.addValue("afterCreatedAt", after.lastCreatedAt()).addValue("afterId", after.lastId());
+        }
+
+        ChunkReader reader = new ChunkReader(writer);
+        jdbcTemplate.query(sql, params, reader::processRow);
+        return reader.orders == chunkSize ? new Chunk(reader.lastCreatedAt, reader.lastId) : null;
+    }
+
+    private static final class ChunkReader {
+
+        private final OrderExportWriter writer;
+        private int orders;
+        private UUID lastId;
+        private LocalDateTime lastCreatedAt;
+
+        private ChunkReader(OrderExportWriter writer) {
+            this.writer = writer;
+        }
+
+        private void processRow(ResultSet rs) throws SQLException {
+            UUID orderId = rs.getObject("id", UUID.class);
+            LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+            if (!orderId.equals(lastId)) {
+                orders++;
+                lastId = orderId;
+                lastCreatedAt = createdAt;
+            }
+            OrderExportRow row = new OrderExportRow(
+                    orderId,
+                    OrderStatus.fromCode(rs.getShort("status_code")),
+                    rs.getBigDecimal("total_amount"),
+                    createdAt,
+                    rs.getObject("paid_at", LocalDateTime.class),
+                    rs.getObject("ready_at", LocalDateTime.class),
+                    rs.getObject("line_id", UUID.class),
+                    rs.getObject("menu_item_id", UUID.class),
+                    rs.getString("menu_item_name"),
+                    rs.getObject("quantity", Integer.class),
+                    rs.getBigDecimal("unit_price"),
+                    rs.getBigDecimal("line_total"));
+            try {
+                writer.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private record Chunk(LocalDateTime lastCreatedAt, UUID lastId) {
+
+        static final Chunk FIRST = new Chunk(null, null);
+    }
+}
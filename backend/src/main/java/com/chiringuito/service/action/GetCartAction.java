@@ -85,12 +85,12 @@ public class GetCartAction {
                 .collect(Collectors.toList());
 
         // Build and return OrderSummaryDTO
-        return OrderSummaryDTO.builder()
-                .orderId(order.getId())
-                .status(order.getStatus())
-                .totalAmount(totalAmount)
-                .itemCount(itemCount)
-                .orderLines(orderLineDTOs)
-                .build();
+        return new OrderSummaryDTO(
+                order.getId(),
+                order.getStatus().name(),
+                order.getReferenceNumber(),
+                totalAmount,
+                itemCount,
+                orderLineDTOs);
     }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.service.dto.MenuImportResultDTO;
+import com.chiringuito.service.exception.MenuImportException;
+import com.chiringuito.service.invalidation.CacheRegion;
+import com.chiringuito.service.invalidation.InvalidationBus;
+import com.chiringuito.service.menu.MenuImportRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Imports a whole menu in bulk, bypassing JPA.
+ * <p>
+ * Rows are validated against the {@link MenuItem} constraints in parallel, and any invalid row
+ * rejects the whole import. Valid rows are batch-inserted into {@code menu_items_staging} and
+ * then merged into {@code menu_items} in a single transaction: new items are inserted, existing
+ * ones (by id, else by name) updated, and with {@code replace} every other item is made
+ * unavailable. Readers see either the old menu or the new one, never part of the import.
+ * Items are never deleted, since past order lines still reference them.
+ * <p>
+ * The caches are refreshed once per import rather than once per item: a single
+ * {@link CacheRegion#MENU} message makes every node rebuild its search index.
+ */
+@Slf4j
+@Service
+public class ImportMenuAction {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final InvalidationBus invalidationBus;
+    private final int batchSize;
+
+    public ImportMenuAction(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            Validator validator,
+                            InvalidationBus invalidationBus,
+                            @Value("${chiringuito.menu-import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.invalidationBus = invalidationBus;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @throws MenuImportException if any row is invalid; nothing is imported then
+     */
+    public MenuImportResultDTO execute(List<MenuImportRow> rows, boolean replace) {
+        if (rows.isEmpty()) {
+            throw new MenuImportException("Menu import has no rows", List.of());
+        }
+        List<String> errors = validate(rows);
+        if (!errors.isEmpty()) {
+            throw new MenuImportException("Menu import rejected: " + errors.size() + " invalid rows", errors);
+        }
+
+        List<MenuImportRow> resolved = resolveIds(rows);
+        errors = duplicates(resolved);
+        if (!errors.isEmpty()) {
+            throw new MenuImportException("Menu import rejected: " + errors.size() + " duplicate rows", errors);
+        }
+
+        UUID importId = UUID.randomUUID();
+        try {
+            transactionTemplate.executeWithoutResult(status -> stage(importId, resolved));
+            MenuImportResultDTO result = transactionTemplate.execute(status -> swapIn(importId, replace));
+            log.info("Imported menu {}: {} inserted, {} updated, {} deactivated",
+                    importId, result.getInserted(), result.getUpdated(), result.getDeactivated());
+            return result;
+        } finally {
+            jdbcTemplate.update("delete from menu_items_staging where import_id = ?", importId);
+        }
+    }
+
+    // Parallel and ordered: the errors come out in row order
+    private List<String> validate(List<MenuImportRow> rows) {
+        return rows.parallelStream()
+                .flatMap(row -> {
+                    List<String> rowErrors = new ArrayList<>();
+                    validator.validate(toMenuItem(row)).stream()
+                            .sorted(Comparator.comparing((ConstraintViolation<MenuItem> v) -> v.getPropertyPath().toString()))
+                            .forEach(v -> rowErrors.add("Row " + row.rowNumber() + ": " + v.getPropertyPath() + " " + v.getMessage()));
+                    if (row.price() != null && row.price().stripTrailingZeros().scale() > 2) {
+                        rowErrors.add("Row " + row.rowNumber() + ": price must have at most 2 decimals");
+                    }
+                    return rowErrors.stream();
+                })
+                .toList();
+    }
+
+    private List<String> duplicates(List<MenuImportRow> rows) {
+        List<String> errors = new ArrayList<>();
+        Map<UUID, Integer> firstRow = new HashMap<>();
+        for (MenuImportRow row : rows) {
+            Integer previous = firstRow.putIfAbsent(row.id(), row.rowNumber());
+            if (previous != null) {
+                errors.add("Row " + row.rowNumber() + ": same menu item as row " + previous);
+            }
+        }
+        return errors;
+    }
+
+    // Rows without an id take the id of the existing item with the same name, or a new one
+    private List<MenuImportRow> resolveIds(List<MenuImportRow> rows) {
+        Map<String, UUID> idsByName = new HashMap<>();
+        jdbcTemplate.query("select id, name from menu_items", rs -> {
+            idsByName.putIfAbsent(rs.getString("name"), rs.getObject("id", UUID.class));
+        });
+        return rows.stream()
+                .map(row -> row.id() != null ? row : new MenuImportRow(row.rowNumber(),
+                        Objects.requireNonNullElseGet(idsByName.get(row.name()), UUID::randomUUID),
+                        row.name(), row.description(), row.price(), row.imageUrl(), row.available()))
+                .toList();
+    }
+
+    private void stage(UUID importId, List<MenuImportRow> rows) {
+        jdbcTemplate.batchUpdate("""
+                insert into menu_items_staging (import_id, row_no, id, name, description, price, image_url, available)
+                values (?, ?, ?, ?, ?, ?, ?, ?)""", rows, batchSize, (ps, row) -> {
+            ps.setObject(1, importId);
+            ps.setInt(2, row.rowNumber());
+            ps.setObject(3, row.id());
+            ps.setString(4, row.name());
+            ps.setString(5, row.description());
+            ps.setBigDecimal(6, row.price());
+            ps.setString(7, row.imageUrl());
+            ps.setObject(8, row.available(), Types.BOOLEAN);
+        });
+    }
+
+    private MenuImportResultDTO swapIn(UUID importId, boolean replace) {
+        int updated = jdbcTemplate.update("""
+                update menu_items set (name, description, price, image_url, available) = (
+                    select s.name, s.description, s.price, s.image_url, s.available
+                    from menu_items_staging s where s.import_id = ? and s.id = menu_items.id),
+                    updated_at = current_timestamp, version = version + 1
+                where id in (select id from menu_items_staging where import_id = ?)""", importId, importId);
+        int inserted = jdbcTemplate.update("""
+                insert into menu_items (id, name, description, price, image_url, available, created_at, updated_at, version)
+                select s.id, s.name, s.description, s.price, s.image_url, s.available,
+                       current_timestamp, current_timestamp, 0
+                from menu_items_staging s
+                where s.import_id = ? and not exists (select 1 from menu_items m where m.id = s.id)""", importId);
+        int deactivated = !replace ? 0 : jdbcTemplate.update("""
+                update menu_items set available = false, updated_at = current_timestamp, version = version + 1
+                where available and id not in (select id from menu_items_staging where import_id = ?)""", importId);
+
+        afterCommit(() -> invalidationBus.publish(CacheRegion.MENU, importId, 1));
+        return MenuImportResultDTO.builder()
+                .importId(importId)
+                .inserted(inserted)
+                .updated(updated)
+                .deactivated(deactivated)
+                .build();
+    }
+
+    private static MenuItem toMenuItem(MenuImportRow row) {
+        return MenuItem.builder()
+                .id(row.id())
+                .name(row.name())
+                .description(row.description())
+                .price(row.price())
+                .imageUrl(row.imageUrl())
+                .available(row.available())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.MarkPickedUpResultDTO;
+import com.chiringuito.service.exception.OrderNotFoundException;
+import com.chiringuito.service.reporting.OrderStatusChangeRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class MarkOrderPickedUpAction {
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusChangeRecorder orderStatusChangeRecorder;
+
+    /**
+     * Marks a ready order as collected by the customer. The change is recorded for the sales
+     * rollups, and the order becomes eligible for archiving.
+     *
+     * @throws OrderNotFoundException if there is no such order
+     * @throws IllegalStateException  if the order is not ready
+     */
+    @Transactional
+    public MarkPickedUpResultDTO execute(UUID orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+
+        order.transitionTo(OrderStatus.PICKED_UP);
+        orderRepository.save(order);
+        orderStatusChangeRecorder.record(order);
+
+        return MarkPickedUpResultDTO.builder()
+                .success(true)
+                .orderId(orderId)
+                .referenceNumber(order.getReferenceNumber())
+                .status(order.getStatus().name())
+                .pickupTimeMinutes(Duration.between(order.getReadyAt(), LocalDateTime.now()).toMinutes())
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.MarkReadyResultDTO;
+import com.chiringuito.service.exception.OrderNotFoundException;
+import com.chiringuito.service.kitchen.KitchenScheduler;
+import com.chiringuito.service.reporting.OrderStatusChangeRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+
+@Service
+@RequiredArgsConstructor
+public class MarkOrderReadyAction {
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final OrderStatusChangeRecorder orderStatusChangeRecorder;
+    private final KitchenScheduler kitchenScheduler;
+
+    /**
+     * Marks a paid order as ready for pickup. No SMS is sent yet: orders carry no customer phone
+     * number, so the result always reports {@code smsSent = false}.
+     *
+     * @throws OrderNotFoundException if there is no such order
+     * @throws IllegalStateException  if the order is not being prepared
+     */
+    @Transactional
+    public MarkReadyResultDTO execute(UUID orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+
+        order.transitionTo(OrderStatus.READY);
+        orderRepository.save(order);
+        orderStatusChangeRecorder.record(order);
+
+        // The estimator learns from the ready time only once it is committed
+        Map<UUID, Integer> quantities =
+                ViewKitchenQueueAction.quantitiesByMenuItem(orderLineRepository.findByOrderId(orderId));
+        LocalDateTime paidAt = order.getPaidAt();
+        LocalDateTime readyAt = order.getReadyAt();
+        afterCommit(() -> kitchenScheduler.completed(orderId, quantities, paidAt, readyAt));
+
+        return MarkReadyResultDTO.builder()
+                .success(true)
+                .orderId(orderId)
+                .referenceNumber(order.getReferenceNumber())
+                .status(order.getStatus().name())
+                .smsSent(false)
+                .build();
+    }
+}
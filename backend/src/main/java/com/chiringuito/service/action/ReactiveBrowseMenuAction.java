@@ -0,0 +1,42 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.service.dto.MenuItemDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link BrowseMenuAction} for the reactive stack: the same
+ * available items in name order, read over R2DBC.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveBrowseMenuAction {
+
+    private static final String AVAILABLE_ITEMS = """
+            SELECT id, name, description, price, image_url, available
+            FROM menu_items
+            WHERE available = TRUE
+            ORDER BY name
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<MenuItemDTO> execute() {
+        return databaseClient.sql(AVAILABLE_ITEMS)
+                .map(row -> new MenuItemDTO(
+                        row.get("id", UUID.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("price", BigDecimal.class),
+                        row.get("image_url", String.class),
+                        row.get("available", Boolean.class)))
+                .all();
+    }
+}
@@ -0,0 +1,97 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.service.dto.OrderLineDTO;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.WebSession;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link GetCartAction} for the reactive stack. The order, its
+ * lines and their menu item names come back from one R2DBC query; an unknown or missing
+ * cart completes empty.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveGetCartAction {
+
+    private static final String ORDER_ID_SESSION_KEY = "orderId";
+
+    private static final String CART = """
+            SELECT o.id AS order_id, o.status_code, o.reference_number, l.id AS line_id, l.menu_item_id, m.name AS menu_item_name,
+                   l.quantity, l.unit_price, l.line_total
+            FROM orders o
+            LEFT JOIN order_lines l ON l.order_id = o.id
+            LEFT JOIN menu_items m ON m.id = l.menu_item_id
+            WHERE o.id = :orderId
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<OrderSummaryDTO> execute(WebSession session) {
+        Object sessionOrderIdAttr = session.getAttribute(ORDER_ID_SESSION_KEY);
+        UUID sessionOrderId = null;
+        if (sessionOrderIdAttr instanceof UUID) {
+            sessionOrderId = (UUID) sessionOrderIdAttr;
+        } else if (sessionOrderIdAttr instanceof String) {
+            sessionOrderId = UUID.fromString((String) sessionOrderIdAttr);
+        }
+        if (sessionOrderId == null) {
+            return Mono.empty();
+        }
+
+        return databaseClient.sql(CART)
+                .bind("orderId", sessionOrderId)
+                .map(ReactiveGetCartAction::toCartRow)
+                .all()
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? Mono.empty() : Mono.just(toSummary(rows)));
+    }
+
+    private static CartRow toCartRow(Readable row) {
+        UUID lineId = row.get("line_id", UUID.class);
+        OrderLineDTO line = null;
+        if (lineId != null) {
+            String itemName = row.get("menu_item_name", String.class);
+            line = new OrderLineDTO(
+                    lineId,
+                    row.get("menu_item_id", UUID.class),
+                    (itemName != null) ? itemName : "Unknown Item",
+                    row.get("quantity", Integer.class),
+                    row.get("unit_price", BigDecimal.class),
+                    row.get("line_total", BigDecimal.class));
+        }
+        return new CartRow(row.get("order_id", UUID.class),
+                OrderStatus.fromCode(row.get("status_code", Short.class)).name(),
+                row.get("reference_number", String.class), line);
+    }
+
+    private static OrderSummaryDTO toSummary(List<CartRow> rows) {
+        List<OrderLineDTO> orderLines = new ArrayList<>(rows.size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        int itemCount = 0;
+        for (CartRow row : rows) {
+            if (row.line() != null) {
+                orderLines.add(row.line());
+                totalAmount = totalAmount.add(row.line().lineTotal());
+                itemCount += row.line().quantity();
+            }
+        }
+        CartRow first = rows.get(0);
+        return new OrderSummaryDTO(first.orderId(), first.status(), first.referenceNumber(), totalAmount, itemCount, orderLines);
+    }
+
+    // One row of the join: the order columns repeat, the line is null for an order without lines
+    private record CartRow(UUID orderId, String status, String referenceNumber, OrderLineDTO line) {}
+}
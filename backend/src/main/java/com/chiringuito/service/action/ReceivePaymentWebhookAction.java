@@ -0,0 +1,39 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.service.dto.PaymentWebhookEvent;
+import com.chiringuito.service.payment.PaymentEventInbox;
+import com.chiringuito.service.payment.WebhookSignatureVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * Takes in a payment gateway webhook: checks its signature and stores the event for the
+ * payment worker, which applies it to the order later. Returns false for a redelivery of an
+ * event received before.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReceivePaymentWebhookAction {
+
+    private final WebhookSignatureVerifier webhookSignatureVerifier;
+    private final PaymentEventInbox paymentEventInbox;
+    private final ObjectMapper objectMapper;
+
+    public boolean execute(byte[] body, String signature) {
+        webhookSignatureVerifier.verify(body, signature);
+
+        PaymentWebhookEvent event;
+        try {
+            event = objectMapper.readValue(body, PaymentWebhookEvent.class);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Malformed payment event");
+        }
+        if (event.id() == null || event.id().isBlank() || event.type() == null || event.orderId() == null) {
+            throw new IllegalArgumentException("Payment event needs an id, a type and an orderId");
+        }
+        return paymentEventInbox.accept(event);
+    }
+}
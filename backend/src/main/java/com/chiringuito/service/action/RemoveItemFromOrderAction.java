@@ -5,6 +5,8 @@ import com.chiringuito.domain.entity.OrderLine;
 import com.chiringuito.domain.repository.OrderLineRepository;
 import com.chiringuito.domain.repository.OrderRepository;
 import jakarta.servlet.http.HttpSession;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import com.chiringuito.service.stock.StockLedger;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +21,8 @@ public class RemoveItemFromOrderAction {
 
     private final OrderRepository orderRepository;
     private final OrderLineRepository orderLineRepository;
+    private final StockLedger stockLedger;
+    private final PickupSlotLedger pickupSlotLedger;
 
     private static final String ORDER_ID_SESSION_KEY = "orderId";
 
@@ -48,6 +52,8 @@ public class RemoveItemFromOrderAction {
                 .orElseThrow(() -> new IllegalArgumentException("Item not found in cart"));
 
         orderLineRepository.delete(orderLine);
+        stockLedger.release(menuItemId, orderLine.getQuantity());
+        pickupSlotLedger.release(order.getPickupSlot(), orderLine.getQuantity());
 
         // Recalculate order total
         List<OrderLine> remainingLines = orderLineRepository.findByOrderId(order.getId());
@@ -0,0 +1,28 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.search.MenuSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SearchMenuAction {
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final MenuSearchIndex menuSearchIndex;
+
+    public List<MenuItemDTO> execute(String query, BigDecimal maxPrice) {
+        if (query != null && query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must not exceed 100 characters");
+        }
+        if (maxPrice != null && maxPrice.signum() < 0) {
+            throw new IllegalArgumentException("Maximum price must not be negative");
+        }
+        return menuSearchIndex.search(query, maxPrice);
+    }
+}
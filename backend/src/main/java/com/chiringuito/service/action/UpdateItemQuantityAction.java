@@ -10,6 +10,8 @@ import com.chiringuito.service.dto.OrderLineDTO;
 import com.chiringuito.service.dto.OrderSummaryDTO;
 import com.chiringuito.service.dto.UpdateQuantityRequest;
 import com.chiringuito.service.exception.MenuItemNotFoundException;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import com.chiringuito.service.stock.StockLedger;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,8 @@ public class UpdateItemQuantityAction {
     private final OrderRepository orderRepository;
     private final OrderLineRepository orderLineRepository;
     private final MenuItemRepository menuItemRepository;
+    private final StockLedger stockLedger;
+    private final PickupSlotLedger pickupSlotLedger;
 
     private static final String ORDER_ID_SESSION_KEY = "orderId";
 
@@ -59,6 +63,19 @@ public class UpdateItemQuantityAction {
         MenuItem menuItem = menuItemRepository.findById(request.getMenuItemId())
                 .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found"));
 
+        // Reserve the extra units or give back the ones no longer wanted, in stock and in the
+        // pickup slot
+        int change = request.getQuantity() - orderLine.getQuantity();
+        if (change > 0) {
+            stockLedger.reserve(menuItem, change);
+            if (order.getPickupSlot() != null) {
+                pickupSlotLedger.claim(order.getPickupSlot(), change);
+            }
+        } else {
+            stockLedger.release(menuItem.getId(), -change);
+            pickupSlotLedger.release(order.getPickupSlot(), -change);
+        }
+
         // Update quantity and line total
         orderLine.setQuantity(request.getQuantity());
         orderLine.setLineTotal(
@@ -96,12 +113,12 @@ public class UpdateItemQuantityAction {
                 .mapToInt(OrderLine::getQuantity)
                 .sum();
 
-        return OrderSummaryDTO.builder()
-                .orderId(order.getId())
-                .status(order.getStatus())
-                .totalAmount(totalAmount)
-                .itemCount(itemCount)
-                .orderLines(orderLineDTOs)
-                .build();
+        return new OrderSummaryDTO(
+                order.getId(),
+                order.getStatus().name(),
+                order.getReferenceNumber(),
+                totalAmount,
+                itemCount,
+                orderLineDTOs);
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.KitchenOrderDTO;
+import com.chiringuito.service.dto.KitchenOrderItemDTO;
+import com.chiringuito.service.kitchen.KitchenScheduler;
+import com.chiringuito.service.kitchen.KitchenScheduler.ScheduledOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The paid orders the kitchen still has to prepare, in the order {@link KitchenScheduler} says to
+ * prepare them.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewKitchenQueueAction {
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final KitchenScheduler kitchenScheduler;
+
+    @Transactional(readOnly = true)
+    public List<KitchenOrderDTO> execute() {
+        List<Order> preparing = orderRepository.findByStatus(OrderStatus.PREPARING);
+        if (preparing.isEmpty()) {
+            kitchenScheduler.schedule(Map.of(), Map.of(), LocalDateTime.now());
+            return List.of();
+        }
+
+        Map<UUID, Order> ordersById = preparing.stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        Map<UUID, List<OrderLine>> linesByOrder = orderLineRepository.findByOrderIdIn(ordersById.keySet()).stream()
+                .collect(Collectors.groupingBy(OrderLine::getOrderId));
+        Map<UUID, MenuItem> menuItems = menuItemRepository.findAllById(linesByOrder.values().stream()
+                        .flatMap(List::stream)
+                        .map(OrderLine::getMenuItemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+        Map<UUID, Map<UUID, Integer>> quantities = new HashMap<>();
+        Map<UUID, LocalDateTime> paidAt = new HashMap<>();
+        for (Order order : preparing) {
+            quantities.put(order.getId(), quantitiesByMenuItem(linesByOrder.getOrDefault(order.getId(), List.of())));
+            if (order.getPaidAt() != null) {
+                paidAt.put(order.getId(), order.getPaidAt());
+            }
+        }
+
+        return kitchenScheduler.schedule(quantities, paidAt, LocalDateTime.now()).stream()
+                .map(scheduled -> toDTO(scheduled, ordersById.get(scheduled.orderId()),
+                        linesByOrder.getOrDefault(scheduled.orderId(), List.of()), menuItems))
+                .toList();
+    }
+
+    static Map<UUID, Integer> quantitiesByMenuItem(List<OrderLine> lines) {
+        return lines.stream().collect(Collectors.toMap(OrderLine::getMenuItemId, OrderLine::getQuantity, Integer::sum));
+    }
+
+    private KitchenOrderDTO toDTO(ScheduledOrder scheduled, Order order, List<OrderLine> lines,
+                                  Map<UUID, MenuItem> menuItems) {
+        List<KitchenOrderItemDTO> items = lines.stream()
+                .map(line -> {
+                    MenuItem item = menuItems.get(line.getMenuItemId());
+                    String itemName = (item != null) ? item.getName() : "Unknown Item";
+                    return new KitchenOrderItemDTO(itemName, line.getQuantity());
+                })
+                .toList();
+
+        return KitchenOrderDTO.builder()
+                .orderId(scheduled.orderId())
+                .referenceNumber(order.getReferenceNumber())
+                .items(items)
+                .createdAt(order.getCreatedAt())
+                .paidAt(scheduled.paidAt())
+                .estimatedPrepSeconds(scheduled.estimatedPrep().toSeconds())
+                .estimatedReadyAt(scheduled.estimatedReadyAt())
+                .build();
+    }
+}
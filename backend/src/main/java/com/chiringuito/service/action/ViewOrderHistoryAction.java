@@ -0,0 +1,137 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.OrderHistoryEntryDTO;
+import com.chiringuito.service.dto.OrderHistoryPageDTO;
+import com.chiringuito.service.dto.OrderLineDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Staff view of past orders, newest first. Pages are fetched with keyset pagination and
+ * each page loads its order lines and menu item names in one batched query each, so a
+ * page costs three queries regardless of its size or position.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewOrderHistoryAction {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final MenuItemRepository menuItemRepository;
+
+    @Transactional(readOnly = true)
+    public OrderHistoryPageDTO execute(Collection<String> statuses, String cursor, int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        Set<OrderStatus> statusFilter = normalizeStatuses(statuses);
+        OrderHistoryCursor after = (cursor == null || cursor.isBlank()) ? null : OrderHistoryCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page follows
+        List<Order> orders = findPage(statusFilter, after, Limit.of(pageSize + 1));
+        boolean hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+
+        List<OrderHistoryEntryDTO> entries = toEntries(orders);
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new OrderHistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return OrderHistoryPageDTO.builder()
+                .orders(entries)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private List<Order> findPage(Set<OrderStatus> statuses, OrderHistoryCursor after, Limit limit) {
+        if (statuses.isEmpty()) {
+            return after == null
+                    ? orderRepository.findHistory(limit)
+                    : orderRepository.findHistoryAfter(after.createdAt(), after.id(), limit);
+        }
+        Set<Short> statusCodes = statuses.stream().map(OrderStatus::code).collect(Collectors.toSet());
+        return after == null
+                ? orderRepository.findHistoryByStatus(statusCodes, limit)
+                : orderRepository.findHistoryByStatusAfter(statusCodes, after.createdAt(), after.id(), limit);
+    }
+
+    private Set<OrderStatus> normalizeStatuses(Collection<String> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return Set.of();
+        }
+        Set<OrderStatus> normalized = EnumSet.noneOf(OrderStatus.class);
+        for (String status : statuses) {
+            try {
+                normalized.add(OrderStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown order status: " + status);
+            }
+        }
+        return normalized;
+    }
+
+    private List<OrderHistoryEntryDTO> toEntries(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> orderIds = orders.stream().map(Order::getId).toList();
+        Map<UUID, List<OrderLine>> linesByOrder = orderLineRepository.findHistoryByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderLine::getOrderId));
+
+        Set<UUID> menuItemIds = linesByOrder.values().stream()
+                .flatMap(List::stream)
+                .map(OrderLine::getMenuItemId)
+                .collect(Collectors.toSet());
+        Map<UUID, String> menuItemNames = menuItemRepository.findAllById(menuItemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, MenuItem::getName, (a, b) -> a));
+
+        return orders.stream()
+                .map(order -> toEntry(order, linesByOrder.getOrDefault(order.getId(), List.of()), menuItemNames::get))
+                .toList();
+    }
+
+    private OrderHistoryEntryDTO toEntry(Order order, List<OrderLine> lines, Function<UUID, String> menuItemName) {
+        List<OrderLineDTO> lineDTOs = lines.stream()
+                .map(line -> {
+                    String itemName = menuItemName.apply(line.getMenuItemId());
+                    return new OrderLineDTO(
+                            line.getId(),
+                            line.getMenuItemId(),
+                            itemName != null ? itemName : "Unknown Item",
+                            line.getQuantity(),
+                            line.getUnitPrice(),
+                            line.getLineTotal()
+                    );
+                })
+                .toList();
+
+        return OrderHistoryEntryDTO.builder()
+                .orderId(order.getId())
+                .referenceNumber(order.getReferenceNumber())
+                .status(order.getStatus().name())
+                .totalAmount(order.getTotalAmount())
+                .itemCount(lines.stream().mapToInt(OrderLine::getQuantity).sum())
+                .createdAt(order.getCreatedAt())
+                .orderLines(lineDTOs)
+                .build();
+    }
+}
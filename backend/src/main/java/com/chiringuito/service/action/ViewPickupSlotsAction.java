@@ -0,0 +1,23 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.service.dto.PickupSlotDTO;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Pickup slots open for pre-orders with their live remaining capacity, answered from the
+ * in-memory ledger without a database query.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewPickupSlotsAction {
+
+    private final PickupSlotLedger pickupSlotLedger;
+
+    public List<PickupSlotDTO> execute() {
+        return pickupSlotLedger.openSlots();
+    }
+}
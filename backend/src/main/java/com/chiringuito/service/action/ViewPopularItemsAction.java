@@ -0,0 +1,47 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.service.dto.PopularMenuItemDTO;
+import com.chiringuito.service.popularity.PopularItemsTracker;
+import com.chiringuito.service.search.MenuSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * "Popular right now" ranking, answered entirely from memory: counts come from the
+ * streaming tracker and item details from the menu search index.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewPopularItemsAction {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final PopularItemsTracker popularItemsTracker;
+    private final MenuSearchIndex menuSearchIndex;
+
+    public List<PopularMenuItemDTO> execute(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and 20");
+        }
+        List<PopularMenuItemDTO> result = new ArrayList<>(limit);
+        // Over-fetch so unavailable items can be skipped without running short
+        for (PopularItemsTracker.PopularItem popular : popularItemsTracker.top(MAX_LIMIT)) {
+            menuSearchIndex.find(popular.menuItemId())
+                    .filter(item -> Boolean.TRUE.equals(item.available()))
+                    .ifPresent(item -> result.add(PopularMenuItemDTO.builder()
+                            .menuItemId(item.id())
+                            .name(item.name())
+                            .price(item.price())
+                            .imageUrl(item.imageUrl())
+                            .recentUnits(popular.count())
+                            .build()));
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+}
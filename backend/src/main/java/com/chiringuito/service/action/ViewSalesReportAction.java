@@ -0,0 +1,56 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.SalesHourlyRollup;
+import com.chiringuito.domain.repository.SalesHourlyRollupRepository;
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.dto.SalesRollupDTO;
+import com.chiringuito.service.search.MenuSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hourly sales report read from the pre-aggregated rollups only, so its cost grows with
+ * the number of hour/item buckets in the range rather than with the number of orders.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewSalesReportAction {
+
+    private static final Duration MAX_RANGE = Duration.ofDays(93);
+
+    private final SalesHourlyRollupRepository salesHourlyRollupRepository;
+    private final MenuSearchIndex menuSearchIndex;
+
+    @Transactional(readOnly = true)
+    public List<SalesRollupDTO> execute(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Report start must be before its end");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalArgumentException("Report range must not exceed 93 days");
+        }
+        return salesHourlyRollupRepository.findBuckets(from, to).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    private SalesRollupDTO toDTO(SalesHourlyRollup rollup) {
+        String itemName = menuSearchIndex.find(rollup.getMenuItemId())
+                .map(MenuItemDTO::name)
+                .orElse("Unknown Item");
+        return SalesRollupDTO.builder()
+                .bucketStart(rollup.getBucketStart())
+                .menuItemId(rollup.getMenuItemId())
+                .menuItemName(itemName)
+                .unitsSold(rollup.getUnitsSold())
+                .revenue(rollup.getRevenue())
+                .orderCount(rollup.getOrderCount())
+                .unitsPickedUp(rollup.getUnitsPickedUp())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.chiringuito.service.cart;
+
+import com.chiringuito.domain.entity.CartEvent;
+import com.chiringuito.domain.entity.CartEventType;
+import com.chiringuito.domain.entity.CartSnapshot;
+import com.chiringuito.domain.repository.CartEventRepository;
+import com.chiringuito.domain.repository.CartSnapshotRepository;
+import com.chiringuito.service.exception.CartConflictException;
+import com.chiringuito.service.invalidation.CacheRegion;
+import com.chiringuito.service.invalidation.InvalidationBus;
+import com.chiringuito.service.invalidation.InvalidationMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Append-only storage for event-sourced carts.
+ * <p>
+ * A cart is rebuilt by folding its events on top of its latest snapshot, and a snapshot is
+ * written every {@code snapshotEvery} events so replays stay short. Folded states are kept in
+ * a bounded LRU cache once committed; a cached state is reused only while it is still the
+ * cart's latest version, so every node sees writes made by the others. Two writers appending
+ * on the same version collide on the (cart_id, seq) unique key and the loser gets a
+ * {@link CartConflictException}. Appends are announced on the {@link InvalidationBus}, so other
+ * nodes drop their older copy of the cart instead of holding it until its next load.
+ * <p>
+ * Must be called within a transaction.
+ */
+@Component
+public class CartEventStore {
+
+    private static final TypeReference<List<CartState.CartLine>> LINES = new TypeReference<>() {};
+
+    private final CartEventRepository cartEventRepository;
+    private final CartSnapshotRepository cartSnapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final InvalidationBus invalidationBus;
+    private final int snapshotEvery;
+    private final Map<UUID, CartState> cache;
+
+    public CartEventStore(CartEventRepository cartEventRepository,
+                          CartSnapshotRepository cartSnapshotRepository,
+                          ObjectMapper objectMapper,
+                          InvalidationBus invalidationBus,
+                          @Value("${chiringuito.cart.snapshot-every:20}") int snapshotEvery,
+                          @Value("${chiringuito.cart.cached-carts:10000}") int cachedCarts) {
+        this.cartEventRepository = cartEventRepository;
+        this.cartSnapshotRepository = cartSnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.invalidationBus = invalidationBus;
+        this.snapshotEvery = snapshotEvery;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CartState> eldest) {
+                return size() > cachedCarts;
+            }
+        });
+        invalidationBus.subscribe(CacheRegion.CART, this::onInvalidation);
+    }
+
+    /**
+     * Returns the current state of the cart; an empty state with sequence 0 if it has no events.
+     */
+    public CartState load(UUID cartId) {
+        int latest = cartEventRepository.findLatestSequence(cartId).orElse(0);
+        CartState cached = cache.get(cartId);
+        if (cached != null && cached.sequence() == latest) {
+            return cached;
+        }
+        if (latest == 0) {
+            return CartState.empty(cartId);
+        }
+
+        CartState state = cached != null && cached.sequence() < latest ? cached : fromLatestSnapshot(cartId);
+        for (CartEvent event : cartEventRepository.findByCartIdAndSequenceGreaterThanOrderBySequence(cartId, state.sequence())) {
+            state = state.apply(event);
+        }
+        remember(state);
+        return state;
+    }
+
+    /**
+     * Appends the next event to the cart and returns the resulting state.
+     *
+     * @throws CartConflictException if another request appended to the cart since {@code state} was loaded
+     */
+    public CartState append(CartState state, CartEventType type, UUID menuItemId, Integer quantity, BigDecimal unitPrice) {
+        CartEvent event = CartEvent.builder()
+                .cartId(state.cartId())
+                .sequence(state.sequence() + 1)
+                .type(type)
+                .menuItemId(menuItemId)
+                .quantity(quantity)
+                .unitPrice(unitPrice)
+                .build();
+        try {
+            cartEventRepository.save(event);
+        } catch (DataIntegrityViolationException e) {
+            cache.remove(state.cartId());
+            throw new CartConflictException("Cart was modified concurrently, please retry");
+        }
+
+        CartState next = state.apply(event);
+        if (next.sequence() % snapshotEvery == 0 && !next.isCheckedOut()) {
+            cartSnapshotRepository.save(CartSnapshot.builder()
+                    .cartId(next.cartId())
+                    .sequence(next.sequence())
+                    .linesJson(writeLines(next))
+                    .build());
+        }
+        remember(next);
+        afterCommit(() -> invalidationBus.publish(CacheRegion.CART, next.cartId(), next.sequence()));
+        return next;
+    }
+
+    private void onInvalidation(InvalidationMessage message) {
+        cache.computeIfPresent(message.key(), (cartId, cached) -> cached.sequence() < message.version() ? null : cached);
+    }
+
+    // Cached only after commit so a rolled-back append never becomes visible
+    private void remember(CartState state) {
+        afterCommit(() -> cache.merge(state.cartId(), state,
+                (current, candidate) -> candidate.sequence() >= current.sequence() ? candidate : current));
+    }
+
+    private CartState fromLatestSnapshot(UUID cartId) {
+        return cartSnapshotRepository.findFirstByCartIdOrderBySequenceDesc(cartId)
+                .map(snapshot -> CartState.fromSnapshot(cartId, snapshot.getSequence(), readLines(snapshot)))
+                .orElseGet(() -> CartState.empty(cartId));
+    }
+
+    private String writeLines(CartState state) {
+        try {
+            return objectMapper.writeValueAsString(List.copyOf(state.lines()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize snapshot of cart " + state.cartId(), e);
+        }
+    }
+
+    private List<CartState.CartLine> readLines(CartSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getLinesJson(), LINES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt snapshot " + snapshot.getSequence() + " of cart " + snapshot.getCartId(), e);
+        }
+    }
+}
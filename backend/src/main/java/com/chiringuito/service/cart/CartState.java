@@ -0,0 +1,105 @@
+package com.chiringuito.service.cart;
+
+import com.chiringuito.domain.entity.CartEvent;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable state of an event-sourced cart as of event {@link #sequence()}, obtained by
+ * folding its events in order. Lines keep the order in which items were first added.
+ */
+public final class CartState {
+
+    private final UUID cartId;
+    private final int sequence;
+    private final boolean checkedOut;
+    private final Map<UUID, CartLine> lines;
+
+    private CartState(UUID cartId, int sequence, boolean checkedOut, Map<UUID, CartLine> lines) {
+        this.cartId = cartId;
+        this.sequence = sequence;
+        this.checkedOut = checkedOut;
+        this.lines = Collections.unmodifiableMap(lines);
+    }
+
+    public static CartState empty(UUID cartId) {
+        return new CartState(cartId, 0, false, new LinkedHashMap<>());
+    }
+
+    public static CartState fromSnapshot(UUID cartId, int sequence, List<CartLine> lines) {
+        Map<UUID, CartLine> byItem = new LinkedHashMap<>();
+        lines.forEach(line -> byItem.put(line.menuItemId(), line));
+        return new CartState(cartId, sequence, false, byItem);
+    }
+
+    /**
+     * Returns the state after {@code event}, which must be the next event of this cart.
+     *
+     * @throws IllegalStateException if the event belongs to another cart or is out of sequence
+     */
+    public CartState apply(CartEvent event) {
+        if (!cartId.equals(event.getCartId()) || event.getSequence() != sequence + 1) {
+            throw new IllegalStateException("Event " + event.getSequence() + " of cart " + event.getCartId()
+                    + " does not follow event " + sequence + " of cart " + cartId);
+        }
+        Map<UUID, CartLine> next = new LinkedHashMap<>(lines);
+        UUID menuItemId = event.getMenuItemId();
+        switch (event.getType()) {
+            case ITEM_ADDED -> next.merge(menuItemId,
+                    new CartLine(menuItemId, event.getQuantity(), event.getUnitPrice()),
+                    (current, added) -> new CartLine(menuItemId, current.quantity() + added.quantity(), added.unitPrice()));
+            case QUANTITY_SET -> next.computeIfPresent(menuItemId,
+                    (id, current) -> new CartLine(id, event.getQuantity(), current.unitPrice()));
+            case ITEM_REMOVED -> next.remove(menuItemId);
+            case CHECKED_OUT -> {
+                return new CartState(cartId, event.getSequence(), true, next);
+            }
+        }
+        return new CartState(cartId, event.getSequence(), checkedOut, next);
+    }
+
+    public UUID cartId() {
+        return cartId;
+    }
+
+    public int sequence() {
+        return sequence;
+    }
+
+    public boolean isCheckedOut() {
+        return checkedOut;
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    public Collection<CartLine> lines() {
+        return lines.values();
+    }
+
+    public CartLine line(UUID menuItemId) {
+        return lines.get(menuItemId);
+    }
+
+    public int itemCount() {
+        return lines.values().stream().mapToInt(CartLine::quantity).sum();
+    }
+
+    public BigDecimal totalAmount() {
+        return lines.values().stream().map(CartLine::lineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public record CartLine(UUID menuItemId, int quantity, BigDecimal unitPrice) {
+
+        public BigDecimal lineTotal() {
+            return BigDecimal.valueOf(quantity).multiply(unitPrice);
+        }
+    }
+}
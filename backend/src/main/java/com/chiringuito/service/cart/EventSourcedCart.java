@@ -0,0 +1,232 @@
+package com.chiringuito.service.cart;
+
+import com.chiringuito.domain.entity.CartEventType;
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.OrderLineDTO;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import com.chiringuito.service.exception.MaxItemsExceededException;
+import com.chiringuito.service.exception.MenuItemNotFoundException;
+import com.chiringuito.service.exception.MenuItemUnavailableException;
+import com.chiringuito.service.exception.OrderNotFoundException;
+import com.chiringuito.service.popularity.PopularItemsTracker;
+import com.chiringuito.service.stock.StockLedger;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Cart operations for {@code chiringuito.cart.storage=events}: the same contract as the
+ * AddItemToOrder, UpdateItemQuantity, RemoveItemFromOrder and GetCart actions, but every
+ * mutation appends one row to {@code cart_events} instead of rewriting {@code order_lines}
+ * and {@code orders.total_amount}. The cart id doubles as the order id; the {@code orders}
+ * and {@code order_lines} rows exist only once the cart is {@link #materialize materialized}
+ * on payment.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventSourcedCart {
+
+    private final CartEventStore cartEventStore;
+    private final MenuItemRepository menuItemRepository;
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PopularItemsTracker popularItemsTracker;
+    private final StockLedger stockLedger;
+
+    private static final String ORDER_ID_SESSION_KEY = "orderId";
+    private static final int MAX_QUANTITY_PER_LINE = 50;
+    private static final int MAX_TOTAL_ITEMS = 50;
+
+    @Transactional
+    public OrderSummaryDTO addItem(AddItemRequest request, HttpSession session) {
+        if (request.getQuantity() < 1 || request.getQuantity() > MAX_QUANTITY_PER_LINE) {
+            throw new IllegalArgumentException("Quantity must be between 1 and 50");
+        }
+
+        MenuItem menuItem = menuItemRepository.findById(request.getMenuItemId())
+                .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found with id: " + request.getMenuItemId()));
+        if (!menuItem.getAvailable()) {
+            throw new MenuItemUnavailableException("Menu item is not available: " + menuItem.getName());
+        }
+
+        // Checked-out carts are never reopened; the session gets a fresh cart
+        UUID cartId = sessionCartId(session);
+        CartState cart = cartId != null ? cartEventStore.load(cartId) : null;
+        if (cart == null || cart.sequence() == 0 || cart.isCheckedOut()) {
+            cart = CartState.empty(UUID.randomUUID());
+            session.setAttribute(ORDER_ID_SESSION_KEY, cart.cartId());
+        }
+
+        if (cart.itemCount() + request.getQuantity() > MAX_TOTAL_ITEMS) {
+            throw new MaxItemsExceededException("Cannot exceed maximum of 50 items in cart");
+        }
+        stockLedger.reserve(menuItem, request.getQuantity());
+
+        cart = cartEventStore.append(cart, CartEventType.ITEM_ADDED, menuItem.getId(), request.getQuantity(), menuItem.getPrice());
+
+        afterCommit(() -> popularItemsTracker.record(menuItem.getId(), request.getQuantity()));
+        return toSummary(cart, OrderStatus.PENDING, null);
+    }
+
+    @Transactional
+    public OrderSummaryDTO updateQuantity(UpdateQuantityRequest request, HttpSession session) {
+        CartState cart = openCart(session);
+        CartState.CartLine line = cart.line(request.getMenuItemId());
+        if (line == null) {
+            throw new IllegalArgumentException("Item not found in cart");
+        }
+        MenuItem menuItem = menuItemRepository.findById(request.getMenuItemId())
+                .orElseThrow(() -> new MenuItemNotFoundException("Menu item not found"));
+        if (cart.itemCount() - line.quantity() + request.getQuantity() > MAX_TOTAL_ITEMS) {
+            throw new MaxItemsExceededException("Cannot exceed maximum of 50 items in cart");
+        }
+        int change = request.getQuantity() - line.quantity();
+        if (change > 0) {
+            stockLedger.reserve(menuItem, change);
+        } else {
+            stockLedger.release(menuItem.getId(), -change);
+        }
+
+        cart = cartEventStore.append(cart, CartEventType.QUANTITY_SET, request.getMenuItemId(), request.getQuantity(), null);
+        return toSummary(cart, OrderStatus.PENDING, null);
+    }
+
+    @Transactional
+    public void removeItem(UUID menuItemId, HttpSession session) {
+        CartState cart = openCart(session);
+        CartState.CartLine line = cart.line(menuItemId);
+        if (line == null) {
+            throw new IllegalArgumentException("Item not found in cart");
+        }
+        stockLedger.release(menuItemId, line.quantity());
+
+        cart = cartEventStore.append(cart, CartEventType.ITEM_REMOVED, menuItemId, null, null);
+        // An emptied cart is left to expire; the next addition starts a new one
+        if (cart.isEmpty()) {
+            session.removeAttribute(ORDER_ID_SESSION_KEY);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public OrderSummaryDTO getCart(HttpSession session) {
+        UUID cartId = sessionCartId(session);
+        if (cartId == null) {
+            return null;
+        }
+        CartState cart = cartEventStore.load(cartId);
+        if (cart.isEmpty()) {
+            return null;
+        }
+        if (cart.isCheckedOut()) {
+            return orderRepository.findById(cartId)
+                    .map(order -> toSummary(cart, order.getStatus(), order.getReferenceNumber()))
+                    .orElse(null);
+        }
+        return toSummary(cart, OrderStatus.PENDING, null);
+    }
+
+    /**
+     * Writes the cart out as a PENDING order with its lines, under the cart id, and closes the
+     * cart. Idempotent: materializing a checked-out cart returns the order created the first time.
+     *
+     * @throws IllegalStateException if the cart has no items
+     */
+    @Transactional
+    public Order materialize(UUID cartId) {
+        CartState cart = cartEventStore.load(cartId);
+        if (cart.isCheckedOut()) {
+            return orderRepository.findById(cartId)
+                    .orElseThrow(() -> new IllegalStateException("Order not found for cart " + cartId));
+        }
+        if (cart.isEmpty()) {
+            throw new IllegalStateException("Cart " + cartId + " is empty");
+        }
+
+        // Plain inserts: the order id is the cart id, which JPA would replace with a generated one
+        jdbcTemplate.update("insert into orders (id, status_code, total_amount, created_at) values (?, ?, ?, ?)",
+                cartId, OrderStatus.PENDING.code(), cart.totalAmount(), Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.batchUpdate("""
+                        insert into order_lines (id, order_id, menu_item_id, quantity, unit_price, line_total)
+                        values (?, ?, ?, ?, ?, ?)""",
+                cart.lines().stream()
+                        .map(line -> new Object[]{UUID.randomUUID(), cartId, line.menuItemId(), line.quantity(),
+                                line.unitPrice(), line.lineTotal()})
+                        .toList());
+
+        cartEventStore.append(cart, CartEventType.CHECKED_OUT, null, null, null);
+        cart.lines().forEach(line -> stockLedger.sell(line.menuItemId(), line.quantity()));
+        return orderRepository.findById(cartId)
+                .orElseThrow(() -> new IllegalStateException("Order not found for cart " + cartId));
+    }
+
+    private CartState openCart(HttpSession session) {
+        UUID cartId = sessionCartId(session);
+        if (cartId == null) {
+            throw new OrderNotFoundException("No active order in session");
+        }
+        CartState cart = cartEventStore.load(cartId);
+        // Purged while idle, or already paid
+        if (cart.sequence() == 0 || cart.isCheckedOut()) {
+            throw new OrderNotFoundException("Order not found");
+        }
+        return cart;
+    }
+
+    private UUID sessionCartId(HttpSession session) {
+        Object attribute = session.getAttribute(ORDER_ID_SESSION_KEY);
+        if (attribute instanceof UUID uuid) {
+            return uuid;
+        }
+        if (attribute instanceof String value) {
+            return UUID.fromString(value);
+        }
+        return null;
+    }
+
+    private OrderSummaryDTO toSummary(CartState cart, OrderStatus status, String referenceNumber) {
+        Map<UUID, MenuItem> menuItems = menuItemRepository
+                .findAllById(cart.lines().stream().map(CartState.CartLine::menuItemId).toList()).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+        // Lines have no row of their own yet, so the menu item id stands in for the line id
+        List<OrderLineDTO> orderLines = cart.lines().stream()
+                .map(line -> {
+                    MenuItem item = menuItems.get(line.menuItemId());
+                    return new OrderLineDTO(
+                            line.menuItemId(),
+                            line.menuItemId(),
+                            item != null ? item.getName() : "Unknown Item",
+                            line.quantity(),
+                            line.unitPrice(),
+                            line.lineTotal()
+                    );
+                })
+                .toList();
+
+        return new OrderSummaryDTO(
+                cart.cartId(),
+                status.name(),
+                referenceNumber,
+                cart.totalAmount(),
+                cart.itemCount(),
+                orderLines);
+    }
+}
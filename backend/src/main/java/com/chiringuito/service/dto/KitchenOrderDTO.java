@@ -0,0 +1,25 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KitchenOrderDTO {
+
+    private UUID orderId;
+    private String referenceNumber;
+    private List<KitchenOrderItemDTO> items;
+    private LocalDateTime createdAt;
+    private LocalDateTime paidAt;
+    private Long estimatedPrepSeconds;
+    private LocalDateTime estimatedReadyAt;
+}
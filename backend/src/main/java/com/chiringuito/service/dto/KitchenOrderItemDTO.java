@@ -0,0 +1,16 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KitchenOrderItemDTO {
+
+    private String menuItemName;
+    private Integer quantity;
+}
@@ -0,0 +1,22 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarkReadyResultDTO {
+
+    private Boolean success;
+    private UUID orderId;
+    private String referenceNumber;
+    private String status;
+    private Boolean smsSent;
+    private String smsError;
+}
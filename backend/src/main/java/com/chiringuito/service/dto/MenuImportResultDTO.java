@@ -0,0 +1,20 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuImportResultDTO {
+
+    private UUID importId;
+    private Integer inserted;
+    private Integer updated;
+    private Integer deactivated;
+}
@@ -1,22 +1,17 @@
 package com.chiringuito.service.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.chiringuito.service.dto.json.MenuItemDTOSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class MenuItemDTO {
-    private UUID id;
-    private String name;
-    private String description;
-    private BigDecimal price;
-    private String imageUrl;
-    private Boolean available;
-}
\ No newline at end of file
+@JsonSerialize(using = MenuItemDTOSerializer.class)
+public record MenuItemDTO(
+        UUID id,
+        String name,
+        String description,
+        BigDecimal price,
+        String imageUrl,
+        Boolean available) {
+}
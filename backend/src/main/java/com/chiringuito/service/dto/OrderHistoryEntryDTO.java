@@ -0,0 +1,26 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderHistoryEntryDTO {
+
+    private UUID orderId;
+    private String referenceNumber;
+    private String status;
+    private BigDecimal totalAmount;
+    private Integer itemCount;
+    private LocalDateTime createdAt;
+    private List<OrderLineDTO> orderLines;
+}
@@ -0,0 +1,19 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderHistoryPageDTO {
+
+    private List<OrderHistoryEntryDTO> orders;
+    /** Opaque token for the next page, or null when this is the last page. */
+    private String nextCursor;
+}
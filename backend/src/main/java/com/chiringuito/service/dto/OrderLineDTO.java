@@ -1,23 +1,17 @@
 package com.chiringuito.service.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.chiringuito.service.dto.json.OrderLineDTOSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class OrderLineDTO {
-
-    private UUID orderLineId;
-    private UUID menuItemId;
-    private String menuItemName;
-    private Integer quantity;
-    private BigDecimal unitPrice;
-    private BigDecimal lineTotal;
-}
\ No newline at end of file
+@JsonSerialize(using = OrderLineDTOSerializer.class)
+public record OrderLineDTO(
+        UUID orderLineId,
+        UUID menuItemId,
+        String menuItemName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal) {
+}
@@ -1,23 +1,19 @@
 package com.chiringuito.service.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.chiringuito.service.dto.json.OrderSummaryDTOSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class OrderSummaryDTO {
-
-    private UUID orderId;
-    private String status;
-    private BigDecimal totalAmount;
-    private Integer itemCount;
-    private List<OrderLineDTO> orderLines;
-}
\ No newline at end of file
+@JsonSerialize(using = OrderSummaryDTOSerializer.class)
+public record OrderSummaryDTO(
+        UUID orderId,
+        String status,
+        // Null until the order is paid; what the customer is called by at pickup and in the SMS
+        String referenceNumber,
+        BigDecimal totalAmount,
+        Integer itemCount,
+        List<OrderLineDTO> orderLines) {
+}
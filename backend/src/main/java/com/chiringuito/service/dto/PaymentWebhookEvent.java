@@ -0,0 +1,13 @@
+package com.chiringuito.service.dto;
+
+import java.util.UUID;
+
+/**
+ * Payment gateway webhook payload: {@code {"id": ..., "type": "payment.succeeded", "orderId": ...}}.
+ * Other fields the gateway sends are ignored.
+ */
+public record PaymentWebhookEvent(
+        String id,
+        String type,
+        UUID orderId) {
+}
@@ -0,0 +1,13 @@
+package com.chiringuito.service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pickup slot open for pre-orders, with the kitchen capacity left in it, in items.
+ */
+public record PickupSlotDTO(
+        LocalDateTime start,
+        LocalDateTime end,
+        int capacity,
+        int remaining) {
+}
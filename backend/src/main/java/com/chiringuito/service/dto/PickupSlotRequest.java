@@ -0,0 +1,17 @@
+package com.chiringuito.service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickupSlotRequest {
+
+    @NotNull(message = "Slot start is required")
+    private LocalDateTime slotStart;
+}
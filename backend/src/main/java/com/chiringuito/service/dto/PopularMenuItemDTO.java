@@ -0,0 +1,23 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PopularMenuItemDTO {
+
+    private UUID menuItemId;
+    private String name;
+    private BigDecimal price;
+    private String imageUrl;
+    /** Estimated units added to carts within the popularity window. */
+    private Long recentUnits;
+}
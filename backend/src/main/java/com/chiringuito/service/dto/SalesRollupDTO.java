@@ -0,0 +1,25 @@
+package com.chiringuito.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollupDTO {
+
+    private LocalDateTime bucketStart;
+    private UUID menuItemId;
+    private String menuItemName;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private Long orderCount;
+    private Long unitsPickedUp;
+}
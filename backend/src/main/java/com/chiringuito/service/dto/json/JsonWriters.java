@@ -0,0 +1,114 @@
+package com.chiringuito.service.dto.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+
+/**
+ * Field writers shared by the hand-written DTO serializers.
+ * <p>
+ * UUIDs and money amounts are formatted into a per-thread scratch buffer and handed to the
+ * generator as characters, which the generator copies, instead of going through
+ * {@code UUID.toString()} and {@code BigDecimal.toString()}. UUIDs are written without
+ * allocating; money still allocates a little, since {@code setScale} returns a new
+ * {@link BigDecimal} for amounts not already in cents and {@code unscaledValue} a
+ * {@link java.math.BigInteger}, but no strings. Money is written as a JSON number with exactly
+ * two decimals ("12.50"), so clients keep getting numbers. Binary formats such as CBOR that
+ * cannot take pre-formatted numbers get the {@link BigDecimal} itself.
+ */
+public final class JsonWriters {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    // Two decimals below 10^16 fit a long in cents without overflow
+    private static final BigDecimal MAX_FAST_MONEY = new BigDecimal("1e16");
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[40]);
+
+    private JsonWriters() {
+    }
+
+    public static void writeUuid(JsonGenerator gen, SerializableString name, UUID value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        char[] buffer = SCRATCH.get();
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        hex(buffer, 0, msb >>> 32, 8);
+        buffer[8] = '-';
+        hex(buffer, 9, msb >>> 16, 4);
+        buffer[13] = '-';
+        hex(buffer, 14, msb, 4);
+        buffer[18] = '-';
+        hex(buffer, 19, lsb >>> 48, 4);
+        buffer[23] = '-';
+        hex(buffer, 24, lsb, 12);
+        gen.writeString(buffer, 0, 36);
+    }
+
+    public static void writeMoney(JsonGenerator gen, SerializableString name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        BigDecimal amount = value.setScale(2, RoundingMode.HALF_UP);
+        if (!gen.canWriteFormattedNumbers() || amount.abs().compareTo(MAX_FAST_MONEY) >= 0) {
+            gen.writeNumber(amount);
+            return;
+        }
+        char[] buffer = SCRATCH.get();
+        long cents = amount.unscaledValue().longValue();
+        int end = buffer.length;
+        int pos = end;
+        long remaining = Math.abs(cents);
+        buffer[--pos] = (char) ('0' + remaining % 10);
+        remaining /= 10;
+        buffer[--pos] = (char) ('0' + remaining % 10);
+        remaining /= 10;
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        if (cents < 0) {
+            buffer[--pos] = '-';
+        }
+        gen.writeNumber(buffer, pos, end - pos);
+    }
+
+    public static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    public static void writeInteger(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    public static void writeBoolean(JsonGenerator gen, SerializableString name, Boolean value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+
+    private static void hex(char[] buffer, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.chiringuito.service.dto.json;
+
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import static com.chiringuito.service.dto.json.JsonWriters.*;
+
+public class MenuItemDTOSerializer extends StdSerializer<MenuItemDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString IMAGE_URL = new SerializedString("imageUrl");
+    private static final SerializedString AVAILABLE = new SerializedString("available");
+
+    public MenuItemDTOSerializer() {
+        super(MenuItemDTO.class);
+    }
+
+    @Override
+    public void serialize(MenuItemDTO item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(item, 6);
+        writeUuid(gen, ID, item.id());
+        writeString(gen, NAME, item.name());
+        writeString(gen, DESCRIPTION, item.description());
+        writeMoney(gen, PRICE, item.price());
+        writeString(gen, IMAGE_URL, item.imageUrl());
+        writeBoolean(gen, AVAILABLE, item.available());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,37 @@
+package com.chiringuito.service.dto.json;
+
+import com.chiringuito.service.dto.OrderLineDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import static com.chiringuito.service.dto.json.JsonWriters.*;
+
+public class OrderLineDTOSerializer extends StdSerializer<OrderLineDTO> {
+
+    private static final SerializedString ORDER_LINE_ID = new SerializedString("orderLineId");
+    private static final SerializedString MENU_ITEM_ID = new SerializedString("menuItemId");
+    private static final SerializedString MENU_ITEM_NAME = new SerializedString("menuItemName");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString UNIT_PRICE = new SerializedString("unitPrice");
+    private static final SerializedString LINE_TOTAL = new SerializedString("lineTotal");
+
+    public OrderLineDTOSerializer() {
+        super(OrderLineDTO.class);
+    }
+
+    @Override
+    public void serialize(OrderLineDTO line, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(line, 6);
+        writeUuid(gen, ORDER_LINE_ID, line.orderLineId());
+        writeUuid(gen, MENU_ITEM_ID, line.menuItemId());
+        writeString(gen, MENU_ITEM_NAME, line.menuItemName());
+        writeInteger(gen, QUANTITY, line.quantity());
+        writeMoney(gen, UNIT_PRICE, line.unitPrice());
+        writeMoney(gen, LINE_TOTAL, line.lineTotal());
+        gen.writeEndObject();
+    }
+}
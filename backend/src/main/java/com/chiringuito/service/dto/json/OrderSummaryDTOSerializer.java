@@ -0,0 +1,51 @@
+package com.chiringuito.service.dto.json;
+
+import com.chiringuito.service.dto.OrderLineDTO;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.chiringuito.service.dto.json.JsonWriters.*;
+
+public class OrderSummaryDTOSerializer extends StdSerializer<OrderSummaryDTO> {
+
+    private static final SerializedString ORDER_ID = new SerializedString("orderId");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString REFERENCE_NUMBER = new SerializedString("referenceNumber");
+    private static final SerializedString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializedString ITEM_COUNT = new SerializedString("itemCount");
+    private static final SerializedString ORDER_LINES = new SerializedString("orderLines");
+
+    private final OrderLineDTOSerializer lineSerializer = new OrderLineDTOSerializer();
+
+    public OrderSummaryDTOSerializer() {
+        super(OrderSummaryDTO.class);
+    }
+
+    @Override
+    public void serialize(OrderSummaryDTO summary, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(summary, 6);
+        writeUuid(gen, ORDER_ID, summary.orderId());
+        writeString(gen, STATUS, summary.status());
+        writeString(gen, REFERENCE_NUMBER, summary.referenceNumber());
+        writeMoney(gen, TOTAL_AMOUNT, summary.totalAmount());
+        writeInteger(gen, ITEM_COUNT, summary.itemCount());
+        gen.writeFieldName(ORDER_LINES);
+        List<OrderLineDTO> lines = summary.orderLines();
+        if (lines == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(lines, lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                lineSerializer.serialize(lines.get(i), gen, provider);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,8 @@
+package com.chiringuito.service.exception;
+
+public class CartConflictException extends RuntimeException {
+
+    public CartConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.chiringuito.service.exception;
+
+public class InvalidWebhookSignatureException extends RuntimeException {
+
+    public InvalidWebhookSignatureException(String message) {
+        super(message);
+    }
+}
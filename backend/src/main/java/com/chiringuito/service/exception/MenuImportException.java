@@ -0,0 +1,17 @@
+package com.chiringuito.service.exception;
+
+import java.util.List;
+
+public class MenuImportException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public MenuImportException(String message, List<String> errors) {
+        super(message);
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
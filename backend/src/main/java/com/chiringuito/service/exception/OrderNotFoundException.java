@@ -0,0 +1,8 @@
+package com.chiringuito.service.exception;
+
+public class OrderNotFoundException extends RuntimeException {
+
+    public OrderNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.chiringuito.service.exception;
+
+public class PickupSlotExpiredException extends RuntimeException {
+
+    public PickupSlotExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.chiringuito.service.exception;
+
+public class PickupSlotFullException extends RuntimeException {
+
+    public PickupSlotFullException(String message) {
+        super(message);
+    }
+}
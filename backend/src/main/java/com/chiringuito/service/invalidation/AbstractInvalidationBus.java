@@ -0,0 +1,106 @@
+package com.chiringuito.service.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber bookkeeping, stale-version filtering and metrics shared by the bus implementations.
+ * <p>
+ * The latest delivered version is remembered for a bounded number of recently changed entities.
+ * Propagation delay, from publishing to delivery on this node, is recorded as
+ * {@code chiringuito.invalidation.delay}; across nodes it relies on synchronized clocks.
+ */
+@Slf4j
+public abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    private static final int TRACKED_ENTITIES = 10_000;
+
+    protected final String nodeId;
+    protected final Clock clock;
+
+    private final Map<CacheRegion, List<Consumer<InvalidationMessage>>> subscribers = new EnumMap<>(CacheRegion.class);
+    private final Map<CacheRegion, Timer> delays = new EnumMap<>(CacheRegion.class);
+    private final Map<CacheRegion, Counter> staleMessages = new EnumMap<>(CacheRegion.class);
+    private final Map<Key, Long> deliveredVersions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+            return size() > TRACKED_ENTITIES;
+        }
+    });
+
+    protected AbstractInvalidationBus(String name, String nodeId, MeterRegistry meterRegistry, Clock clock) {
+        this.nodeId = nodeId;
+        this.clock = clock;
+        for (CacheRegion region : CacheRegion.values()) {
+            subscribers.put(region, new CopyOnWriteArrayList<>());
+            delays.put(region, Timer.builder("chiringuito.invalidation.delay")
+                    .description("Time from publishing an invalidation to delivering it on this node")
+                    .tag("bus", name)
+                    .tag("region", region.name())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+            staleMessages.put(region, Counter.builder("chiringuito.invalidation.stale")
+                    .description("Invalidations dropped because a newer version was already delivered")
+                    .tag("bus", name)
+                    .tag("region", region.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void publish(CacheRegion region, UUID key, long version) {
+        InvalidationMessage message = new InvalidationMessage(region, key, version, clock.instant(), nodeId);
+        deliver(message);
+        send(message);
+    }
+
+    @Override
+    public void subscribe(CacheRegion region, Consumer<InvalidationMessage> subscriber) {
+        subscribers.get(region).add(subscriber);
+    }
+
+    /**
+     * Hands a locally published message to the other nodes.
+     */
+    protected abstract void send(InvalidationMessage message);
+
+    /**
+     * Delivers a message to this node's subscribers unless it is stale.
+     */
+    protected void deliver(InvalidationMessage message) {
+        Key key = new Key(message.region(), message.key());
+        boolean[] fresh = new boolean[1];
+        deliveredVersions.compute(key, (k, delivered) -> {
+            fresh[0] = delivered == null || message.version() > delivered;
+            return fresh[0] ? message.version() : delivered;
+        });
+        if (!fresh[0]) {
+            staleMessages.get(message.region()).increment();
+            return;
+        }
+
+        delays.get(message.region()).record(Duration.between(message.publishedAt(), clock.instant()));
+        for (Consumer<InvalidationMessage> subscriber : subscribers.get(message.region())) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation subscriber failed for {} {} v{}", message.region(), message.key(), message.version(), e);
+            }
+        }
+    }
+
+    private record Key(CacheRegion region, UUID id) {}
+}
@@ -0,0 +1,34 @@
+package com.chiringuito.service.invalidation;
+
+/**
+ * Caches kept in memory on every node that subscribe to the {@link InvalidationBus}. Stored as
+ * fixed SMALLINT codes by the database-backed bus, so codes must never be renumbered or reused.
+ */
+public enum CacheRegion {
+
+    /** Menu items in the search index; the version is {@code menu_items.version}. */
+    MENU_ITEM(1),
+    /** Folded event-sourced carts; the version is the cart's latest event sequence. */
+    CART(2),
+    /** The whole menu, replaced by a bulk import; the key is the import id. */
+    MENU(3);
+
+    private final short code;
+
+    CacheRegion(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static CacheRegion fromCode(short code) {
+        for (CacheRegion region : values()) {
+            if (region.code == code) {
+                return region;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache region code: " + code);
+    }
+}
@@ -0,0 +1,19 @@
+package com.chiringuito.service.invalidation;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Fans out changes of cached entities to the in-memory caches of every node.
+ * <p>
+ * Publishing delivers to the subscribers of this node right away and to other nodes as soon
+ * as the implementation can. Messages carry the entity version: a message not newer than the
+ * last one delivered for the same entity is dropped, so late or repeated messages never
+ * resurrect stale data. Publish after the change is committed.
+ */
+public interface InvalidationBus {
+
+    void publish(CacheRegion region, UUID key, long version);
+
+    void subscribe(CacheRegion region, Consumer<InvalidationMessage> subscriber);
+}
@@ -0,0 +1,11 @@
+package com.chiringuito.service.invalidation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Notice that the entity {@code key} in {@code region} changed and is now at {@code version}.
+ * Caches holding that version or a newer one can ignore it.
+ */
+public record InvalidationMessage(CacheRegion region, UUID key, long version, Instant publishedAt, String originNode) {
+}
@@ -0,0 +1,27 @@
+package com.chiringuito.service.invalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Settings for the {@link InvalidationBus}.
+ *
+ * @param bus        {@code local} for a single node, {@code jdbc} to reach every node through the database
+ * @param retention  how long published messages stay in the table for slow pollers
+ * @param nodeId     identifies this node's messages; random per start when blank
+ */
+@ConfigurationProperties(prefix = "chiringuito.invalidation")
+public record InvalidationProperties(
+        @DefaultValue("local") String bus,
+        @DefaultValue("1m") Duration retention,
+        @DefaultValue("") String nodeId) {
+
+    public InvalidationProperties {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.chiringuito.service.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Bus shared by all nodes through the {@code cache_invalidations} table: publishing inserts a
+ * row and every node polls for rows published by the others.
+ * <p>
+ * Each poll reads the rows after the highest id this node has seen, a primary key range scan.
+ * Paging by id rather than by {@code published_at} keeps the publishers' clocks out of it. Ids
+ * are assigned at insert but rows commit slightly out of order, so an id skipped over is kept as
+ * a gap and read again on the next polls, until it shows up or has been open for
+ * {@link #GAP_TIMEOUT} on this node's clock (a rolled-back insert never fills it). Rows older
+ * than the retention are purged, by whichever node gets there first.
+ */
+@Slf4j
+public class JdbcInvalidationBus extends AbstractInvalidationBus {
+
+    private static final Duration GAP_TIMEOUT = Duration.ofSeconds(2);
+    // Beyond this, a jump in ids (e.g. a reset sequence) is not worth waiting for
+    private static final int MAX_GAPS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final Duration retention;
+    // Ids below lastId not seen yet, with when this node first noticed them missing
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+    private long lastId;
+
+    public JdbcInvalidationBus(String nodeId, MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager, Duration retention) {
+        this(nodeId, meterRegistry, jdbcTemplate, transactionManager, retention, Clock.systemUTC());
+    }
+
+    JdbcInvalidationBus(String nodeId, MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, Duration retention, Clock clock) {
+        super("jdbc", nodeId, meterRegistry, clock);
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retention = retention;
+        // Only messages published from now on are of interest
+        this.lastId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from cache_invalidations", Long.class);
+    }
+
+    // Published from after-commit callbacks, where the finished transaction is still bound
+    @Override
+    protected void send(InvalidationMessage message) {
+        requiresNew.executeWithoutResult(status -> jdbcTemplate.update("""
+                        insert into cache_invalidations (region_code, entity_key, entity_version, origin_node, published_at)
+                        values (?, ?, ?, ?, ?)""",
+                message.region().code(), message.key(), message.version(), message.originNode(),
+                message.publishedAt().toEpochMilli()));
+    }
+
+    /**
+     * Delivers messages published by other nodes since the previous poll. Returns how many
+     * were new to this node.
+     */
+    @Scheduled(fixedDelayString = "${chiringuito.invalidation.poll-interval-ms:200}")
+    public synchronized int poll() {
+        Instant now = clock.instant();
+        gaps.values().removeIf(noticed -> noticed.isBefore(now.minus(GAP_TIMEOUT)));
+        long after = gaps.isEmpty() ? lastId : gaps.firstKey() - 1;
+        List<Row> rows = jdbcTemplate.query("""
+                        select id, region_code, entity_key, entity_version, origin_node, published_at
+                        from cache_invalidations where id > ? order by id""",
+                (rs, rowNum) -> new Row(rs.getLong("id"), new InvalidationMessage(
+                        CacheRegion.fromCode(rs.getShort("region_code")),
+                        rs.getObject("entity_key", UUID.class),
+                        rs.getLong("entity_version"),
+                        Instant.ofEpochMilli(rs.getLong("published_at")),
+                        rs.getString("origin_node"))),
+                after);
+
+        int received = 0;
+        for (Row row : rows) {
+            long id = row.id();
+            if (id > lastId) {
+                for (long missing = Math.max(lastId + 1, id - MAX_GAPS); missing < id; missing++) {
+                    gaps.put(missing, now);
+                }
+                lastId = id;
+            } else if (gaps.remove(id) == null) {
+                continue; // Delivered by an earlier poll
+            }
+            if (nodeId.equals(row.message().originNode())) {
+                continue;
+            }
+            deliver(row.message());
+            received++;
+        }
+        return received;
+    }
+
+    @Scheduled(fixedDelayString = "${chiringuito.invalidation.purge-interval-ms:60000}")
+    public int purgeExpired() {
+        int purged = jdbcTemplate.update("delete from cache_invalidations where published_at < ?",
+                clock.instant().minus(retention).toEpochMilli());
+        if (purged > 0) {
+            log.debug("Purged {} cache invalidations", purged);
+        }
+        return purged;
+    }
+
+    private record Row(long id, InvalidationMessage message) {}
+}
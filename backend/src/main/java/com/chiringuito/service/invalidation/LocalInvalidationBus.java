@@ -0,0 +1,24 @@
+package com.chiringuito.service.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+
+/**
+ * In-JVM bus for a single node: messages reach this node's subscribers only.
+ */
+public class LocalInvalidationBus extends AbstractInvalidationBus {
+
+    public LocalInvalidationBus(String nodeId, MeterRegistry meterRegistry) {
+        this(nodeId, meterRegistry, Clock.systemUTC());
+    }
+
+    LocalInvalidationBus(String nodeId, MeterRegistry meterRegistry, Clock clock) {
+        super("local", nodeId, meterRegistry, clock);
+    }
+
+    @Override
+    protected void send(InvalidationMessage message) {
+        // No other nodes
+    }
+}
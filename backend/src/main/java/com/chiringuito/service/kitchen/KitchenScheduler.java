@@ -0,0 +1,104 @@
+package com.chiringuito.service.kitchen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders the kitchen queue shortest-prep-first with aging, instead of strictly by payment time.
+ * <p>
+ * An order's priority is its estimated prep time minus {@code agingWeight} times how long it
+ * has been waiting; lower goes first. Since every queued order ages at the same rate, that is
+ * the same ordering as the fixed key {@code prep + agingWeight * paidAt}, so a key is computed
+ * once when an order first shows up in the queue and never recomputed. Aging bounds how long
+ * an order can be overtaken: orders paid more than {@code (its prep - their prep) / agingWeight}
+ * after it always come later, so nothing starves. An aging weight of 0 is pure
+ * shortest-prep-first, and a very large one is FIFO.
+ * <p>
+ * Ready timestamps feed {@link PrepTimeEstimator}: the kitchen is modelled as working one order
+ * at a time, so an order's prep time is counted from when it was paid or from when the
+ * previous order was ready, whichever is later.
+ */
+@Component
+public class KitchenScheduler {
+
+    private final PrepTimeEstimator prepTimeEstimator;
+    private final double agingWeight;
+    private final Map<UUID, QueuedOrder> queued = new ConcurrentHashMap<>();
+    private LocalDateTime lastReadyAt;
+
+    public KitchenScheduler(PrepTimeEstimator prepTimeEstimator,
+                            @Value("${chiringuito.kitchen.aging-weight:0.2}") double agingWeight) {
+        this.prepTimeEstimator = prepTimeEstimator;
+        this.agingWeight = agingWeight;
+    }
+
+    /**
+     * Returns the orders in the order the kitchen should prepare them, with the estimated time
+     * each one will be ready if prepared one after the other from {@code now}. Orders missing
+     * from {@code preparing} are forgotten.
+     *
+     * @param preparing quantities by menu item for each order being prepared, by order id
+     * @param paidAt    when each of those orders was paid
+     */
+    public List<ScheduledOrder> schedule(Map<UUID, Map<UUID, Integer>> preparing, Map<UUID, LocalDateTime> paidAt,
+                                         LocalDateTime now) {
+        queued.keySet().retainAll(preparing.keySet());
+        List<QueuedOrder> queue = new ArrayList<>(preparing.size());
+        for (Map.Entry<UUID, Map<UUID, Integer>> order : preparing.entrySet()) {
+            queue.add(queued.computeIfAbsent(order.getKey(), id -> {
+                Duration prep = prepTimeEstimator.estimate(order.getValue());
+                LocalDateTime paid = paidAt.getOrDefault(id, now);
+                return new QueuedOrder(id, paid, prep, priorityKey(prep, paid, agingWeight));
+            }));
+        }
+        queue.sort(Comparator.comparingDouble(QueuedOrder::key).thenComparing(QueuedOrder::paidAt));
+
+        List<ScheduledOrder> schedule = new ArrayList<>(queue.size());
+        LocalDateTime readyAt = now;
+        for (QueuedOrder order : queue) {
+            readyAt = readyAt.plus(order.prep());
+            schedule.add(new ScheduledOrder(order.orderId(), order.paidAt(), order.prep(), readyAt));
+        }
+        return schedule;
+    }
+
+    /**
+     * Records an order marked ready and learns its prep time.
+     */
+    public synchronized void completed(UUID orderId, Map<UUID, Integer> quantities, LocalDateTime paidAt,
+                                       LocalDateTime readyAt) {
+        queued.remove(orderId);
+        if (paidAt == null || readyAt == null) {
+            return;
+        }
+        LocalDateTime started = lastReadyAt != null && lastReadyAt.isAfter(paidAt) ? lastReadyAt : paidAt;
+        if (lastReadyAt == null || readyAt.isAfter(lastReadyAt)) {
+            lastReadyAt = readyAt;
+        }
+        if (readyAt.isAfter(started)) {
+            prepTimeEstimator.observe(quantities, Duration.between(started, readyAt));
+        }
+    }
+
+    /**
+     * Sort key of an order: lower is prepared first.
+     */
+    public static double priorityKey(Duration prep, LocalDateTime paidAt, double agingWeight) {
+        double paidSeconds = paidAt.toEpochSecond(ZoneOffset.UTC) + paidAt.getNano() / 1e9;
+        return prep.toMillis() / 1000.0 + agingWeight * paidSeconds;
+    }
+
+    public record ScheduledOrder(UUID orderId, LocalDateTime paidAt, Duration estimatedPrep, LocalDateTime estimatedReadyAt) {}
+
+    private record QueuedOrder(UUID orderId, LocalDateTime paidAt, Duration prep, double key) {}
+}
@@ -0,0 +1,72 @@
+package com.chiringuito.service.kitchen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Online per-menu-item prep-time estimates.
+ * <p>
+ * An order is estimated as the sum of its items' estimates times their quantities. Only
+ * whole orders are observed, so each observation scales the estimates of the items in the
+ * order by the ratio of actual to predicted time, smoothed by the learning rate: an
+ * exponentially weighted moving average that converges to an item's true time as soon as it
+ * is ordered on its own. Unseen items start at the default prep time.
+ */
+@Component
+public class PrepTimeEstimator {
+
+    // Keeps one wildly off observation (a forgotten ticket) from wiping out an estimate
+    private static final double MAX_SCALE = 4.0;
+
+    private final double defaultSeconds;
+    private final double learningRate;
+    private final Map<UUID, Double> secondsByItem = new ConcurrentHashMap<>();
+
+    public PrepTimeEstimator(@Value("${chiringuito.kitchen.default-prep:PT5M}") Duration defaultPrep,
+                             @Value("${chiringuito.kitchen.learning-rate:0.2}") double learningRate) {
+        this.defaultSeconds = defaultPrep.toMillis() / 1000.0;
+        this.learningRate = learningRate;
+    }
+
+    public Duration estimate(UUID menuItemId) {
+        return toDuration(secondsByItem.getOrDefault(menuItemId, defaultSeconds));
+    }
+
+    /**
+     * Estimated prep time of an order given its quantities by menu item.
+     */
+    public Duration estimate(Map<UUID, Integer> quantities) {
+        return toDuration(predictSeconds(quantities));
+    }
+
+    /**
+     * Learns from an order that took {@code actual} to prepare.
+     */
+    public void observe(Map<UUID, Integer> quantities, Duration actual) {
+        double predicted = predictSeconds(quantities);
+        if (predicted <= 0 || actual.isNegative() || actual.isZero()) {
+            return;
+        }
+        double scale = Math.clamp(actual.toMillis() / 1000.0 / predicted, 1 / MAX_SCALE, MAX_SCALE);
+        double factor = 1 + learningRate * (scale - 1);
+        quantities.keySet().forEach(menuItemId ->
+                secondsByItem.compute(menuItemId, (id, seconds) -> (seconds != null ? seconds : defaultSeconds) * factor));
+    }
+
+    private double predictSeconds(Map<UUID, Integer> quantities) {
+        double seconds = 0;
+        for (Map.Entry<UUID, Integer> line : quantities.entrySet()) {
+            seconds += secondsByItem.getOrDefault(line.getKey(), defaultSeconds) * line.getValue();
+        }
+        return seconds;
+    }
+
+    private static Duration toDuration(double seconds) {
+        return Duration.ofMillis(Math.round(seconds * 1000));
+    }
+}
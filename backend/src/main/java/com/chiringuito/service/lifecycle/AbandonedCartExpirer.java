@@ -0,0 +1,114 @@
+package com.chiringuito.service.lifecycle;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.CartEventRepository;
+import com.chiringuito.domain.repository.CartSnapshotRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.cart.CartEventStore;
+import com.chiringuito.service.cart.CartState;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import com.chiringuito.service.stock.StockLedger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Expires carts that were never paid, so they stop counting as active orders and become
+ * eligible for archiving. Event-sourced carts (chiringuito.cart.storage=events) idle for as
+ * long are deleted outright: until checkout they have no order row, and after it the order
+ * row carries everything that is kept. Stock reserved by expired carts is released, and so is
+ * the pickup slot capacity they claimed.
+ */
+@Slf4j
+@Component
+public class AbandonedCartExpirer {
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final CartEventRepository cartEventRepository;
+    private final CartSnapshotRepository cartSnapshotRepository;
+    private final CartEventStore cartEventStore;
+    private final StockLedger stockLedger;
+    private final PickupSlotLedger pickupSlotLedger;
+    private final Duration expireAfter;
+
+    public AbandonedCartExpirer(OrderRepository orderRepository,
+                                OrderLineRepository orderLineRepository,
+                                CartEventRepository cartEventRepository,
+                                CartSnapshotRepository cartSnapshotRepository,
+                                CartEventStore cartEventStore,
+                                StockLedger stockLedger,
+                                PickupSlotLedger pickupSlotLedger,
+                                @Value("${chiringuito.cart.expire-after:PT4H}") Duration expireAfter) {
+        this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.cartEventRepository = cartEventRepository;
+        this.cartSnapshotRepository = cartSnapshotRepository;
+        this.cartEventStore = cartEventStore;
+        this.stockLedger = stockLedger;
+        this.pickupSlotLedger = pickupSlotLedger;
+        this.expireAfter = expireAfter;
+    }
+
+    /**
+     * Expires carts older than the configured age. Returns the number of carts expired.
+     */
+    @Scheduled(fixedDelayString = "${chiringuito.cart.expiry-interval-ms:300000}")
+    @Transactional
+    public int expireAbandonedCarts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(expireAfter);
+        List<UUID> carts = orderRepository.findIdsByStatusCreatedBefore(OrderStatus.PENDING, cutoff);
+        if (carts.isEmpty()) {
+            return 0;
+        }
+        int expired = orderRepository.expireCarts(carts, OrderStatus.PENDING, OrderStatus.EXPIRED, cutoff);
+        Map<UUID, LocalDateTime> pickupSlots = orderRepository.findAllById(carts).stream()
+                .filter(order -> order.getPickupSlot() != null)
+                .collect(Collectors.toMap(Order::getId, Order::getPickupSlot));
+        orderLineRepository.findByOrderIdIn(carts).forEach(line -> {
+            stockLedger.release(line.getMenuItemId(), line.getQuantity());
+            pickupSlotLedger.release(pickupSlots.get(line.getOrderId()), line.getQuantity());
+        });
+        if (expired > 0) {
+            log.info("Expired {} carts created before {}", expired, cutoff);
+        }
+        return expired;
+    }
+
+    /**
+     * Deletes the events and snapshots of event-sourced carts with no activity for the
+     * configured age. Returns the number of events deleted.
+     */
+    @Scheduled(fixedDelayString = "${chiringuito.cart.expiry-interval-ms:300000}")
+    @Transactional
+    public int purgeIdleEventCarts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(expireAfter);
+        List<UUID> carts = cartEventRepository.findIdleCartIds(cutoff);
+        if (carts.isEmpty()) {
+            return 0;
+        }
+        for (UUID cartId : carts) {
+            CartState cart = cartEventStore.load(cartId);
+            if (!cart.isCheckedOut()) {
+                cart.lines().forEach(line -> stockLedger.release(line.menuItemId(), line.quantity()));
+            }
+        }
+        int purged = cartEventRepository.deleteByCartIds(carts);
+        if (purged > 0) {
+            cartSnapshotRepository.deleteOrphaned();
+            log.info("Purged {} cart events of carts idle since {}", purged, cutoff);
+        }
+        return purged;
+    }
+}
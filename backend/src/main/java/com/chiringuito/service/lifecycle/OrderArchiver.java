@@ -0,0 +1,159 @@
+package com.chiringuito.service.lifecycle;
+
+import com.chiringuito.domain.entity.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves finished orders (PICKED_UP or EXPIRED) older than a threshold, with their lines, from
+ * the hot {@code orders} and {@code order_lines} tables into {@code orders_archive} and
+ * {@code order_lines_archive}. The hot tables then only hold recent and in-flight orders,
+ * and history reads span both through the {@code orders_all} and {@code order_lines_all} views.
+ * <p>
+ * Runs off-peak in bounded batches: each batch copies and deletes up to {@code batch-size}
+ * orders in its own short transaction, with a pause between batches, and a run stops after
+ * {@code max-batches}. On PostgreSQL the archive tables are partitioned by month and the
+ * partitions a batch needs are created inside the batch transaction.
+ * Orders with status changes not yet folded into the sales rollups are left for a later run.
+ */
+@Slf4j
+@Component
+public class OrderArchiver {
+
+    private static final List<Short> FINISHED_STATUS_CODES =
+            OrderStatus.FINISHED.stream().map(OrderStatus::code).toList();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final Duration olderThan;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration batchPause;
+    private Boolean partitioned;
+
+    public OrderArchiver(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${chiringuito.archive.older-than:P30D}") Duration olderThan,
+                         @Value("${chiringuito.archive.batch-size:1000}") int batchSize,
+                         @Value("${chiringuito.archive.max-batches:200}") int maxBatches,
+                         @Value("${chiringuito.archive.batch-pause:200ms}") Duration batchPause) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.olderThan = olderThan;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPause = batchPause;
+    }
+
+    /**
+     * Archives eligible orders until none are left or the batch budget is spent.
+     * Returns the number of orders archived.
+     */
+    @Scheduled(cron = "${chiringuito.archive.cron:0 30 4 * * *}")
+    public int archiveFinishedOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(olderThan);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+            pause();
+        }
+        if (total > 0) {
+            log.info("Archived {} orders created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statusCodes", FINISHED_STATUS_CODES)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize);
+        List<ArchivableOrder> batch = jdbcTemplate.query("""
+                select o.id, o.created_at from orders o
+                where o.status_code in (:statusCodes)
+                  and o.created_at < :cutoff
+                  and not exists (select 1 from order_status_changes c where c.order_id = o.id)
+                order by o.created_at
+                limit :limit""", params, (rs, rowNum) -> new ArchivableOrder(
+                rs.getObject("id", UUID.class), rs.getObject("created_at", LocalDateTime.class)));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> ids = batch.stream().map(ArchivableOrder::id).toList();
+        if (isPartitioned()) {
+            batch.stream()
+                    .map(order -> YearMonth.from(order.createdAt()))
+                    .distinct()
+                    .forEach(this::createMonthlyPartitions);
+        }
+
+        MapSqlParameterSource idParams = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("""
+                insert into order_lines_archive
+                    (id, order_id, menu_item_id, quantity, unit_price, line_total, order_created_at)
+                select l.id, l.order_id, l.menu_item_id, l.quantity, l.unit_price, l.line_total, o.created_at
+                from order_lines l join orders o on o.id = l.order_id
+                where l.order_id in (:ids)""", idParams);
+        jdbcTemplate.update("""
+                insert into orders_archive (id, status_code, total_amount, created_at, paid_at, ready_at, pickup_slot, reference_day, reference_number)
+                select id, status_code, total_amount, created_at, paid_at, ready_at, pickup_slot, reference_day, reference_number from orders
+                where id in (:ids)""", idParams);
+        jdbcTemplate.update("delete from order_lines where order_id in (:ids)", idParams);
+        jdbcTemplate.update("delete from orders where id in (:ids)", idParams);
+        return batch.size();
+    }
+
+    private void createMonthlyPartitions(YearMonth month) {
+        String suffix = String.format("y%04dm%02d", month.getYear(), month.getMonthValue());
+        String range = String.format("FOR VALUES FROM ('%s') TO ('%s')", month.atDay(1), month.plusMonths(1).atDay(1));
+        jdbcTemplate.getJdbcTemplate().execute(
+                "CREATE TABLE IF NOT EXISTS orders_archive_" + suffix + " PARTITION OF orders_archive " + range);
+        jdbcTemplate.getJdbcTemplate().execute(
+                "CREATE TABLE IF NOT EXISTS order_lines_archive_" + suffix + " PARTITION OF order_lines_archive " + range);
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                partitioned = "PostgreSQL".equals(product);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Cannot determine database product for order archiving", e);
+            }
+        }
+        return partitioned;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(batchPause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ArchivableOrder(UUID id, LocalDateTime createdAt) {}
+}
@@ -0,0 +1,178 @@
+package com.chiringuito.service.menu;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads bulk menu imports. Malformed files are rejected with {@link IllegalArgumentException};
+ * field values are checked against the {@code MenuItem} constraints later.
+ * <p>
+ * CSV (RFC 4180, UTF-8) needs a header row naming the columns {@code name}, {@code price} and
+ * optionally {@code id}, {@code description}, {@code image_url} and {@code available}.
+ * JSON is an array of objects with the same fields, {@code imageUrl} in camel case.
+ * A missing {@code available} means available.
+ */
+public final class MenuImportParser {
+
+    private MenuImportParser() {
+    }
+
+    public static List<MenuImportRow> parseCsv(InputStream in) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = readRecord(reader);
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().toLowerCase(Locale.ROOT).replace("imageurl", "image_url"), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new IllegalArgumentException("CSV header must name the name and price columns");
+        }
+
+        List<MenuImportRow> rows = new ArrayList<>();
+        List<String> record;
+        while ((record = readRecord(reader)) != null) {
+            if (record.size() == 1 && record.getFirst().isBlank()) {
+                continue;
+            }
+            int rowNumber = rows.size() + 1;
+            rows.add(new MenuImportRow(
+                    rowNumber,
+                    uuid(field(record, columns, "id"), rowNumber),
+                    field(record, columns, "name"),
+                    field(record, columns, "description"),
+                    decimal(field(record, columns, "price"), rowNumber),
+                    field(record, columns, "image_url"),
+                    bool(field(record, columns, "available"), rowNumber)));
+        }
+        return rows;
+    }
+
+    public static List<MenuImportRow> parseJson(InputStream in, ObjectMapper objectMapper) throws IOException {
+        List<MenuImportRow> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON import must be an array of menu items");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int rowNumber = rows.size() + 1;
+                JsonNode row = objectMapper.readTree(parser);
+                rows.add(new MenuImportRow(
+                        rowNumber,
+                        uuid(text(row, "id"), rowNumber),
+                        text(row, "name"),
+                        text(row, "description"),
+                        decimal(text(row, "price"), rowNumber),
+                        text(row, "imageUrl"),
+                        bool(text(row, "available"), rowNumber)));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("JSON import must be an array of menu items");
+            }
+        }
+        return rows;
+    }
+
+    // One CSV record, or null at end of input; quoted fields may hold separators, quotes and line breaks
+    private static List<String> readRecord(Reader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next >= 0) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV import ends inside a quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String text(JsonNode row, String field) {
+        JsonNode value = row.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static UUID uuid(String value, int rowNumber) {
+        try {
+            return value != null ? UUID.fromString(value) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": invalid id " + value);
+        }
+    }
+
+    private static BigDecimal decimal(String value, int rowNumber) {
+        try {
+            return value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Row " + rowNumber + ": invalid price " + value);
+        }
+    }
+
+    private static Boolean bool(String value, int rowNumber) {
+        if (value == null) {
+            return Boolean.TRUE;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "1" -> Boolean.TRUE;
+            case "false", "no", "0" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Row " + rowNumber + ": invalid available " + value);
+        };
+    }
+}
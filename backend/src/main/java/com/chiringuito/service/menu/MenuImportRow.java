@@ -0,0 +1,18 @@
+package com.chiringuito.service.menu;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One menu item of a bulk import, numbered from 1 in file order. {@code id} is optional: rows
+ * without one update the item with the same name, or create a new item.
+ */
+public record MenuImportRow(
+        int rowNumber,
+        UUID id,
+        String name,
+        String description,
+        BigDecimal price,
+        String imageUrl,
+        Boolean available) {
+}
@@ -0,0 +1,198 @@
+package com.chiringuito.service.payment;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.entity.PaymentEvent;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.domain.repository.PaymentEventRepository;
+import com.chiringuito.service.cart.CartEventStore;
+import com.chiringuito.service.cart.EventSourcedCart;
+import com.chiringuito.service.reference.OrderReferenceAllocator;
+import com.chiringuito.service.reporting.OrderStatusChangeRecorder;
+import com.chiringuito.service.stock.StockLedger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies received payment events to their orders in small batches, one transaction each, in
+ * the order they were received, so events of one order are always applied in sequence.
+ * <p>
+ * {@code payment.succeeded} moves a PENDING order to PREPARING, gives it its reference number
+ * and sells its reserved stock; an event-sourced cart is materialized into its order first.
+ * {@code payment.failed} is only recorded: the cart stays open for another attempt. Events for
+ * orders that are missing or no longer PENDING are ignored, which also covers the same payment
+ * reported under two event ids.
+ * <p>
+ * If a batch fails, its events are retried one per transaction and an event that still fails
+ * is set aside with outcome {@code failed}, so one bad event cannot hold up the rest.
+ * {@code chiringuito.payments.lag} is the age of the oldest event not yet applied, read from
+ * the inbox whenever the gauge is sampled, so it keeps growing while the worker is stalled.
+ */
+@Slf4j
+@Component
+public class PaymentEventApplier {
+
+    static final String PAYMENT_SUCCEEDED = "payment.succeeded";
+    static final String PAYMENT_FAILED = "payment.failed";
+
+    private static final int MAX_OUTCOME_LENGTH = 255;
+
+    private final PaymentEventRepository paymentEventRepository;
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final CartEventStore cartEventStore;
+    private final EventSourcedCart eventSourcedCart;
+    private final OrderStatusChangeRecorder orderStatusChangeRecorder;
+    private final StockLedger stockLedger;
+    private final OrderReferenceAllocator orderReferenceAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PaymentEventApplier(PaymentEventRepository paymentEventRepository,
+                               OrderRepository orderRepository,
+                               OrderLineRepository orderLineRepository,
+                               CartEventStore cartEventStore,
+                               EventSourcedCart eventSourcedCart,
+                               OrderStatusChangeRecorder orderStatusChangeRecorder,
+                               StockLedger stockLedger,
+                               OrderReferenceAllocator orderReferenceAllocator,
+                               PlatformTransactionManager transactionManager,
+                               PaymentWebhookProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.paymentEventRepository = paymentEventRepository;
+        this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.cartEventStore = cartEventStore;
+        this.eventSourcedCart = eventSourcedCart;
+        this.orderStatusChangeRecorder = orderStatusChangeRecorder;
+        this.stockLedger = stockLedger;
+        this.orderReferenceAllocator = orderReferenceAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.batchSize();
+        TimeGauge.builder("chiringuito.payments.lag", this, TimeUnit.MILLISECONDS, PaymentEventApplier::lagMillis)
+                .description("Age of the oldest payment event not yet applied to its order")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies pending events until none are left. Returns the number of events consumed.
+     */
+    @Scheduled(fixedDelayString = "${chiringuito.payments.apply-interval-ms:200}")
+    public synchronized int applyPendingEvents() {
+        int total = 0;
+        int applied;
+        do {
+            try {
+                applied = transactionTemplate.execute(status -> applyBatch(batchSize));
+            } catch (RuntimeException ex) {
+                log.warn("Payment event batch failed, applying its events one by one", ex);
+                applied = applySingly();
+            }
+            total += applied;
+        } while (applied == batchSize);
+
+        if (total > 0) {
+            log.debug("Applied {} payment events", total);
+        }
+        return total;
+    }
+
+    private int applyBatch(int limit) {
+        List<PaymentEvent> events = paymentEventRepository.findPendingForUpdate(Limit.of(limit));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, Order> orders = orderRepository.findAllById(events.stream().map(PaymentEvent::getOrderId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity(), (first, second) -> first, HashMap::new));
+        LocalDateTime now = LocalDateTime.now();
+        for (PaymentEvent event : events) {
+            finish(event, apply(event, orders), now);
+        }
+        return events.size();
+    }
+
+    private int applySingly() {
+        int applied = 0;
+        while (applied < batchSize) {
+            try {
+                if (transactionTemplate.execute(status -> applyBatch(1)) == 0) {
+                    break;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Setting aside payment event that cannot be applied", ex);
+                transactionTemplate.executeWithoutResult(status -> paymentEventRepository.findPendingForUpdate(Limit.of(1))
+                        .forEach(event -> finish(event, "failed: " + ex.getMessage(), LocalDateTime.now())));
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    private String apply(PaymentEvent event, Map<UUID, Order> orders) {
+        return switch (event.getType()) {
+            case PAYMENT_SUCCEEDED -> markPaid(event.getOrderId(), orders);
+            case PAYMENT_FAILED -> "recorded";
+            default -> "ignored: unknown event type";
+        };
+    }
+
+    private String markPaid(UUID orderId, Map<UUID, Order> orders) {
+        Order order = orders.get(orderId);
+        boolean materialized = false;
+        if (order == null) {
+            if (cartEventStore.load(orderId).isEmpty()) {
+                return "ignored: order not found";
+            }
+            // Materializing sells the cart's stock itself
+            order = eventSourcedCart.materialize(orderId);
+            orders.put(orderId, order);
+            materialized = true;
+        }
+        if (order.getStatus() != OrderStatus.PENDING) {
+            return "ignored: order is " + order.getStatus();
+        }
+
+        order.transitionTo(OrderStatus.PREPARING);
+        OrderReferenceAllocator.OrderReference reference = orderReferenceAllocator.next();
+        order.setReferenceDay(reference.day());
+        order.setReferenceNumber(reference.number());
+        orderRepository.save(order);
+        orderStatusChangeRecorder.record(order);
+        if (!materialized) {
+            orderLineRepository.findByOrderId(orderId)
+                    .forEach(line -> stockLedger.sell(line.getMenuItemId(), line.getQuantity()));
+        }
+        return "applied";
+    }
+
+    private void finish(PaymentEvent event, String outcome, LocalDateTime appliedAt) {
+        event.setAppliedAt(appliedAt);
+        event.setOutcome(outcome.length() > MAX_OUTCOME_LENGTH ? outcome.substring(0, MAX_OUTCOME_LENGTH) : outcome);
+        paymentEventRepository.save(event);
+    }
+
+    private double lagMillis() {
+        return paymentEventRepository.findOldestPendingReceivedAt()
+                .map(oldest -> Math.max(Duration.between(oldest, LocalDateTime.now()).toMillis(), 0))
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,57 @@
+package com.chiringuito.service.payment;
+
+import com.chiringuito.service.dto.PaymentWebhookEvent;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Durable intake of webhook events: one insert into {@code payment_events} per new event, and
+ * nothing else on the request path. Redeliveries are recognized from a bounded set of recently
+ * received ids without touching the database, and beyond it by the unique {@code event_id}.
+ */
+@Component
+public class PaymentEventInbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Boolean> recent;
+
+    public PaymentEventInbox(JdbcTemplate jdbcTemplate, PaymentWebhookProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        int maxEntries = properties.dedupeCacheSize();
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Stores the event for the payment worker. Returns false if it was received before.
+     */
+    public boolean accept(PaymentWebhookEvent event) {
+        synchronized (recent) {
+            if (recent.get(event.id()) != null) {
+                return false;
+            }
+        }
+        boolean inserted;
+        try {
+            jdbcTemplate.update("insert into payment_events (event_id, order_id, type, received_at) values (?, ?, ?, ?)",
+                    event.id(), event.orderId(), event.type(), Timestamp.valueOf(LocalDateTime.now()));
+            inserted = true;
+        } catch (DuplicateKeyException receivedBefore) {
+            inserted = false;
+        }
+        synchronized (recent) {
+            recent.put(event.id(), Boolean.TRUE);
+        }
+        return inserted;
+    }
+}
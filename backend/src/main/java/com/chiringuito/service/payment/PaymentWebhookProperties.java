@@ -0,0 +1,23 @@
+package com.chiringuito.service.payment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for payment gateway webhooks.
+ *
+ * @param webhookSecret       shared secret the gateway signs events with; every event is
+ *                            rejected while it is blank
+ * @param signatureTolerance  how far the signed timestamp may be from now, bounding replays
+ * @param dedupeCacheSize     bound on recently received event ids kept in memory per node
+ * @param batchSize           events applied per transaction
+ */
+@ConfigurationProperties(prefix = "chiringuito.payments")
+public record PaymentWebhookProperties(
+        String webhookSecret,
+        @DefaultValue("5m") Duration signatureTolerance,
+        @DefaultValue("10000") int dedupeCacheSize,
+        @DefaultValue("20") int batchSize) {
+}
@@ -0,0 +1,85 @@
+package com.chiringuito.service.payment;
+
+import com.chiringuito.service.exception.InvalidWebhookSignatureException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Checks the {@code Payment-Signature} header of a webhook: {@code t=<unix seconds>,v1=<hex>},
+ * where the hex value is the HMAC-SHA256 of {@code "<t>.<raw body>"} under the webhook secret.
+ * The timestamp must be within the configured tolerance, so a captured request cannot be
+ * replayed later.
+ */
+@Component
+public class WebhookSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final byte[] secret;
+    private final Duration tolerance;
+
+    public WebhookSignatureVerifier(PaymentWebhookProperties properties) {
+        String webhookSecret = properties.webhookSecret();
+        this.secret = webhookSecret == null ? new byte[0] : webhookSecret.getBytes(StandardCharsets.UTF_8);
+        this.tolerance = properties.signatureTolerance();
+    }
+
+    /**
+     * @throws InvalidWebhookSignatureException if the header is missing, malformed, stale or
+     *                                          does not match the body
+     */
+    public void verify(byte[] body, String header) {
+        if (secret.length == 0) {
+            throw new InvalidWebhookSignatureException("Payment webhook secret is not configured");
+        }
+        if (header == null) {
+            throw new InvalidWebhookSignatureException("Missing Payment-Signature header");
+        }
+        String timestamp = null;
+        String signature = null;
+        for (String part : header.split(",")) {
+            if (part.startsWith("t=")) {
+                timestamp = part.substring(2).trim();
+            } else if (part.startsWith("v1=")) {
+                signature = part.substring(3).trim();
+            }
+        }
+        if (timestamp == null || signature == null) {
+            throw new InvalidWebhookSignatureException("Malformed Payment-Signature header");
+        }
+
+        long signedAt;
+        byte[] provided;
+        try {
+            signedAt = Long.parseLong(timestamp);
+            provided = HexFormat.of().parseHex(signature);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidWebhookSignatureException("Malformed Payment-Signature header");
+        }
+        if (Duration.between(Instant.ofEpochSecond(signedAt), Instant.now()).abs().compareTo(tolerance) > 0) {
+            throw new InvalidWebhookSignatureException("Payment-Signature timestamp is outside the tolerance");
+        }
+        if (!MessageDigest.isEqual(provided, sign(timestamp, body))) {
+            throw new InvalidWebhookSignatureException("Payment-Signature does not match");
+        }
+    }
+
+    byte[] sign(String timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            mac.update((timestamp + ".").getBytes(StandardCharsets.UTF_8));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+}
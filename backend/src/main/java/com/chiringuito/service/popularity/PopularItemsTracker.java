@@ -0,0 +1,159 @@
+package com.chiringuito.service.popularity;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streaming "popular right now" ranking of menu items over a sliding time window.
+ * <p>
+ * Counts are kept in a count-min sketch split into time slices: the window sketch is the
+ * sum of the live slices, and when a slice expires its counts are subtracted and it is
+ * reused, so old additions decay out of the window without per-item timestamps. A small
+ * fixed set of candidate items (the heavy hitters seen so far) is ranked by their sketch
+ * estimate. Memory is bounded by the sketch and candidate array sizes regardless of
+ * traffic, and everything lives in primitive arrays guarded by this object's monitor.
+ */
+@Component
+public class PopularItemsTracker {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 1024;
+    private static final long[] ROW_SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final Clock clock;
+    private final long sliceMillis;
+    private final int[][] slices;
+    private final long[] window = new long[DEPTH * WIDTH];
+    private final long[] candidateMostSigBits;
+    private final long[] candidateLeastSigBits;
+    private int candidateCount;
+    private long currentSlice;
+
+    @Autowired
+    public PopularItemsTracker(@Value("${chiringuito.popularity.window:PT30M}") Duration window,
+                               @Value("${chiringuito.popularity.slices:6}") int sliceCount,
+                               @Value("${chiringuito.popularity.candidates:64}") int candidates) {
+        this(window, sliceCount, candidates, Clock.systemUTC());
+    }
+
+    PopularItemsTracker(Duration window, int sliceCount, int candidates, Clock clock) {
+        this.clock = clock;
+        this.sliceMillis = window.toMillis() / sliceCount;
+        this.slices = new int[sliceCount][DEPTH * WIDTH];
+        this.candidateMostSigBits = new long[candidates];
+        this.candidateLeastSigBits = new long[candidates];
+        this.currentSlice = clock.millis() / sliceMillis;
+    }
+
+    public synchronized void record(UUID menuItemId, int quantity) {
+        advance();
+        long key = key(menuItemId);
+        int[] slice = slices[(int) (currentSlice % slices.length)];
+        for (int row = 0; row < DEPTH; row++) {
+            int cell = cell(row, key);
+            slice[cell] += quantity;
+            window[cell] += quantity;
+        }
+        offerCandidate(menuItemId, estimate(key));
+    }
+
+    /**
+     * Returns up to {@code limit} items with the highest estimated units added within the window.
+     */
+    public synchronized List<PopularItem> top(int limit) {
+        advance();
+        List<PopularItem> ranked = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; i++) {
+            UUID id = new UUID(candidateMostSigBits[i], candidateLeastSigBits[i]);
+            long count = estimate(key(id));
+            if (count > 0) {
+                ranked.add(new PopularItem(id, count));
+            }
+        }
+        ranked.sort(Comparator.comparingLong(PopularItem::count).reversed());
+        return ranked.size() > limit ? ranked.subList(0, limit) : ranked;
+    }
+
+    private void offerCandidate(UUID id, long count) {
+        int weakest = -1;
+        long weakestCount = Long.MAX_VALUE;
+        for (int i = 0; i < candidateCount; i++) {
+            if (candidateMostSigBits[i] == id.getMostSignificantBits()
+                    && candidateLeastSigBits[i] == id.getLeastSignificantBits()) {
+                return;
+            }
+            long candidate = estimate(key(candidateMostSigBits[i], candidateLeastSigBits[i]));
+            if (candidate < weakestCount) {
+                weakestCount = candidate;
+                weakest = i;
+            }
+        }
+        if (candidateCount < candidateMostSigBits.length) {
+            weakest = candidateCount++;
+        } else if (count <= weakestCount) {
+            return;
+        }
+        candidateMostSigBits[weakest] = id.getMostSignificantBits();
+        candidateLeastSigBits[weakest] = id.getLeastSignificantBits();
+    }
+
+    // Expires every slice that fell out of the window since the last call
+    private void advance() {
+        long now = clock.millis() / sliceMillis;
+        long expired = Math.min(now - currentSlice, slices.length);
+        for (long s = 1; s <= expired; s++) {
+            int[] slice = slices[(int) ((currentSlice + s) % slices.length)];
+            for (int cell = 0; cell < slice.length; cell++) {
+                window[cell] -= slice[cell];
+            }
+            Arrays.fill(slice, 0);
+        }
+        if (now > currentSlice) {
+            currentSlice = now;
+        }
+    }
+
+    private long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, window[cell(row, key)]);
+        }
+        return min;
+    }
+
+    private static int cell(int row, long key) {
+        long h = mix(key ^ ROW_SEEDS[row]);
+        return row * WIDTH + (int) (h & (WIDTH - 1));
+    }
+
+    private static long key(UUID id) {
+        return key(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static long key(long mostSigBits, long leastSigBits) {
+        return mix(mostSigBits) ^ leastSigBits;
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public record PopularItem(UUID menuItemId, long count) {}
+}
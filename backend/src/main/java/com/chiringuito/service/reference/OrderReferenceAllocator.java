@@ -0,0 +1,153 @@
+package com.chiringuito.service.reference;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out short order references such as {@code A-142}, numbered from 1 each business day.
+ * A business day starts at {@code chiringuito.order-reference.day-starts-at}, so orders taken
+ * after midnight still belong to the evening they started in.
+ * <p>
+ * Numbers come from blocks of {@code chiringuito.order-reference.block-size} reserved in
+ * {@code order_reference_blocks} (hi/lo): one update per block, in a transaction of its own so
+ * a rolled-back order never gives a reserved block back. Within a block numbers are handed out
+ * from memory with an atomic increment, without locks or database round trips; only the thread
+ * that finds the block used up waits for the next one.
+ * <p>
+ * References are unique but not gap-free, and the gaps are bounded:
+ * <ul>
+ *   <li>a node that stops loses what is left of its block, at most {@code block-size - 1}
+ *   numbers, unless it stops gracefully before another node reserved a later block, in which
+ *   case {@link #release()} gives the rest back;</li>
+ *   <li>when the business day ends, each node drops what is left of its block of the day before,
+ *   again at most {@code block-size - 1} numbers;</li>
+ *   <li>a number taken by a transaction that rolls back is not reused.</li>
+ * </ul>
+ * With several nodes the numbers are not in order of payment: each node counts up in its own block.
+ */
+@Slf4j
+@Component
+public class OrderReferenceAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final String prefix;
+    private final int blockSize;
+    private final LocalTime dayStartsAt;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    public OrderReferenceAllocator(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${chiringuito.order-reference.prefix:A}") String prefix,
+                                   @Value("${chiringuito.order-reference.block-size:10}") int blockSize,
+                                   @Value("${chiringuito.order-reference.day-starts-at:05:00}") LocalTime dayStartsAt) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Order reference block size must be positive: " + blockSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.prefix = prefix;
+        this.blockSize = blockSize;
+        this.dayStartsAt = dayStartsAt;
+    }
+
+    /**
+     * Returns the next reference of the current business day.
+     */
+    public OrderReference next() {
+        return next(LocalDateTime.now());
+    }
+
+    OrderReference next(LocalDateTime now) {
+        LocalDate today = businessDay(now);
+        while (true) {
+            Block block = current.get();
+            // A block of a later day means the clock of this thread lagged behind: keep using it
+            if (block != null && !block.day().isBefore(today)) {
+                int number = block.next().getAndIncrement();
+                if (number < block.end()) {
+                    return new OrderReference(block.day(), prefix + "-" + number);
+                }
+            }
+            refill(block, today);
+        }
+    }
+
+    /**
+     * Gives the numbers left in this node's block back, if no later block of the same day has
+     * been reserved since; called on shutdown. Numbers asked for afterwards come from a new block.
+     */
+    @PreDestroy
+    public void release() {
+        Block block = current.getAndSet(null);
+        if (block == null) {
+            return;
+        }
+        // Moves the counter past the end so no thread can still take a number from this block
+        int from = block.next().getAndSet(block.end());
+        if (from >= block.end()) {
+            return;
+        }
+        int returned = jdbcTemplate.update(
+                "update order_reference_blocks set next_value = ? where business_day = ? and next_value = ?",
+                from, block.day(), block.end());
+        log.debug("Order reference numbers {} to {} of {} {}", from, block.end() - 1, block.day(),
+                returned == 1 ? "returned" : "dropped, a later block was reserved");
+    }
+
+    LocalDate businessDay(LocalDateTime at) {
+        return at.minusHours(dayStartsAt.getHour()).minusMinutes(dayStartsAt.getMinute()).toLocalDate();
+    }
+
+    // Only one thread reserves a block; the others wait here and then take numbers from it
+    private synchronized void refill(Block exhausted, LocalDate today) {
+        if (current.get() != exhausted) {
+            return;
+        }
+        LocalDate day = exhausted != null && exhausted.day().isAfter(today) ? exhausted.day() : today;
+        current.set(reserveBlock(day));
+    }
+
+    private Block reserveBlock(LocalDate day) {
+        Integer end = newTransaction.execute(status -> {
+            if (jdbcTemplate.update("update order_reference_blocks set next_value = next_value + ? where business_day = ?",
+                    blockSize, day) == 0) {
+                return null;
+            }
+            return jdbcTemplate.queryForObject(
+                    "select next_value from order_reference_blocks where business_day = ?", Integer.class, day);
+        });
+        if (end == null) {
+            try {
+                newTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                        "insert into order_reference_blocks (business_day, next_value) values (?, 1)", day));
+            } catch (DuplicateKeyException e) {
+                // Another node opened the day first
+            }
+            return reserveBlock(day);
+        }
+        log.debug("Reserved order reference numbers {} to {} of {}", end - blockSize, end - 1, day);
+        return new Block(day, new AtomicInteger(end - blockSize), end);
+    }
+
+    /**
+     * A reference and the business day it is unique in.
+     */
+    public record OrderReference(LocalDate day, String number) {}
+
+    private record Block(LocalDate day, AtomicInteger next, int end) {}
+}
@@ -0,0 +1,62 @@
+package com.chiringuito.service.reporting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// RFC 4180: CRLF line endings, fields quoted only when they contain a separator, quote or line break
+class CsvOrderExportWriter implements OrderExportWriter {
+
+    private static final String HEADER = "order_id,status,total_amount,created_at,paid_at,ready_at,"
+            + "line_id,menu_item_id,menu_item_name,quantity,unit_price,line_total";
+
+    private final Writer writer;
+
+    CsvOrderExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(OrderExportRow row) throws IOException {
+        field(row.orderId(), false);
+        field(row.status(), true);
+        field(row.totalAmount(), true);
+        field(row.createdAt(), true);
+        field(row.paidAt(), true);
+        field(row.readyAt(), true);
+        field(row.lineId(), true);
+        field(row.menuItemId(), true);
+        field(row.menuItemName(), true);
+        field(row.quantity(), true);
+        field(row.unitPrice(), true);
+        field(row.lineTotal(), true);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void field(Object value, boolean separated) throws IOException {
+        if (separated) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,38 @@
+package com.chiringuito.service.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum ExportFormat {
+
+    /** One row per order line, order columns repeated. */
+    CSV("text/csv", "csv"),
+
+    /** One JSON object per order, with its lines nested. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public OrderExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvOrderExportWriter(out);
+            case NDJSON -> new NdjsonOrderExportWriter(out, objectMapper);
+        };
+    }
+}
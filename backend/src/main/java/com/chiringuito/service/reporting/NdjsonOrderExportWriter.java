@@ -0,0 +1,77 @@
+package com.chiringuito.service.reporting;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Rows arrive grouped by order, so an order's object is closed when the next order starts
+class NdjsonOrderExportWriter implements OrderExportWriter {
+
+    private final JsonGenerator generator;
+    private UUID currentOrderId;
+
+    NdjsonOrderExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(OrderExportRow row) throws IOException {
+        if (!row.orderId().equals(currentOrderId)) {
+            endOrder();
+            currentOrderId = row.orderId();
+            generator.writeStartObject();
+            generator.writeStringField("orderId", row.orderId().toString());
+            generator.writeStringField("status", row.status().name());
+            number("totalAmount", row.totalAmount());
+            timestamp("createdAt", row.createdAt());
+            timestamp("paidAt", row.paidAt());
+            timestamp("readyAt", row.readyAt());
+            generator.writeArrayFieldStart("lines");
+        }
+        if (row.lineId() != null) {
+            generator.writeStartObject();
+            generator.writeStringField("lineId", row.lineId().toString());
+            generator.writeStringField("menuItemId", row.menuItemId().toString());
+            generator.writeStringField("menuItemName", row.menuItemName());
+            generator.writeNumberField("quantity", row.quantity());
+            number("unitPrice", row.unitPrice());
+            number("lineTotal", row.lineTotal());
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        endOrder();
+        generator.close();
+    }
+
+    private void endOrder() throws IOException {
+        if (currentOrderId != null) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            currentOrderId = null;
+        }
+    }
+
+    private void number(String name, BigDecimal value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private void timestamp(String name, LocalDateTime value) throws IOException {
+        generator.writeStringField(name, value != null ? value.toString() : null);
+    }
+}
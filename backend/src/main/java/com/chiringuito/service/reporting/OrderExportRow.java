@@ -0,0 +1,26 @@
+package com.chiringuito.service.reporting;
+
+import com.chiringuito.domain.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One order line of an export, with its order's columns repeated. Orders without lines are
+ * exported as a single row with null line columns.
+ */
+public record OrderExportRow(
+        UUID orderId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt,
+        LocalDateTime paidAt,
+        LocalDateTime readyAt,
+        UUID lineId,
+        UUID menuItemId,
+        String menuItemName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal) {
+}
@@ -0,0 +1,13 @@
+package com.chiringuito.service.reporting;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes export rows, in order id order, to an output stream as they are read.
+ * {@link #close()} flushes the format's trailing output but does not close the stream.
+ */
+public interface OrderExportWriter extends Closeable {
+
+    void write(OrderExportRow row) throws IOException;
+}
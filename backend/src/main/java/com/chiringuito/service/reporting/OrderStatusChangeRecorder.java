@@ -0,0 +1,29 @@
+package com.chiringuito.service.reporting;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatusChange;
+import com.chiringuito.domain.repository.OrderStatusChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Appends order status transitions to the change stream consumed by {@link SalesRollupUpdater}.
+ * Must be called inside the transaction that changes the status, so the change is recorded
+ * if and only if the transition commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderStatusChangeRecorder {
+
+    private final OrderStatusChangeRepository orderStatusChangeRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Order order) {
+        orderStatusChangeRepository.save(OrderStatusChange.builder()
+                .orderId(order.getId())
+                .status(order.getStatus())
+                .build());
+    }
+}
@@ -0,0 +1,133 @@
+package com.chiringuito.service.reporting;
+
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.entity.OrderStatusChange;
+import com.chiringuito.domain.entity.SalesHourlyRollup;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderStatusChangeRepository;
+import com.chiringuito.domain.repository.SalesHourlyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Folds the order status change stream into {@code sales_hourly_rollups} in batches.
+ * Each batch reads the pending changes, loads the lines of the affected orders in one
+ * query, adds the deltas to the touched rollup rows and deletes the consumed changes,
+ * all in a single transaction.
+ */
+@Slf4j
+@Component
+public class SalesRollupUpdater {
+
+    static final OrderStatus PAID_STATUS = OrderStatus.PREPARING;
+    static final OrderStatus PICKED_UP_STATUS = OrderStatus.PICKED_UP;
+
+    private final OrderStatusChangeRepository orderStatusChangeRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final SalesHourlyRollupRepository salesHourlyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SalesRollupUpdater(OrderStatusChangeRepository orderStatusChangeRepository,
+                              OrderLineRepository orderLineRepository,
+                              SalesHourlyRollupRepository salesHourlyRollupRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${chiringuito.reporting.rollup-batch-size:500}") int batchSize) {
+        this.orderStatusChangeRepository = orderStatusChangeRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.salesHourlyRollupRepository = salesHourlyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Applies pending changes until the stream is drained. Returns the number of changes consumed.
+     */
+    @Scheduled(fixedDelayString = "${chiringuito.reporting.rollup-interval-ms:30000}")
+    public int applyPendingChanges() {
+        int total = 0;
+        int applied;
+        do {
+            applied = transactionTemplate.execute(status -> applyBatch());
+            total += applied;
+        } while (applied == batchSize);
+
+        if (total > 0) {
+            log.debug("Applied {} order status changes to sales rollups", total);
+        }
+        return total;
+    }
+
+    private int applyBatch() {
+        List<OrderStatusChange> changes = orderStatusChangeRepository.findOldestForUpdate(Limit.of(batchSize));
+        if (changes.isEmpty()) {
+            return 0;
+        }
+
+        Set<UUID> orderIds = changes.stream().map(OrderStatusChange::getOrderId).collect(Collectors.toSet());
+        Map<UUID, List<OrderLine>> linesByOrder = orderLineRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderLine::getOrderId));
+
+        Map<SalesHourlyRollup.Key, Delta> deltas = new HashMap<>();
+        for (OrderStatusChange change : changes) {
+            boolean paid = change.getStatus() == PAID_STATUS;
+            boolean pickedUp = change.getStatus() == PICKED_UP_STATUS;
+            if (!paid && !pickedUp) {
+                continue;
+            }
+            var bucketStart = change.getChangedAt().truncatedTo(ChronoUnit.HOURS);
+            for (OrderLine line : linesByOrder.getOrDefault(change.getOrderId(), List.of())) {
+                Delta delta = deltas.computeIfAbsent(
+                        new SalesHourlyRollup.Key(bucketStart, line.getMenuItemId()), key -> new Delta());
+                if (paid) {
+                    delta.unitsSold += line.getQuantity();
+                    delta.revenue = delta.revenue.add(line.getLineTotal());
+                    delta.orderCount++;
+                } else {
+                    delta.unitsPickedUp += line.getQuantity();
+                }
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            Map<SalesHourlyRollup.Key, SalesHourlyRollup> rollups = salesHourlyRollupRepository
+                    .findAllById(deltas.keySet()).stream()
+                    .collect(Collectors.toMap(
+                            rollup -> new SalesHourlyRollup.Key(rollup.getBucketStart(), rollup.getMenuItemId()),
+                            Function.identity()));
+
+            List<SalesHourlyRollup> updated = new ArrayList<>(deltas.size());
+            deltas.forEach((key, delta) -> {
+                SalesHourlyRollup rollup = rollups.getOrDefault(key, SalesHourlyRollup.empty(key));
+                rollup.setUnitsSold(rollup.getUnitsSold() + delta.unitsSold);
+                rollup.setRevenue(rollup.getRevenue().add(delta.revenue));
+                rollup.setOrderCount(rollup.getOrderCount() + delta.orderCount);
+                rollup.setUnitsPickedUp(rollup.getUnitsPickedUp() + delta.unitsPickedUp);
+                updated.add(rollup);
+            });
+            salesHourlyRollupRepository.saveAll(updated);
+        }
+
+        orderStatusChangeRepository.deleteAllInBatch(changes);
+        return changes.size();
+    }
+
+    private static final class Delta {
+        private long unitsSold;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long orderCount;
+        private long unitsPickedUp;
+    }
+}
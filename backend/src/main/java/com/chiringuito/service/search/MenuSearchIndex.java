@@ -0,0 +1,189 @@
+package com.chiringuito.service.search;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.invalidation.CacheRegion;
+import com.chiringuito.service.invalidation.InvalidationBus;
+import com.chiringuito.service.invalidation.InvalidationMessage;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over menu item names and descriptions.
+ * Terms are folded to lower case without accents, so "jamon" finds "Jamón Ibérico",
+ * and every query term is matched as a prefix of an indexed term.
+ * Reads are lock-free; writes are serialized and applied one item at a time.
+ * <p>
+ * Changes made on other nodes arrive through the {@link InvalidationBus}: the item is reloaded
+ * unless the index already holds that version. An item is never replaced by an older version.
+ * A bulk menu import rebuilds the whole index instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final MenuItemRepository menuItemRepository;
+    private final InvalidationBus invalidationBus;
+
+    private final ConcurrentSkipListMap<String, Set<UUID>> postings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, IndexedItem> items = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        invalidationBus.subscribe(CacheRegion.MENU_ITEM, this::onInvalidation);
+        invalidationBus.subscribe(CacheRegion.MENU, message -> rebuild());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        postings.clear();
+        items.clear();
+        List<MenuItem> menuItems = menuItemRepository.findAll();
+        menuItems.forEach(this::index);
+        log.info("Menu search index built with {} items and {} terms", items.size(), postings.size());
+    }
+
+    public synchronized void upsert(MenuItem menuItem) {
+        IndexedItem current = items.get(menuItem.getId());
+        if (current != null && current.version() > version(menuItem)) {
+            return;
+        }
+        remove(menuItem.getId());
+        index(menuItem);
+    }
+
+    void onInvalidation(InvalidationMessage message) {
+        IndexedItem current = items.get(message.key());
+        if (current != null && current.version() >= message.version()) {
+            return;
+        }
+        menuItemRepository.findById(message.key())
+                .ifPresentOrElse(this::upsert, () -> remove(message.key()));
+    }
+
+    public synchronized void remove(UUID menuItemId) {
+        IndexedItem previous = items.remove(menuItemId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                ids.remove(menuItemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Returns available items whose text matches every query term (as a prefix) and whose
+     * price does not exceed {@code maxPrice}. A blank query matches every available item.
+     */
+    public List<MenuItemDTO> search(String query, BigDecimal maxPrice) {
+        List<String> queryTerms = terms(query);
+        Collection<UUID> candidates = queryTerms.isEmpty() ? items.keySet() : matchAll(queryTerms);
+
+        List<MenuItemDTO> results = new ArrayList<>();
+        for (UUID id : candidates) {
+            IndexedItem item = items.get(id);
+            if (item == null || !Boolean.TRUE.equals(item.dto().available())) {
+                continue;
+            }
+            if (maxPrice != null && item.dto().price().compareTo(maxPrice) > 0) {
+                continue;
+            }
+            results.add(item.dto());
+        }
+        results.sort(Comparator.comparing(MenuItemDTO::name));
+        return results;
+    }
+
+    public Optional<MenuItemDTO> find(UUID menuItemId) {
+        IndexedItem item = items.get(menuItemId);
+        return item == null ? Optional.empty() : Optional.of(item.dto());
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TERM_SEPARATOR.split(normalize(text)))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private Set<UUID> matchAll(List<String> queryTerms) {
+        Set<UUID> result = null;
+        for (String term : queryTerms) {
+            Set<UUID> matches = matchPrefix(term);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private Set<UUID> matchPrefix(String prefix) {
+        ConcurrentNavigableMap<String, Set<UUID>> range =
+                postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        Set<UUID> matches = new HashSet<>();
+        range.values().forEach(matches::addAll);
+        return matches;
+    }
+
+    private void index(MenuItem menuItem) {
+        Set<String> itemTerms = new HashSet<>(terms(menuItem.getName()));
+        itemTerms.addAll(terms(menuItem.getDescription()));
+        for (String term : itemTerms) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(menuItem.getId());
+        }
+        items.put(menuItem.getId(), new IndexedItem(toDTO(menuItem), itemTerms, version(menuItem)));
+    }
+
+    private MenuItemDTO toDTO(MenuItem menuItem) {
+        return new MenuItemDTO(
+                menuItem.getId(),
+                menuItem.getName(),
+                menuItem.getDescription(),
+                menuItem.getPrice(),
+                menuItem.getImageUrl(),
+                menuItem.getAvailable());
+    }
+
+    private static long version(MenuItem menuItem) {
+        return menuItem.getVersion() != null ? menuItem.getVersion() : 0;
+    }
+
+    private record IndexedItem(MenuItemDTO dto, Set<String> terms, long version) {}
+}
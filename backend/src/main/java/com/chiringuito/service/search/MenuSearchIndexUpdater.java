@@ -0,0 +1,47 @@
+package com.chiringuito.service.search;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.service.invalidation.CacheRegion;
+import com.chiringuito.service.invalidation.InvalidationBus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+
+/**
+ * JPA entity listener that keeps {@link MenuSearchIndex} in step with menu item writes.
+ * Changes are applied after the surrounding transaction commits so rolled-back edits
+ * never reach the index, and then published on the {@link InvalidationBus} for the other nodes.
+ */
+public class MenuSearchIndexUpdater {
+
+    private final ObjectProvider<MenuSearchIndex> menuSearchIndex;
+    private final ObjectProvider<InvalidationBus> invalidationBus;
+
+    public MenuSearchIndexUpdater(ObjectProvider<MenuSearchIndex> menuSearchIndex,
+                                  ObjectProvider<InvalidationBus> invalidationBus) {
+        this.menuSearchIndex = menuSearchIndex;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(MenuItem menuItem) {
+        long version = menuItem.getVersion();
+        afterCommit(() -> {
+            menuSearchIndex.ifAvailable(index -> index.upsert(menuItem));
+            invalidationBus.ifAvailable(bus -> bus.publish(CacheRegion.MENU_ITEM, menuItem.getId(), version));
+        });
+    }
+
+    // A removal outranks every version the item ever had
+    @PostRemove
+    public void onRemoved(MenuItem menuItem) {
+        afterCommit(() -> {
+            menuSearchIndex.ifAvailable(index -> index.remove(menuItem.getId()));
+            invalidationBus.ifAvailable(bus -> bus.publish(CacheRegion.MENU_ITEM, menuItem.getId(), Long.MAX_VALUE));
+        });
+    }
+}
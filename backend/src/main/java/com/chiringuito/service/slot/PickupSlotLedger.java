@@ -0,0 +1,257 @@
+package com.chiringuito.service.slot;
+
+import com.chiringuito.service.dto.PickupSlotDTO;
+import com.chiringuito.service.exception.PickupSlotExpiredException;
+import com.chiringuito.service.exception.PickupSlotFullException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+import static com.chiringuito.service.support.TransactionCallbacks.afterRollback;
+
+/**
+ * Kitchen capacity, in items, of the pickup slots customers can pre-order for.
+ * <p>
+ * Slots are {@code chiringuito.slots.length} long, aligned to midnight, and open for claims
+ * from the next slot start up to {@code chiringuito.slots.horizon} ahead. A cart that chooses a
+ * slot claims one unit per item in it, and later changes to the cart claim or release the
+ * difference. Counters live in memory and are updated with compare-and-set, so the rush for the
+ * same few slots never waits on a lock or the database; like {@link com.chiringuito.service.stock.StockLedger}
+ * each counter packs the capacity left and its change not yet written to the database into one
+ * {@code long}.
+ * <p>
+ * Every flush (periodically and on shutdown) adds the pending claims to {@code pickup_slots},
+ * opens rows for slots entering the horizon with the configured capacity, picks up changes made
+ * there by other nodes or by hand, and forgets slots that have started. With several nodes a
+ * slot can be overbooked by what the other nodes claimed within one flush interval.
+ */
+@Slf4j
+@Component
+public class PickupSlotLedger {
+
+    private static final DateTimeFormatter SLOT_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration length;
+    private final Duration horizon;
+    private final int capacity;
+    private final Map<LocalDateTime, Slot> slots = new ConcurrentHashMap<>();
+
+    public PickupSlotLedger(JdbcTemplate jdbcTemplate,
+                            @Value("${chiringuito.slots.length:PT15M}") Duration length,
+                            @Value("${chiringuito.slots.horizon:PT4H}") Duration horizon,
+                            @Value("${chiringuito.slots.capacity-items:40}") int capacity) {
+        if (length.isZero() || length.isNegative() || Duration.ofDays(1).toSeconds() % length.toSeconds() != 0) {
+            throw new IllegalArgumentException("Pickup slot length must divide a day: " + length);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.length = length;
+        this.horizon = horizon;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Claims capacity for {@code items} in the slot starting at {@code slotStart}. Undone
+     * automatically if the surrounding transaction rolls back.
+     *
+     * @throws PickupSlotExpiredException if the slot has already started, such as the slot a cart
+     *                                     chose earlier
+     * @throws IllegalArgumentException    if no open slot starts at {@code slotStart}
+     * @throws PickupSlotFullException     if the slot has less capacity left
+     */
+    public void claim(LocalDateTime slotStart, int items) {
+        if (!slotStart.isAfter(LocalDateTime.now())) {
+            throw new PickupSlotExpiredException("The " + SLOT_TIME.format(slotStart)
+                    + " pickup slot has already started, please choose another one");
+        }
+        Slot slot = slots.get(slotStart);
+        if (slot == null) {
+            throw new IllegalArgumentException("Not an open pickup slot: " + slotStart);
+        }
+        if (items <= 0) {
+            return;
+        }
+        int left = slot.tryTake(items);
+        if (left >= 0) {
+            String time = SLOT_TIME.format(slotStart);
+            throw new PickupSlotFullException(left == 0
+                    ? "The " + time + " pickup slot is full"
+                    : "Only " + left + " items left in the " + time + " pickup slot");
+        }
+        afterRollback(() -> slot.put(items));
+    }
+
+    /**
+     * Gives capacity claimed for {@code items} back to the slot once the surrounding transaction
+     * commits. Slots that have already started are ignored.
+     */
+    public void release(LocalDateTime slotStart, int items) {
+        Slot slot = slotStart == null ? null : slots.get(slotStart);
+        if (slot != null && items > 0) {
+            afterCommit(() -> slot.put(items));
+        }
+    }
+
+    /**
+     * The slots open for claims in start order, with their live remaining capacity. Answered
+     * from memory.
+     */
+    public List<PickupSlotDTO> openSlots() {
+        LocalDateTime now = LocalDateTime.now();
+        return slots.entrySet().stream()
+                .filter(entry -> entry.getKey().isAfter(now))
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> new PickupSlotDTO(entry.getKey(), entry.getKey().plus(length),
+                        entry.getValue().capacity, Math.max(remaining(entry.getValue().state.get()), 0)))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        flush();
+        log.info("{} pickup slots open", slots.size());
+    }
+
+    /**
+     * Writes pending claims to {@code pickup_slots}, opens slots entering the horizon, merges
+     * changes made there elsewhere and drops slots that have started. Returns the number of
+     * slots open.
+     */
+    @Scheduled(fixedDelayString = "${chiringuito.slots.flush-interval-ms:1000}", initialDelayString = "${chiringuito.slots.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized int flush() {
+        List<Object[]> updates = new ArrayList<>();
+        Map<LocalDateTime, Long> flushed = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        slots.forEach((start, slot) -> {
+            long captured = slot.drain();
+            if (pending(captured) != 0) {
+                updates.add(new Object[]{-pending(captured), now, Timestamp.valueOf(start)});
+            }
+            flushed.put(start, captured);
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("update pickup_slots set claimed = claimed + ?, updated_at = ? where slot_start = ?", updates);
+        }
+
+        LocalDateTime first = nextSlotStart(LocalDateTime.now());
+        LocalDateTime last = LocalDateTime.now().plus(horizon);
+        openRows(first, last);
+
+        Set<LocalDateTime> open = new HashSet<>();
+        jdbcTemplate.query("select slot_start, capacity, claimed from pickup_slots where slot_start between ? and ?", rs -> {
+            LocalDateTime start = rs.getTimestamp("slot_start").toLocalDateTime();
+            open.add(start);
+            int stored = rs.getInt("capacity") - rs.getInt("claimed");
+            Slot slot = slots.computeIfAbsent(start, key -> new Slot(stored));
+            slot.capacity = rs.getInt("capacity");
+            Long captured = flushed.get(start);
+            if (captured != null) {
+                // Whatever the table holds beyond what this node knew was changed elsewhere
+                slot.adjust(stored - remaining(captured));
+            }
+        }, Timestamp.valueOf(first), Timestamp.valueOf(last));
+        // Started slots take no more claims
+        slots.keySet().retainAll(open);
+        return slots.size();
+    }
+
+    private void openRows(LocalDateTime first, LocalDateTime last) {
+        Set<LocalDateTime> existing = new HashSet<>();
+        jdbcTemplate.queryForList("select slot_start from pickup_slots where slot_start between ? and ?",
+                        Timestamp.class, Timestamp.valueOf(first), Timestamp.valueOf(last))
+                .forEach(start -> existing.add(start.toLocalDateTime()));
+        for (LocalDateTime start = first; !start.isAfter(last); start = start.plus(length)) {
+            if (existing.contains(start)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update("insert into pickup_slots (slot_start, capacity) values (?, ?)",
+                        Timestamp.valueOf(start), capacity);
+            } catch (DuplicateKeyException openedByAnotherNode) {
+                // Same row, same capacity
+            }
+        }
+    }
+
+    // First slot boundary strictly after the given time
+    LocalDateTime nextSlotStart(LocalDateTime time) {
+        long seconds = time.toLocalTime().toSecondOfDay();
+        long slotSeconds = length.toSeconds();
+        return time.toLocalDate().atStartOfDay().plusSeconds((seconds / slotSeconds + 1) * slotSeconds);
+    }
+
+    private static long pack(int remaining, int pending) {
+        return ((long) remaining << 32) | (pending & 0xFFFFFFFFL);
+    }
+
+    private static int remaining(long state) {
+        return (int) (state >> 32);
+    }
+
+    private static int pending(long state) {
+        return (int) state;
+    }
+
+    private static final class Slot {
+
+        // Capacity left (high 32 bits) and its change since the last flush (low 32 bits)
+        final AtomicLong state;
+        volatile int capacity;
+
+        Slot(int remaining) {
+            state = new AtomicLong(pack(remaining, 0));
+        }
+
+        // Returns -1 when taken, otherwise the capacity left
+        int tryTake(int items) {
+            while (true) {
+                long current = state.get();
+                int left = remaining(current);
+                if (left < items) {
+                    return Math.max(left, 0);
+                }
+                if (state.compareAndSet(current, pack(left - items, pending(current) - items))) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(int items) {
+            state.getAndUpdate(current -> pack(remaining(current) + items, pending(current) + items));
+        }
+
+        // Applies a change already in the table, so it is not pending
+        void adjust(int items) {
+            if (items != 0) {
+                state.getAndUpdate(current -> pack(remaining(current) + items, pending(current)));
+            }
+        }
+
+        // Clears the pending change and returns the state it was cleared from
+        long drain() {
+            return state.getAndUpdate(current -> pack(remaining(current), 0));
+        }
+    }
+}
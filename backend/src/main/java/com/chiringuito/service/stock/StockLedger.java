@@ -0,0 +1,236 @@
+package com.chiringuito.service.stock;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.service.exception.MenuItemUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.chiringuito.service.support.TransactionCallbacks.afterCommit;
+import static com.chiringuito.service.support.TransactionCallbacks.afterRollback;
+
+/**
+ * Per-item stock for items with a {@code menu_item_stock} row; items without one are unlimited.
+ * <p>
+ * Adding to a cart reserves units, taking them out of {@code remaining}; removing them or
+ * expiring the cart releases them, and checkout turns the reservation into a sale. Counters
+ * live in memory and are updated with compare-and-set, so concurrent orders never lock the
+ * stock row. Each counter packs the units remaining and the change not yet written to the
+ * database into one {@code long}, so a flush captures both consistently.
+ * <p>
+ * Every flush (periodically and on shutdown) adds the pending changes to the table, picks up
+ * changes made there by other nodes or by hand (restocking is a plain {@code UPDATE} of
+ * {@code remaining}), and flips {@code menu_items.available} off when an item runs out and back
+ * on when it is restocked. Availability flipped by hand is left alone. With several nodes each
+ * one sells from its own view until the next flush, so an item can oversell by what the other
+ * nodes sold within one flush interval.
+ */
+@Slf4j
+@Component
+public class StockLedger {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<UUID, ItemStock> stock = new ConcurrentHashMap<>();
+
+    public StockLedger(JdbcTemplate jdbcTemplate, MenuItemRepository menuItemRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.menuItemRepository = menuItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Takes {@code quantity} units of the item out of stock for a cart. Undone automatically if
+     * the surrounding transaction rolls back.
+     *
+     * @throws MenuItemUnavailableException if fewer units remain
+     */
+    public void reserve(MenuItem menuItem, int quantity) {
+        ItemStock item = stock.get(menuItem.getId());
+        if (item == null || quantity <= 0) {
+            return;
+        }
+        int left = item.tryTake(quantity);
+        if (left >= 0) {
+            throw new MenuItemUnavailableException(left == 0
+                    ? "Menu item is sold out: " + menuItem.getName()
+                    : "Only " + left + " left of " + menuItem.getName());
+        }
+        afterRollback(() -> item.put(quantity));
+    }
+
+    /**
+     * Returns units reserved by a cart to stock once the surrounding transaction commits.
+     */
+    public void release(UUID menuItemId, int quantity) {
+        ItemStock item = stock.get(menuItemId);
+        if (item != null && quantity > 0) {
+            afterCommit(() -> item.put(quantity));
+        }
+    }
+
+    /**
+     * Records reserved units as sold once the surrounding transaction commits.
+     */
+    public void sell(UUID menuItemId, int quantity) {
+        ItemStock item = stock.get(menuItemId);
+        if (item != null && quantity > 0) {
+            afterCommit(() -> item.pendingSold.addAndGet(quantity));
+        }
+    }
+
+    /**
+     * Units of the item left to reserve, or -1 if its stock is not tracked.
+     */
+    public int remaining(UUID menuItemId) {
+        ItemStock item = stock.get(menuItemId);
+        return item == null ? -1 : remaining(item.state.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        flush();
+        log.info("Stock tracked for {} menu items", stock.size());
+    }
+
+    /**
+     * Writes pending changes to {@code menu_item_stock}, merges changes made there elsewhere and
+     * updates availability. Returns the number of items whose availability flipped.
+     */
+    @Scheduled(fixedDelayString = "${chiringuito.stock.flush-interval-ms:1000}", initialDelayString = "${chiringuito.stock.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized int flush() {
+        List<Object[]> updates = new ArrayList<>();
+        Map<UUID, Long> flushed = new HashMap<>();
+        stock.forEach((id, item) -> {
+            long captured = item.drain();
+            int sold = item.pendingSold.getAndSet(0);
+            int remainingChange = pending(captured);
+            if (remainingChange != 0 || sold != 0) {
+                updates.add(new Object[]{remainingChange, -remainingChange - sold, Timestamp.valueOf(LocalDateTime.now()), id});
+            }
+            flushed.put(id, captured);
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    update menu_item_stock set remaining = remaining + ?, reserved = reserved + ?, updated_at = ?
+                    where menu_item_id = ?""", updates);
+        }
+
+        List<UUID> soldOut = new ArrayList<>();
+        List<UUID> restocked = new ArrayList<>();
+        Set<UUID> tracked = new HashSet<>();
+        jdbcTemplate.query("select menu_item_id, remaining, sold_out from menu_item_stock", rs -> {
+            UUID id = rs.getObject("menu_item_id", UUID.class);
+            tracked.add(id);
+            int stored = rs.getInt("remaining");
+            ItemStock item = stock.computeIfAbsent(id, key -> new ItemStock(stored));
+            Long captured = flushed.get(id);
+            if (captured != null) {
+                // Whatever the table holds beyond what this node knew was changed elsewhere
+                item.adjust(stored - remaining(captured));
+            }
+            int now = remaining(item.state.get());
+            boolean flaggedSoldOut = rs.getBoolean("sold_out");
+            if (now <= 0 && !flaggedSoldOut) {
+                soldOut.add(id);
+            } else if (now > 0 && flaggedSoldOut) {
+                restocked.add(id);
+            }
+        });
+        // Deleting the row stops tracking the item
+        stock.keySet().retainAll(tracked);
+        soldOut.forEach(id -> setAvailable(id, false));
+        restocked.forEach(id -> setAvailable(id, true));
+        return soldOut.size() + restocked.size();
+    }
+
+    // Through JPA so the change reaches the search index and the other nodes' caches
+    private void setAvailable(UUID menuItemId, boolean available) {
+        transactionTemplate.executeWithoutResult(status -> {
+            menuItemRepository.findById(menuItemId).ifPresent(menuItem -> {
+                if (menuItem.getAvailable() != available) {
+                    menuItem.setAvailable(available);
+                    menuItemRepository.save(menuItem);
+                }
+            });
+            jdbcTemplate.update("update menu_item_stock set sold_out = ? where menu_item_id = ?", !available, menuItemId);
+        });
+        log.info("Menu item {} {} by stock", menuItemId, available ? "restocked" : "sold out");
+    }
+
+    private static long pack(int remaining, int pending) {
+        return ((long) remaining << 32) | (pending & 0xFFFFFFFFL);
+    }
+
+    private static int remaining(long state) {
+        return (int) (state >> 32);
+    }
+
+    private static int pending(long state) {
+        return (int) state;
+    }
+
+    private static final class ItemStock {
+
+        // Units remaining (high 32 bits) and their change since the last flush (low 32 bits)
+        final AtomicLong state;
+        final AtomicInteger pendingSold = new AtomicInteger();
+
+        ItemStock(int remaining) {
+            state = new AtomicLong(pack(remaining, 0));
+        }
+
+        // Returns -1 when taken, otherwise the units left
+        int tryTake(int quantity) {
+            while (true) {
+                long current = state.get();
+                int left = remaining(current);
+                if (left < quantity) {
+                    return Math.max(left, 0);
+                }
+                if (state.compareAndSet(current, pack(left - quantity, pending(current) - quantity))) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(int quantity) {
+            state.getAndUpdate(current -> pack(remaining(current) + quantity, pending(current) + quantity));
+        }
+
+        // Applies a change already in the table, so it is not pending
+        void adjust(int quantity) {
+            if (quantity != 0) {
+                state.getAndUpdate(current -> pack(remaining(current) + quantity, pending(current)));
+            }
+        }
+
+        // Clears the pending change and returns the state it was cleared from
+        long drain() {
+            return state.getAndUpdate(current -> pack(remaining(current), 0));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.chiringuito.startup;
+
+import com.chiringuito.service.dto.MenuItemDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Training workload for the JVM AOT cache ({@code ./mvnw -Paot-cache package}).
+ * <p>
+ * Runs only under the {@code training} profile: once the server is up it drives the menu
+ * and cart endpoints over HTTP for a fixed number of rounds, so the classes loaded and
+ * linked for real traffic (Tomcat, Spring MVC, Jackson, Hibernate, H2) are recorded, and
+ * then shuts the JVM down so the recording is written.
+ */
+@Slf4j
+@Component
+@Profile("training")
+@RequiredArgsConstructor
+public class TrainingRun implements ApplicationRunner {
+
+    private final ConfigurableApplicationContext context;
+
+    @Value("${chiringuito.training.rounds:200}")
+    private int rounds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        // Resolved at run time: the random port is only known once the server has started
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + port + "/api")
+                .build();
+
+        List<MenuItemDTO> menu = client.get().uri("/menu")
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {});
+        if (menu == null || menu.isEmpty()) {
+            throw new IllegalStateException("Training run needs a non-empty menu");
+        }
+
+        for (int round = 0; round < rounds; round++) {
+            MenuItemDTO item = menu.get(round % menu.size());
+            client.get().uri("/menu").retrieve().toBodilessEntity();
+            client.get().uri("/menu/search?q={q}", item.name().substring(0, 3)).retrieve().toBodilessEntity();
+            client.get().uri("/menu/popular").retrieve().toBodilessEntity();
+
+            ResponseEntity<Void> added = client.post().uri("/order/add-item")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("menuItemId", item.id(), "quantity", 2))
+                    .retrieve()
+                    .toBodilessEntity();
+            String session = added.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+            String cookie = session == null ? "" : session.split(";", 2)[0];
+
+            client.put().uri("/order/update-quantity")
+                    .header(HttpHeaders.COOKIE, cookie)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("menuItemId", item.id(), "quantity", 1))
+                    .retrieve()
+                    .toBodilessEntity();
+            client.get().uri("/order/cart")
+                    .header(HttpHeaders.COOKIE, cookie)
+                    .accept(round % 2 == 0 ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_CBOR)
+                    .retrieve()
+                    .toBodilessEntity();
+            client.delete().uri("/order/remove-item/{id}", item.id())
+                    .header(HttpHeaders.COOKIE, cookie)
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+
+        log.info("Training run finished {} rounds in {} ms, shutting down",
+                rounds, (System.nanoTime() - started) / 1_000_000);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
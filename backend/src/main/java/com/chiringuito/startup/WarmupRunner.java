@@ -0,0 +1,224 @@
+package com.chiringuito.startup;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.service.action.*;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Warms the JIT, Hibernate's query plan cache, Jackson and the connection pool before the
+ * application reports itself ready: Spring Boot publishes the readiness state
+ * {@code ACCEPTING_TRAFFIC} only after all application runners have returned.
+ * <p>
+ * Worker threads (one connection each) repeat a synthetic menu and cart flow through the
+ * real actions, each flow inside a transaction that is always rolled back, in rounds.
+ * Warmup ends once round throughput has changed by less than the tolerance for a few
+ * consecutive rounds, or when the time budget is spent. The outcome is logged and exposed
+ * as {@code chiringuito.warmup.*} metrics.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "chiringuito.warmup", name = "enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final int STABLE_ROUNDS = 3;
+
+    private final BrowseMenuAction browseMenuAction;
+    private final AddItemToOrderAction addItemToOrderAction;
+    private final UpdateItemQuantityAction updateItemQuantityAction;
+    private final GetCartAction getCartAction;
+    private final RemoveItemFromOrderAction removeItemFromOrderAction;
+    private final MenuItemRepository menuItemRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration budget;
+    private final int threads;
+    private final int iterationsPerRound;
+    private final double tolerance;
+    private volatile WarmupReport report;
+
+    public WarmupRunner(BrowseMenuAction browseMenuAction,
+                        AddItemToOrderAction addItemToOrderAction,
+                        UpdateItemQuantityAction updateItemQuantityAction,
+                        GetCartAction getCartAction,
+                        RemoveItemFromOrderAction removeItemFromOrderAction,
+                        MenuItemRepository menuItemRepository,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${chiringuito.warmup.budget:PT30S}") Duration budget,
+                        @Value("${chiringuito.warmup.threads:4}") int threads,
+                        @Value("${chiringuito.warmup.iterations-per-round:50}") int iterationsPerRound,
+                        @Value("${chiringuito.warmup.tolerance:0.05}") double tolerance) {
+        this.browseMenuAction = browseMenuAction;
+        this.addItemToOrderAction = addItemToOrderAction;
+        this.updateItemQuantityAction = updateItemQuantityAction;
+        this.getCartAction = getCartAction;
+        this.removeItemFromOrderAction = removeItemFromOrderAction;
+        this.menuItemRepository = menuItemRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.threads = threads;
+        this.iterationsPerRound = iterationsPerRound;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<UUID> menuItemIds = menuItemRepository.findByAvailableTrueOrderByNameAsc().stream()
+                .map(MenuItem::getId)
+                .toList();
+        if (menuItemIds.isEmpty()) {
+            log.warn("Skipping warmup: no available menu items");
+            return;
+        }
+
+        long started = System.nanoTime();
+        long deadline = started + budget.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int rounds = 0;
+            int stableRounds = 0;
+            double previousThroughput = 0;
+            RoundResult last;
+            do {
+                last = runRound(workers, menuItemIds);
+                rounds++;
+                double change = previousThroughput == 0
+                        ? Double.MAX_VALUE
+                        : Math.abs(last.throughput() - previousThroughput) / previousThroughput;
+                stableRounds = change < tolerance ? stableRounds + 1 : 0;
+                previousThroughput = last.throughput();
+            } while (stableRounds < STABLE_ROUNDS && System.nanoTime() < deadline);
+
+            report = new WarmupReport(Duration.ofNanos(System.nanoTime() - started), rounds,
+                    stableRounds >= STABLE_ROUNDS, last.throughput(), last.percentile(0.5), last.percentile(0.99));
+        } finally {
+            workers.shutdownNow();
+        }
+
+        registerMetrics(report);
+        log.info("Warmup {} after {} ms and {} rounds: {} flows/s, steady-state flow latency p50 {} ms, p99 {} ms",
+                report.stable() ? "stabilized" : "hit its time budget",
+                report.elapsed().toMillis(), report.rounds(), Math.round(report.throughput()),
+                String.format("%.2f", report.p50().toNanos() / 1e6), String.format("%.2f", report.p99().toNanos() / 1e6));
+    }
+
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    private RoundResult runRound(ExecutorService workers, List<UUID> menuItemIds) throws Exception {
+        long roundStart = System.nanoTime();
+        List<Future<long[]>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[iterationsPerRound];
+                for (int i = 0; i < iterationsPerRound; i++) {
+                    UUID menuItemId = menuItemIds.get((offset + i) % menuItemIds.size());
+                    long flowStart = System.nanoTime();
+                    runFlow(menuItemId);
+                    latencies[i] = System.nanoTime() - flowStart;
+                }
+                return latencies;
+            }));
+        }
+        long[] all = new long[threads * iterationsPerRound];
+        for (int t = 0; t < threads; t++) {
+            try {
+                System.arraycopy(futures.get(t).get(), 0, all, t * iterationsPerRound, iterationsPerRound);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Warmup flow failed", e.getCause());
+            }
+        }
+        double seconds = (System.nanoTime() - roundStart) / 1e9;
+        Arrays.sort(all);
+        return new RoundResult(all.length / seconds, all);
+    }
+
+    private void runFlow(UUID menuItemId) throws Exception {
+        List<MenuItemDTO> menu = browseMenuAction.execute();
+        objectMapper.writeValueAsBytes(menu);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Nothing written by the synthetic cart may ever be committed
+            status.setRollbackOnly();
+            WarmupSession session = new WarmupSession();
+            try {
+                objectMapper.writeValueAsBytes(addItemToOrderAction.execute(
+                        AddItemRequest.builder().menuItemId(menuItemId).quantity(2).build(), session));
+                objectMapper.writeValueAsBytes(updateItemQuantityAction.execute(
+                        new UpdateQuantityRequest(menuItemId, 1), session));
+                objectMapper.writeValueAsBytes(getCartAction.execute(session));
+                removeItemFromOrderAction.execute(menuItemId, session);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void registerMetrics(WarmupReport report) {
+        TimeGauge.builder("chiringuito.warmup.duration", report, TimeUnit.NANOSECONDS, r -> r.elapsed().toNanos())
+                .description("Time spent warming up before accepting traffic")
+                .register(meterRegistry);
+        TimeGauge.builder("chiringuito.warmup.latency", report, TimeUnit.NANOSECONDS, r -> r.p50().toNanos())
+                .description("Steady-state latency of the synthetic flow at the end of warmup")
+                .tag("quantile", "0.5")
+                .register(meterRegistry);
+        TimeGauge.builder("chiringuito.warmup.latency", report, TimeUnit.NANOSECONDS, r -> r.p99().toNanos())
+                .description("Steady-state latency of the synthetic flow at the end of warmup")
+                .tag("quantile", "0.99")
+                .register(meterRegistry);
+        Gauge.builder("chiringuito.warmup.throughput", report, WarmupReport::throughput)
+                .description("Synthetic flows per second in the last warmup round")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Outcome of the warmup: how long it took, whether throughput stabilized within the budget,
+     * and throughput and latency percentiles of the final round.
+     */
+    public record WarmupReport(Duration elapsed, int rounds, boolean stable, double throughput,
+                               Duration p50, Duration p99) {}
+
+    private record RoundResult(double throughput, long[] sortedLatencies) {
+
+        Duration percentile(double quantile) {
+            int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+            return Duration.ofNanos(sortedLatencies[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.chiringuito.web.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global in-flight request limit adjusted from measured latency (AIMD): every request that
+ * completes within the target latency while the limit is in use grows the limit by about
+ * one per limit's worth of requests, and a slower request shrinks it by 10%.
+ * <p>
+ * The limit shrinks at most once per window: only a slow request admitted after the last
+ * decrease can shrink it again. A burst of slow requests that were all in flight together
+ * therefore counts as one congestion signal, not one per request.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastBackoffNanos = Long.MIN_VALUE;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the current limit are in use.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and adjusts the limit from the request's latency.
+     *
+     * @param startedNanos  {@link System#nanoTime()} when the request was admitted
+     * @param finishedNanos {@link System#nanoTime()} when it completed
+     */
+    public void release(long startedNanos, long finishedNanos) {
+        int wasInFlight = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (finishedNanos - startedNanos > targetLatencyNanos) {
+                if (startedNanos >= lastBackoffNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastBackoffNanos = finishedNanos;
+                }
+            } else if (wasInFlight * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
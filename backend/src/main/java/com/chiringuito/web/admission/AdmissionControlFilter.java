@@ -0,0 +1,158 @@
+package com.chiringuito.web.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the API controllers. Customer requests with a valid session
+ * first pass a per-session token bucket; every request then needs a slot under the adaptive
+ * global concurrency limit, within its {@link PriorityClass} share. Rejected requests get
+ * {@code 429 Too Many Requests} with a {@code Retry-After} header. Decisions are counted in
+ * {@code chiringuito.admission.decisions}, tagged by priority class and outcome.
+ * <p>
+ * A request that goes async, such as a streamed export, keeps its slot until the async
+ * processing ends, and its latency is measured up to then.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String RATE_LIMITED = "rate_limited";
+    private static final String SHED = "shed";
+    private static final String ADMITTED = "admitted";
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final SessionRateLimiter sessionRateLimiter;
+    private final Map<PriorityClass, Map<String, Counter>> decisions = new EnumMap<>(PriorityClass.class);
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimit concurrencyLimit,
+                                  SessionRateLimiter sessionRateLimiter,
+                                  MeterRegistry meterRegistry) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.sessionRateLimiter = sessionRateLimiter;
+        for (PriorityClass priority : PriorityClass.values()) {
+            decisions.put(priority, Map.of(
+                    ADMITTED, decisionCounter(meterRegistry, priority, ADMITTED),
+                    RATE_LIMITED, decisionCounter(meterRegistry, priority, RATE_LIMITED),
+                    SHED, decisionCounter(meterRegistry, priority, SHED)));
+        }
+        Gauge.builder("chiringuito.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("chiringuito.admission.in_flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Requests currently holding an admission slot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        PriorityClass priority = PriorityClass.of(request);
+
+        // The session the container recognizes, not the raw cookie: made-up session ids would
+        // otherwise each get a fresh bucket
+        HttpSession session = priority.sessionRateLimited() ? request.getSession(false) : null;
+        if (session != null) {
+            long waitNanos = sessionRateLimiter.tryAcquire(session.getId(), System.nanoTime());
+            if (waitNanos > 0) {
+                reject(response, priority, RATE_LIMITED, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+                return;
+            }
+        }
+
+        if (!concurrencyLimit.tryAcquire(priority.limitShare())) {
+            reject(response, priority, SHED, 1);
+            return;
+        }
+
+        decisions.get(priority).get(ADMITTED).increment();
+        long started = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseWhenAsyncEnds(started));
+            } else {
+                concurrencyLimit.release(started, System.nanoTime());
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, PriorityClass priority, String outcome,
+                        long retryAfterSeconds) throws IOException {
+        decisions.get(priority).get(outcome).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, please retry shortly\"}");
+    }
+
+    // The container may report an error or timeout and then completion; the slot goes back once
+    private final class ReleaseWhenAsyncEnds implements AsyncListener {
+
+        private final long started;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseWhenAsyncEnds(long started) {
+            this.started = started;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async restarted within the same request: the listener has to be added again
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimit.release(started, System.nanoTime());
+            }
+        }
+    }
+
+    private static Counter decisionCounter(MeterRegistry registry, PriorityClass priority, String outcome) {
+        return Counter.builder("chiringuito.admission.decisions")
+                .description("Admission control decisions")
+                .tag("class", priority.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
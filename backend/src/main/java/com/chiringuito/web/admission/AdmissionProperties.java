@@ -0,0 +1,27 @@
+package com.chiringuito.web.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link AdmissionControlFilter}.
+ *
+ * @param initialLimit              starting global concurrency limit
+ * @param minLimit                  floor the limit never decreases below
+ * @param maxLimit                  ceiling the limit never grows above
+ * @param targetLatency             requests slower than this shrink the limit
+ * @param sessionRequestsPerSecond  sustained request rate allowed per customer session
+ * @param sessionBurst              requests a session may issue in a burst
+ */
+@ConfigurationProperties(prefix = "chiringuito.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int initialLimit,
+        @DefaultValue("10") int minLimit,
+        @DefaultValue("500") int maxLimit,
+        @DefaultValue("250ms") Duration targetLatency,
+        @DefaultValue("5") double sessionRequestsPerSecond,
+        @DefaultValue("20") int sessionBurst) {
+}
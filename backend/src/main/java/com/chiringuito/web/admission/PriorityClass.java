@@ -0,0 +1,48 @@
+package com.chiringuito.web.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Admission priority of an API request, highest first. Each class may only use its share
+ * of the global concurrency limit, so when the limit tightens under load the lowest
+ * classes are shed first while staff and payment traffic keep getting through.
+ */
+public enum PriorityClass {
+
+    KITCHEN(1.0, false),
+    PAYMENT(0.9, false),
+    CART_MUTATION(0.75, true),
+    MENU_BROWSE(0.5, true);
+
+    private final double limitShare;
+    private final boolean sessionRateLimited;
+
+    PriorityClass(double limitShare, boolean sessionRateLimited) {
+        this.limitShare = limitShare;
+        this.sessionRateLimited = sessionRateLimited;
+    }
+
+    public double limitShare() {
+        return limitShare;
+    }
+
+    /** Customer-facing classes are also subject to the per-session token bucket. */
+    public boolean sessionRateLimited() {
+        return sessionRateLimited;
+    }
+
+    public static PriorityClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/kitchen") || path.startsWith("/api/waiter")
+                || path.startsWith("/api/staff") || path.startsWith("/api/reports")) {
+            return KITCHEN;
+        }
+        if (path.startsWith("/api/payment")) {
+            return PAYMENT;
+        }
+        if (path.startsWith("/api/order") && !"GET".equals(request.getMethod())) {
+            return CART_MUTATION;
+        }
+        return MENU_BROWSE;
+    }
+}
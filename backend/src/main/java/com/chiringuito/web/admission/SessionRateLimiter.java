@@ -0,0 +1,68 @@
+package com.chiringuito.web.admission;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket per customer session. Buckets idle for longer than a full refill are
+ * indistinguishable from new ones, so they are dropped periodically, off the request path.
+ */
+public class SessionRateLimiter {
+
+    private final double tokensPerNano;
+    private final int burst;
+    private final long fullRefillNanos;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public SessionRateLimiter(double requestsPerSecond, int burst) {
+        this.tokensPerNano = requestsPerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.fullRefillNanos = (long) (burst / tokensPerNano);
+    }
+
+    /**
+     * Takes a token for the session. Returns 0 when admitted, otherwise the number of
+     * nanoseconds until a token becomes available.
+     */
+    public long tryAcquire(String sessionId, long nowNanos) {
+        Bucket bucket = buckets.computeIfAbsent(sessionId, id -> new Bucket(burst, nowNanos));
+        synchronized (bucket) {
+            bucket.tokens = Math.min(burst, bucket.tokens + (nowNanos - bucket.updatedAt) * tokensPerNano);
+            bucket.updatedAt = nowNanos;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chiringuito.admission.session-evict-interval-ms:30000}")
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    void evictIdle(long nowNanos) {
+        buckets.values().removeIf(bucket -> {
+            synchronized (bucket) {
+                return nowNanos - bucket.updatedAt > fullRefillNanos;
+            }
+        });
+    }
+
+    int trackedSessions() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
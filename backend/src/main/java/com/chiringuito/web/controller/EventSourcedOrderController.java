@@ -0,0 +1,59 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.cart.EventSourcedCart;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+// Same API as OrderController, backed by the insert-only cart event log; errors are mapped
+// by OrderControllerAdvice
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "chiringuito.cart.storage", havingValue = "events")
+@RequestMapping("/api/order")
+@RequiredArgsConstructor
+public class EventSourcedOrderController {
+
+    private final EventSourcedCart eventSourcedCart;
+
+    @PostMapping("/add-item")
+    public ResponseEntity<OrderSummaryDTO> addItem(
+            @RequestBody @jakarta.validation.Valid AddItemRequest request,
+            HttpSession session) {
+        OrderSummaryDTO summary = eventSourcedCart.addItem(request, session);
+        return ResponseEntity.ok(summary);
+    }
+
+    @GetMapping("/cart")
+    public ResponseEntity<OrderSummaryDTO> getCart(HttpSession session) {
+        OrderSummaryDTO summary = eventSourcedCart.getCart(session);
+        if (summary == null) {
+            return ResponseEntity.ok().build(); // Empty cart - return 200 with no body
+        }
+        return ResponseEntity.ok(summary);
+    }
+
+    @DeleteMapping("/remove-item/{menuItemId}")
+    public ResponseEntity<Void> removeItem(
+            @PathVariable UUID menuItemId,
+            HttpSession session) {
+        eventSourcedCart.removeItem(menuItemId, session);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/update-quantity")
+    public ResponseEntity<OrderSummaryDTO> updateQuantity(
+            @RequestBody @jakarta.validation.Valid UpdateQuantityRequest request,
+            HttpSession session) {
+        OrderSummaryDTO summary = eventSourcedCart.updateQuantity(request, session);
+        return ResponseEntity.ok(summary);
+    }
+}
@@ -0,0 +1,49 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.MarkOrderReadyAction;
+import com.chiringuito.service.action.ViewKitchenQueueAction;
+import com.chiringuito.service.dto.KitchenOrderDTO;
+import com.chiringuito.service.dto.MarkReadyResultDTO;
+import com.chiringuito.service.exception.OrderNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/kitchen")
+@RequiredArgsConstructor
+public class KitchenController {
+
+    private final ViewKitchenQueueAction viewKitchenQueueAction;
+    private final MarkOrderReadyAction markOrderReadyAction;
+
+    @GetMapping("/orders")
+    public ResponseEntity<List<KitchenOrderDTO>> getQueue() {
+        return ResponseEntity.ok(viewKitchenQueueAction.execute());
+    }
+
+    @PostMapping("/mark-ready/{orderId}")
+    public ResponseEntity<MarkReadyResultDTO> markReady(@PathVariable UUID orderId) {
+        return ResponseEntity.ok(markOrderReadyAction.execute(orderId));
+    }
+
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleOrderNotFound(OrderNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalState(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+}
@@ -1,25 +1,55 @@
 package com.chiringuito.web.controller;
 
 import com.chiringuito.service.action.BrowseMenuAction;
+import com.chiringuito.service.action.SearchMenuAction;
+import com.chiringuito.service.action.ViewPopularItemsAction;
 import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.dto.PopularMenuItemDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/menu")
 @RequiredArgsConstructor
 public class MenuController {
 
     private final BrowseMenuAction browseMenuAction;
+    private final SearchMenuAction searchMenuAction;
+    private final ViewPopularItemsAction viewPopularItemsAction;
 
     @GetMapping
     public ResponseEntity<List<MenuItemDTO>> getMenu() {
         List<MenuItemDTO> menuItems = browseMenuAction.execute();
         return ResponseEntity.ok(menuItems);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MenuItemDTO>> searchMenu(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        List<MenuItemDTO> menuItems = searchMenuAction.execute(q, maxPrice);
+        return ResponseEntity.ok(menuItems);
+    }
+
+    @GetMapping("/popular")
+    public ResponseEntity<List<PopularMenuItemDTO>> getPopularItems(
+            @RequestParam(defaultValue = "5") int limit) {
+        List<PopularMenuItemDTO> popularItems = viewPopularItemsAction.execute(limit);
+        return ResponseEntity.ok(popularItems);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+}
@@ -0,0 +1,59 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.ImportMenuAction;
+import com.chiringuito.service.dto.MenuImportResultDTO;
+import com.chiringuito.service.exception.MenuImportException;
+import com.chiringuito.service.menu.MenuImportParser;
+import com.chiringuito.service.menu.MenuImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/staff/menu")
+@RequiredArgsConstructor
+public class MenuImportController {
+
+    private final ImportMenuAction importMenuAction;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Imports menu items from a CSV or JSON body. With {@code replace=true} the body is the whole
+     * menu and items missing from it are made unavailable.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<MenuImportResultDTO> importMenu(
+            @RequestParam(defaultValue = "false") boolean replace,
+            HttpServletRequest request) throws IOException {
+        List<MenuImportRow> rows = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? MenuImportParser.parseJson(request.getInputStream(), objectMapper)
+                : MenuImportParser.parseCsv(request.getInputStream());
+        return ResponseEntity.ok(importMenuAction.execute(rows, replace));
+    }
+
+    @ExceptionHandler(MenuImportException.class)
+    public ResponseEntity<ImportErrorResponse> handleMenuImport(MenuImportException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ImportErrorResponse(ex.getMessage(), ex.getErrors()));
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, JsonProcessingException.class})
+    public ResponseEntity<ErrorResponse> handleMalformed(Exception ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+
+    private record ImportErrorResponse(String message, List<String> errors) {}
+}
@@ -1,24 +1,29 @@
 package com.chiringuito.web.controller;
 
 import com.chiringuito.service.action.AddItemToOrderAction;
+import com.chiringuito.service.action.ChoosePickupSlotAction;
 import com.chiringuito.service.action.GetCartAction;
 import com.chiringuito.service.action.RemoveItemFromOrderAction;
 import com.chiringuito.service.action.UpdateItemQuantityAction;
 import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.PickupSlotDTO;
+import com.chiringuito.service.dto.PickupSlotRequest;
 import com.chiringuito.service.dto.UpdateQuantityRequest;
 import com.chiringuito.service.dto.OrderSummaryDTO;
-import com.chiringuito.service.exception.MaxItemsExceededException;
-import com.chiringuito.service.exception.MenuItemNotFoundException;
-import com.chiringuito.service.exception.MenuItemUnavailableException;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
 
+// Row-per-line cart storage; see EventSourcedOrderController for chiringuito.cart.storage=events.
+// Errors are mapped by OrderControllerAdvice
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "chiringuito.cart.storage", havingValue = "rows", matchIfMissing = true)
 @RequestMapping("/api/order")
 @RequiredArgsConstructor
 public class OrderController {
@@ -27,6 +32,7 @@ public class OrderController {
     private final GetCartAction getCartAction;
     private final RemoveItemFromOrderAction removeItemFromOrderAction;
     private final UpdateItemQuantityAction updateItemQuantityAction;
+    private final ChoosePickupSlotAction choosePickupSlotAction;
 
     @PostMapping("/add-item")
     public ResponseEntity<OrderSummaryDTO> addItem(
@@ -61,40 +67,11 @@ public class OrderController {
         return ResponseEntity.ok(summary);
     }
 
-    @ExceptionHandler(MenuItemNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleMenuItemNotFound(MenuItemNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(new ErrorResponse(ex.getMessage()));
-    }
-
-    @ExceptionHandler(MenuItemUnavailableException.class)
-    public ResponseEntity<ErrorResponse> handleMenuItemUnavailable(MenuItemUnavailableException ex) {
-        return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body(new ErrorResponse(ex.getMessage()));
-    }
-
-    @ExceptionHandler(MaxItemsExceededException.class)
-    public ResponseEntity<ErrorResponse> handleMaxItemsExceeded(MaxItemsExceededException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse(ex.getMessage()));
-    }
-
-    @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse(ex.getMessage()));
-    }
-
-    @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidationErrors(
-            org.springframework.web.bind.MethodArgumentNotValidException ex) {
-        String errorMessage = ex.getBindingResult().getFieldErrors().stream()
-                .map(error -> error.getDefaultMessage())
-                .findFirst()
-                .orElse("Validation failed");
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse(errorMessage));
+    @PutMapping("/pickup-slot")
+    public ResponseEntity<PickupSlotDTO> choosePickupSlot(
+            @RequestBody @jakarta.validation.Valid PickupSlotRequest request,
+            HttpSession session) {
+        PickupSlotDTO slot = choosePickupSlotAction.execute(request.getSlotStart(), session);
+        return ResponseEntity.ok(slot);
     }
-
-    private record ErrorResponse(String message) {}
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.ViewOrderHistoryAction;
+import com.chiringuito.service.dto.OrderHistoryPageDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/staff/orders")
+@RequiredArgsConstructor
+public class OrderHistoryController {
+
+    private final ViewOrderHistoryAction viewOrderHistoryAction;
+
+    @GetMapping
+    public ResponseEntity<OrderHistoryPageDTO> getOrderHistory(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        OrderHistoryPageDTO page = viewOrderHistoryAction.execute(status, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+}
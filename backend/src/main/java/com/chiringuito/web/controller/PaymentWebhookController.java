@@ -0,0 +1,42 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.ReceivePaymentWebhookAction;
+import com.chiringuito.service.exception.InvalidWebhookSignatureException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Acknowledges as soon as the event is stored: 202 for a new event, 200 for a redelivery.
+// Orders are updated by PaymentEventApplier
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/payment")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+
+    private final ReceivePaymentWebhookAction receivePaymentWebhookAction;
+
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receiveWebhook(
+            @RequestBody byte[] body,
+            @RequestHeader(name = "Payment-Signature", required = false) String signature) {
+        boolean received = receivePaymentWebhookAction.execute(body, signature);
+        return received ? ResponseEntity.accepted().build() : ResponseEntity.ok().build();
+    }
+
+    @ExceptionHandler(InvalidWebhookSignatureException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSignature(InvalidWebhookSignatureException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+}
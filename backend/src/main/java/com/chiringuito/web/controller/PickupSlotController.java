@@ -0,0 +1,25 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.ViewPickupSlotsAction;
+import com.chiringuito.service.dto.PickupSlotDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Served from memory on both the servlet and the reactive stack
+@RestController
+@RequestMapping("/api/slots")
+@RequiredArgsConstructor
+public class PickupSlotController {
+
+    private final ViewPickupSlotsAction viewPickupSlotsAction;
+
+    @GetMapping
+    public ResponseEntity<List<PickupSlotDTO>> getSlots() {
+        return ResponseEntity.ok(viewPickupSlotsAction.execute());
+    }
+}
@@ -0,0 +1,57 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.ReactiveBrowseMenuAction;
+import com.chiringuito.service.action.SearchMenuAction;
+import com.chiringuito.service.action.ViewPopularItemsAction;
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.dto.PopularMenuItemDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// MenuController on the reactive stack ('reactive' profile). Search and popular items are
+// answered from memory, so only the menu itself goes to the database, over R2DBC
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class ReactiveMenuController {
+
+    private final ReactiveBrowseMenuAction reactiveBrowseMenuAction;
+    private final SearchMenuAction searchMenuAction;
+    private final ViewPopularItemsAction viewPopularItemsAction;
+
+    @GetMapping
+    public Flux<MenuItemDTO> getMenu() {
+        return reactiveBrowseMenuAction.execute();
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MenuItemDTO>> searchMenu(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        List<MenuItemDTO> menuItems = searchMenuAction.execute(q, maxPrice);
+        return ResponseEntity.ok(menuItems);
+    }
+
+    @GetMapping("/popular")
+    public ResponseEntity<List<PopularMenuItemDTO>> getPopularItems(
+            @RequestParam(defaultValue = "5") int limit) {
+        List<PopularMenuItemDTO> popularItems = viewPopularItemsAction.execute(limit);
+        return ResponseEntity.ok(popularItems);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+}
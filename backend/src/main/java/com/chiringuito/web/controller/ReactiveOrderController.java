@@ -0,0 +1,137 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.AddItemToOrderAction;
+import com.chiringuito.service.action.ChoosePickupSlotAction;
+import com.chiringuito.service.action.ReactiveGetCartAction;
+import com.chiringuito.service.action.RemoveItemFromOrderAction;
+import com.chiringuito.service.action.UpdateItemQuantityAction;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import com.chiringuito.service.dto.PickupSlotDTO;
+import com.chiringuito.service.dto.PickupSlotRequest;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import com.chiringuito.service.exception.MaxItemsExceededException;
+import com.chiringuito.service.exception.MenuItemNotFoundException;
+import com.chiringuito.service.exception.MenuItemUnavailableException;
+import com.chiringuito.service.exception.PickupSlotExpiredException;
+import com.chiringuito.service.exception.PickupSlotFullException;
+import com.chiringuito.web.session.WebSessionHttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.WebSession;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+
+// OrderController on the reactive stack ('reactive' profile, row cart storage). The cart is
+// read over R2DBC; cart changes still go through the JPA actions, off the event loop
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "chiringuito.cart.storage", havingValue = "rows", matchIfMissing = true)
+@RequestMapping("/api/order")
+@RequiredArgsConstructor
+public class ReactiveOrderController {
+
+    private final AddItemToOrderAction addItemToOrderAction;
+    private final ReactiveGetCartAction reactiveGetCartAction;
+    private final RemoveItemFromOrderAction removeItemFromOrderAction;
+    private final UpdateItemQuantityAction updateItemQuantityAction;
+    private final ChoosePickupSlotAction choosePickupSlotAction;
+
+    @PostMapping("/add-item")
+    public Mono<ResponseEntity<OrderSummaryDTO>> addItem(
+            @RequestBody @jakarta.validation.Valid AddItemRequest request,
+            WebSession session) {
+        return Mono.fromCallable(() -> addItemToOrderAction.execute(request, new WebSessionHttpSession(session)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/cart")
+    public Mono<ResponseEntity<OrderSummaryDTO>> getCart(WebSession session) {
+        return reactiveGetCartAction.execute(session)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok().build()); // Empty cart - return 200 with no body
+    }
+
+    @DeleteMapping("/remove-item/{menuItemId}")
+    public Mono<ResponseEntity<Void>> removeItem(
+            @PathVariable UUID menuItemId,
+            WebSession session) {
+        return Mono.fromRunnable(() -> removeItemFromOrderAction.execute(menuItemId, new WebSessionHttpSession(session)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PutMapping("/update-quantity")
+    public Mono<ResponseEntity<OrderSummaryDTO>> updateQuantity(
+            @RequestBody @jakarta.validation.Valid UpdateQuantityRequest request,
+            WebSession session) {
+        return Mono.fromCallable(() -> updateItemQuantityAction.execute(request, new WebSessionHttpSession(session)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/pickup-slot")
+    public Mono<ResponseEntity<PickupSlotDTO>> choosePickupSlot(
+            @RequestBody @jakarta.validation.Valid PickupSlotRequest request,
+            WebSession session) {
+        return Mono.fromCallable(() -> choosePickupSlotAction.execute(request.getSlotStart(), new WebSessionHttpSession(session)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    @ExceptionHandler(MenuItemNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleMenuItemNotFound(MenuItemNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(MenuItemUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleMenuItemUnavailable(MenuItemUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(PickupSlotFullException.class)
+    public ResponseEntity<ErrorResponse> handlePickupSlotFull(PickupSlotFullException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(PickupSlotExpiredException.class)
+    public ResponseEntity<ErrorResponse> handlePickupSlotExpired(PickupSlotExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(MaxItemsExceededException.class)
+    public ResponseEntity<ErrorResponse> handleMaxItemsExceeded(MaxItemsExceededException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(WebExchangeBindException ex) {
+        String errorMessage = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getDefaultMessage())
+                .findFirst()
+                .orElse("Validation failed");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(errorMessage));
+    }
+
+    private record ErrorResponse(String message) {}
+}
@@ -0,0 +1,40 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.MarkOrderPickedUpAction;
+import com.chiringuito.service.dto.MarkPickedUpResultDTO;
+import com.chiringuito.service.exception.OrderNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/waiter")
+@RequiredArgsConstructor
+public class WaiterController {
+
+    private final MarkOrderPickedUpAction markOrderPickedUpAction;
+
+    @PostMapping("/mark-picked-up/{orderId}")
+    public ResponseEntity<MarkPickedUpResultDTO> markPickedUp(@PathVariable UUID orderId) {
+        return ResponseEntity.ok(markOrderPickedUpAction.execute(orderId));
+    }
+
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleOrderNotFound(OrderNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalState(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+}
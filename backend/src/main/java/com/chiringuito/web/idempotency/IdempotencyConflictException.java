@@ -0,0 +1,11 @@
+package com.chiringuito.web.idempotency;
+
+/**
+ * Thrown when a request with the same idempotency key is still executing after the wait budget.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.chiringuito.web.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link IdempotencyKeyFilter}.
+ *
+ * @param store        {@code memory} for a node-local store, {@code jdbc} to share keys between nodes
+ * @param ttl          how long a response stays replayable
+ * @param maxEntries   bound on responses kept in memory per node
+ * @param waitTimeout  how long a duplicate waits for the first request before getting 409
+ */
+@ConfigurationProperties(prefix = "chiringuito.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") String store,
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("10s") Duration waitTimeout) {
+}
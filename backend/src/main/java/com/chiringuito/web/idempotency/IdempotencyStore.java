@@ -0,0 +1,36 @@
+package com.chiringuito.web.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Stores responses by idempotency key and coordinates concurrent requests with the same key:
+ * exactly one caller of {@link #begin} becomes the owner and executes the request; the others
+ * wait for its outcome and replay it.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims {@code key}. Returns a replay if a response is stored or becomes available within
+     * {@code wait}; otherwise makes the caller the owner, who must then call {@link #complete}
+     * or {@link #abandon}.
+     *
+     * @throws IdempotencyConflictException if another request still owns the key after {@code wait}
+     */
+    Claim begin(String key, Duration wait);
+
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Releases an owned key without storing a response, so a retry executes again.
+     */
+    void abandon(String key);
+
+    record Claim(StoredResponse replay) {
+
+        static final Claim OWNER = new Claim(null);
+
+        public boolean isOwner() {
+            return replay == null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.chiringuito.web.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Node-local idempotency store: completed responses live in an LRU map bounded to
+ * {@code maxEntries} and expire after {@code ttl}; requests in flight are tracked as futures
+ * that duplicates block on.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new HashMap<>();
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public Claim begin(String key, Duration wait) {
+        long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            CompletableFuture<StoredResponse> pending;
+            synchronized (this) {
+                StoredResponse stored = find(key);
+                if (stored != null) {
+                    return new Claim(stored);
+                }
+                pending = inFlight.get(key);
+                if (pending == null) {
+                    inFlight.put(key, new CompletableFuture<>());
+                    return Claim.OWNER;
+                }
+            }
+            StoredResponse outcome = await(pending, deadline);
+            if (outcome != null) {
+                return new Claim(outcome);
+            }
+            // The owner abandoned the key: compete for it again
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        CompletableFuture<StoredResponse> pending;
+        synchronized (this) {
+            completed.put(key, new Entry(response, clock.instant().plus(ttl)));
+            pending = inFlight.remove(key);
+        }
+        if (pending != null) {
+            pending.complete(response);
+        }
+    }
+
+    @Override
+    public void abandon(String key) {
+        CompletableFuture<StoredResponse> pending;
+        synchronized (this) {
+            pending = inFlight.remove(key);
+        }
+        if (pending != null) {
+            pending.complete(null);
+        }
+    }
+
+    synchronized int size() {
+        return completed.size();
+    }
+
+    private StoredResponse find(String key) {
+        Entry entry = completed.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt())) {
+            completed.remove(key);
+            return null;
+        }
+        return entry.response();
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> pending, long deadline) {
+        try {
+            return pending.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for a request with the same Idempotency-Key");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Entry(StoredResponse response, Instant expiresAt) {}
+}
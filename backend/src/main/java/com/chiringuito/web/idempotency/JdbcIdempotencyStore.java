@@ -0,0 +1,134 @@
+package com.chiringuito.web.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Idempotency store shared by all nodes through the {@code idempotency_keys} table, in front
+ * of which a node-local {@link InMemoryIdempotencyStore} serves repeat replays and coordinates
+ * duplicates arriving at the same node without touching the database.
+ * <p>
+ * The owner of a key inserts a placeholder row (no status yet); the primary key makes that
+ * insert the cross-node claim. Duplicates on other nodes poll the row until the response is
+ * stored or their wait budget runs out.
+ */
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InMemoryIdempotencyStore local;
+    private final Duration ttl;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, InMemoryIdempotencyStore local, Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.local = local;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Claim begin(String key, Duration wait) {
+        long deadline = System.nanoTime() + wait.toNanos();
+        Claim localClaim = local.begin(key, wait);
+        if (!localClaim.isOwner()) {
+            return localClaim;
+        }
+        try {
+            while (true) {
+                try {
+                    jdbcTemplate.update("insert into idempotency_keys (key_hash, expires_at) values (?, ?)",
+                            key, LocalDateTime.now().plus(ttl));
+                    return Claim.OWNER;
+                } catch (DuplicateKeyException e) {
+                    // Claimed before, here or on another node
+                }
+                List<Row> rows = jdbcTemplate.query("""
+                        select status_code, content_type, set_cookie, body, fingerprint, expires_at
+                        from idempotency_keys where key_hash = ?""", (rs, rowNum) -> new Row(
+                        (Integer) rs.getObject("status_code"),
+                        rs.getString("content_type"),
+                        rs.getString("set_cookie"),
+                        rs.getBytes("body"),
+                        rs.getString("fingerprint"),
+                        rs.getObject("expires_at", LocalDateTime.class)), key);
+                if (rows.isEmpty()) {
+                    continue;
+                }
+                Row row = rows.getFirst();
+                if (row.expiresAt().isBefore(LocalDateTime.now())) {
+                    jdbcTemplate.update("delete from idempotency_keys where key_hash = ? and expires_at < ?",
+                            key, LocalDateTime.now());
+                    continue;
+                }
+                if (row.status() != null) {
+                    StoredResponse response = row.toResponse();
+                    local.complete(key, response);
+                    return new Claim(response);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+                }
+                sleep();
+            }
+        } catch (RuntimeException e) {
+            local.abandon(key);
+            throw e;
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update("""
+                        update idempotency_keys
+                        set status_code = ?, content_type = ?, set_cookie = ?, body = ?, fingerprint = ?
+                        where key_hash = ?""",
+                response.status(), response.contentType(), String.join("\n", response.setCookies()),
+                response.body(), response.requestFingerprint(), key);
+        local.complete(key, response);
+    }
+
+    @Override
+    public void abandon(String key) {
+        try {
+            jdbcTemplate.update("delete from idempotency_keys where key_hash = ? and status_code is null", key);
+        } finally {
+            local.abandon(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chiringuito.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("delete from idempotency_keys where expires_at < ?", LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for a request with the same Idempotency-Key");
+        }
+    }
+
+    private record Row(Integer status, String contentType, String setCookie, byte[] body, String fingerprint,
+                       LocalDateTime expiresAt) {
+
+        StoredResponse toResponse() {
+            List<String> setCookies = setCookie == null || setCookie.isEmpty()
+                    ? List.of()
+                    : Arrays.asList(setCookie.split("\n"));
+            return new StoredResponse(status, contentType, setCookies, body, fingerprint);
+        }
+    }
+}
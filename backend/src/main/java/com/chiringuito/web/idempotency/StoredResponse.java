@@ -0,0 +1,11 @@
+package com.chiringuito.web.idempotency;
+
+import java.util.List;
+
+/**
+ * A completed response kept for replay, together with the fingerprint of the request body
+ * that produced it.
+ */
+public record StoredResponse(int status, String contentType, List<String> setCookies, byte[] body,
+                             String requestFingerprint) {
+}
@@ -0,0 +1,87 @@
+package com.chiringuito.web.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.server.WebSession;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * Presents a WebFlux {@link WebSession} as an {@link HttpSession}, so the cart actions that
+ * keep the order id in the session run unchanged on the reactive stack. Only attributes and
+ * timeouts are backed by the web session; there is no servlet context.
+ */
+public class WebSessionHttpSession implements HttpSession {
+
+    private final WebSession session;
+
+    public WebSessionHttpSession(WebSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return session.getCreationTime().toEpochMilli();
+    }
+
+    @Override
+    public String getId() {
+        return session.getId();
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return session.getLastAccessTime().toEpochMilli();
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return null;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        session.setMaxIdleTime(Duration.ofSeconds(interval));
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return (int) session.getMaxIdleTime().toSeconds();
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return session.getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(session.getAttributes().keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            removeAttribute(name);
+        } else {
+            session.getAttributes().put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        session.getAttributes().remove(name);
+    }
+
+    @Override
+    public void invalidate() {
+        session.invalidate().subscribe();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !session.isStarted();
+    }
+}
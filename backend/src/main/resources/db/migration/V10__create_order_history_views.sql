@@ -0,0 +1,11 @@
+-- Live and archived orders as one relation, for history and reporting reads.
+-- Both sides are indexed on created_at, so newest-first keyset reads merge two index scans.
+CREATE VIEW orders_all AS
+SELECT id, status_code, total_amount, created_at FROM orders
+UNION ALL
+SELECT id, status_code, total_amount, created_at FROM orders_archive;
+
+CREATE VIEW order_lines_all AS
+SELECT id, order_id, menu_item_id, quantity, unit_price, line_total FROM order_lines
+UNION ALL
+SELECT id, order_id, menu_item_id, quantity, unit_price, line_total FROM order_lines_archive;
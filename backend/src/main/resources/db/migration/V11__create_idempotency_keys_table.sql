@@ -0,0 +1,15 @@
+-- Create idempotency_keys table: responses of mutating requests replayed for retries that
+-- carry the same Idempotency-Key, shared between nodes when chiringuito.idempotency.store=jdbc.
+-- A row with a NULL status_code is a claim by a request still in progress.
+CREATE TABLE idempotency_keys (
+    key_hash CHAR(64) PRIMARY KEY,
+    status_code INT,
+    content_type VARCHAR(255),
+    set_cookie VARCHAR(2000),
+    body BYTEA,
+    fingerprint CHAR(64),
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Create index on expires_at for purging
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
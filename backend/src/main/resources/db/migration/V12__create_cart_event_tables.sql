@@ -0,0 +1,25 @@
+-- Create cart_events table: insert-only log of cart mutations for
+-- chiringuito.cart.storage=events. Events are numbered per cart; the unique key rejects a
+-- concurrent writer that read the same cart version.
+CREATE TABLE cart_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cart_id UUID NOT NULL,
+    seq INT NOT NULL,
+    event_type SMALLINT NOT NULL,
+    menu_item_id UUID,
+    quantity INT,
+    unit_price DECIMAL(10, 2),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_cart_events_cart_seq UNIQUE (cart_id, seq)
+);
+
+-- Create cart_snapshots table: folded cart lines every few events, so a cart is rebuilt from
+-- its latest snapshot plus the events after it
+CREATE TABLE cart_snapshots (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cart_id UUID NOT NULL,
+    seq INT NOT NULL,
+    lines_json VARCHAR(8000) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_cart_snapshots_cart_seq UNIQUE (cart_id, seq)
+);
@@ -0,0 +1,16 @@
+-- Version menu items so cache invalidations for older versions can be told apart
+ALTER TABLE menu_items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Create cache_invalidations table: short-lived messages of chiringuito.invalidation.bus=jdbc,
+-- polled by every node. published_at is in epoch milliseconds.
+CREATE TABLE cache_invalidations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    region_code SMALLINT NOT NULL,
+    entity_key UUID NOT NULL,
+    entity_version BIGINT NOT NULL,
+    origin_node VARCHAR(64) NOT NULL,
+    published_at BIGINT NOT NULL
+);
+
+-- Create index on published_at for polling and purging
+CREATE INDEX idx_cache_invalidations_published_at ON cache_invalidations(published_at);
@@ -0,0 +1,11 @@
+-- Create menu_item_stock table: units left for items sold from a limited stock. Items without
+-- a row are unlimited. Restock by setting remaining; sold_out marks items the stock made
+-- unavailable, so they become available again once restocked.
+CREATE TABLE menu_item_stock (
+    menu_item_id UUID PRIMARY KEY,
+    remaining INT NOT NULL,
+    reserved INT NOT NULL DEFAULT 0,
+    sold_out BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_menu_item_stock_menu_item FOREIGN KEY (menu_item_id) REFERENCES menu_items(id) ON DELETE CASCADE
+);
@@ -0,0 +1,13 @@
+-- When an order was paid (entered the kitchen queue) and marked ready, for the kitchen
+-- scheduler's prep-time estimates
+ALTER TABLE orders ADD COLUMN paid_at TIMESTAMP;
+ALTER TABLE orders ADD COLUMN ready_at TIMESTAMP;
+ALTER TABLE orders_archive ADD COLUMN paid_at TIMESTAMP;
+ALTER TABLE orders_archive ADD COLUMN ready_at TIMESTAMP;
+
+DROP VIEW orders_all;
+
+CREATE VIEW orders_all AS
+SELECT id, status_code, total_amount, created_at, paid_at, ready_at FROM orders
+UNION ALL
+SELECT id, status_code, total_amount, created_at, paid_at, ready_at FROM orders_archive;
@@ -0,0 +1,14 @@
+-- Create menu_items_staging table: rows of a bulk menu import, batch-inserted before the
+-- whole import is swapped into menu_items in one transaction (see ImportMenuAction)
+CREATE TABLE menu_items_staging (
+    import_id UUID NOT NULL,
+    row_no INT NOT NULL,
+    id UUID NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    price DECIMAL(10, 2) NOT NULL,
+    image_url VARCHAR(500),
+    available BOOLEAN NOT NULL,
+    PRIMARY KEY (import_id, row_no),
+    UNIQUE (import_id, id)
+);
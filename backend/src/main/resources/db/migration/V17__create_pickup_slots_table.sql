@@ -0,0 +1,20 @@
+-- Create pickup_slots table: kitchen capacity, in items, of each pre-order pickup slot. Rows
+-- are opened ahead of time with the configured capacity; change capacity by hand to open up
+-- or close a slot. claimed counts the items of the carts that chose the slot
+CREATE TABLE pickup_slots (
+    slot_start TIMESTAMP PRIMARY KEY,
+    capacity INT NOT NULL,
+    claimed INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Start of the pickup slot chosen for the order, if any
+ALTER TABLE orders ADD COLUMN pickup_slot TIMESTAMP;
+ALTER TABLE orders_archive ADD COLUMN pickup_slot TIMESTAMP;
+
+DROP VIEW orders_all;
+
+CREATE VIEW orders_all AS
+SELECT id, status_code, total_amount, created_at, paid_at, ready_at, pickup_slot FROM orders
+UNION ALL
+SELECT id, status_code, total_amount, created_at, paid_at, ready_at, pickup_slot FROM orders_archive;
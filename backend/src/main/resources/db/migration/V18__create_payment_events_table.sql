@@ -0,0 +1,16 @@
+-- Create payment_events table: payment gateway webhook events, inserted when received (the
+-- unique event_id rejects redeliveries) and applied to their orders in batches, in id order.
+-- applied_at is set once an event has been applied, ignored or set aside; outcome says which
+CREATE TABLE payment_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id VARCHAR(255) NOT NULL,
+    order_id UUID NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    applied_at TIMESTAMP,
+    outcome VARCHAR(255),
+    CONSTRAINT uk_payment_events_event_id UNIQUE (event_id)
+);
+
+-- Create index for the worker's pending-events scan
+CREATE INDEX idx_payment_events_pending ON payment_events(applied_at, id);
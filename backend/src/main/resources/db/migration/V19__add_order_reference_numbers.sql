@@ -0,0 +1,22 @@
+-- Short order references ("A-142") shown to customers and in SMS messages, numbered from 1
+-- each business day. order_reference_blocks holds the next number not yet reserved for each
+-- day; nodes reserve blocks of numbers from it (see OrderReferenceAllocator)
+CREATE TABLE order_reference_blocks (
+    business_day DATE PRIMARY KEY,
+    next_value INT NOT NULL
+);
+
+-- Business day and reference of the order, assigned when it is paid
+ALTER TABLE orders ADD COLUMN reference_day DATE;
+ALTER TABLE orders ADD COLUMN reference_number VARCHAR(20);
+ALTER TABLE orders_archive ADD COLUMN reference_day DATE;
+ALTER TABLE orders_archive ADD COLUMN reference_number VARCHAR(20);
+
+CREATE UNIQUE INDEX uk_orders_reference ON orders(reference_day, reference_number);
+
+DROP VIEW orders_all;
+
+CREATE VIEW orders_all AS
+SELECT id, status_code, total_amount, created_at, paid_at, ready_at, pickup_slot, reference_day, reference_number FROM orders
+UNION ALL
+SELECT id, status_code, total_amount, created_at, paid_at, ready_at, pickup_slot, reference_day, reference_number FROM orders_archive;
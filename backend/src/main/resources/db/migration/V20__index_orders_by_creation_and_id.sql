@@ -0,0 +1,6 @@
+-- Orders in history order, matching the (created_at, id) primary key of orders_archive, so a
+-- keyset page of orders_all is a bounded, ordered index scan on both sides of the view.
+-- It covers every read the created_at index served.
+CREATE INDEX idx_orders_created_at_id ON orders(created_at, id);
+
+DROP INDEX idx_orders_created_at;
@@ -0,0 +1,8 @@
+-- Create order_status_changes table: append-only change stream of order status transitions,
+-- written in the same transaction as the transition and consumed in batches by reporting
+CREATE TABLE order_status_changes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id UUID NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,10 @@
+-- Create sales_hourly_rollups table: per-hour, per-menu-item sales totals maintained incrementally
+CREATE TABLE sales_hourly_rollups (
+    bucket_start TIMESTAMP NOT NULL,
+    menu_item_id UUID NOT NULL,
+    units_sold BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0.00,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    units_picked_up BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_sales_hourly_rollups PRIMARY KEY (bucket_start, menu_item_id)
+);
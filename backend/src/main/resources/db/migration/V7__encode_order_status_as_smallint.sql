@@ -0,0 +1,31 @@
+-- Replace the VARCHAR order status with a SMALLINT code (see OrderStatus):
+-- 1 = PENDING, 2 = PREPARING, 3 = READY, 4 = PICKED_UP.
+-- Unknown status strings map to NULL and make the migration fail instead of being guessed.
+ALTER TABLE orders ADD COLUMN status_code SMALLINT;
+
+UPDATE orders SET status_code = CASE status
+    WHEN 'PENDING' THEN 1
+    WHEN 'PREPARING' THEN 2
+    WHEN 'READY' THEN 3
+    WHEN 'PICKED_UP' THEN 4
+END;
+
+ALTER TABLE orders ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE orders ALTER COLUMN status_code SET DEFAULT 1;
+
+-- Nearly every row is PICKED_UP, so a full index on status is large and useless for the
+-- active-order queries; it is replaced by the vendor-specific active orders index (V8)
+DROP INDEX idx_orders_status;
+ALTER TABLE orders DROP COLUMN status;
+
+ALTER TABLE order_status_changes ADD COLUMN status_code SMALLINT;
+
+UPDATE order_status_changes SET status_code = CASE status
+    WHEN 'PENDING' THEN 1
+    WHEN 'PREPARING' THEN 2
+    WHEN 'READY' THEN 3
+    WHEN 'PICKED_UP' THEN 4
+END;
+
+ALTER TABLE order_status_changes ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE order_status_changes DROP COLUMN status;
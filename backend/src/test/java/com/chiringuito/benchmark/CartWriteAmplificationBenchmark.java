@@ -0,0 +1,117 @@
+package com.chiringuito.benchmark;
+
+import com.chiringuito.BackendApplication;
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.service.action.AddItemToOrderAction;
+import com.chiringuito.service.action.RemoveItemFromOrderAction;
+import com.chiringuito.service.action.UpdateItemQuantityAction;
+import com.chiringuito.service.cart.EventSourcedCart;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the row cart ({@code order_lines} rewritten on every change) with the event-sourced
+ * cart ({@code cart_events} appended) over the same cart session: six mutations, then checkout,
+ * which for the event-sourced cart includes writing out the order and its lines.
+ * <p>
+ * Time per session is measured here; rows inserted, updated and deleted per session are
+ * printed once per fork from {@link #tearDown()}. On PostgreSQL every updated or deleted row
+ * leaves a dead tuple behind for vacuum, which is the write amplification the event log avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartWriteAmplificationBenchmark {
+
+    @Param({"rows", "events"})
+    public String storage;
+
+    private ConfigurableApplicationContext context;
+    private AddItemToOrderAction addItemToOrderAction;
+    private UpdateItemQuantityAction updateItemQuantityAction;
+    private RemoveItemFromOrderAction removeItemFromOrderAction;
+    private EventSourcedCart eventSourcedCart;
+    private Statistics statistics;
+    private List<UUID> items;
+    private long sessions;
+    private long materializedRows;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("local")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:cart-benchmark;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.com.chiringuito=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN")
+                .run();
+        addItemToOrderAction = context.getBean(AddItemToOrderAction.class);
+        updateItemQuantityAction = context.getBean(UpdateItemQuantityAction.class);
+        removeItemFromOrderAction = context.getBean(RemoveItemFromOrderAction.class);
+        eventSourcedCart = context.getBean(EventSourcedCart.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        items = context.getBean(MenuItemRepository.class).findByAvailableTrueOrderByNameAsc().stream()
+                .limit(3)
+                .map(MenuItem::getId)
+                .toList();
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (sessions > 0) {
+            System.out.printf("%n%s cart, per session: %.1f rows inserted, %.1f updated, %.1f deleted%n", storage,
+                    (double) (statistics.getEntityInsertCount() + materializedRows) / sessions,
+                    (double) statistics.getEntityUpdateCount() / sessions,
+                    (double) statistics.getEntityDeleteCount() / sessions);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public Object cartSession() {
+        MockHttpSession session = new MockHttpSession();
+        sessions++;
+        if (storage.equals("rows")) {
+            addItemToOrderAction.execute(add(0, 2), session);
+            addItemToOrderAction.execute(add(1, 1), session);
+            addItemToOrderAction.execute(add(0, 1), session);
+            updateItemQuantityAction.execute(new UpdateQuantityRequest(items.get(1), 3), session);
+            removeItemFromOrderAction.execute(items.get(0), session);
+            // The order and its lines already exist at checkout
+            return addItemToOrderAction.execute(add(2, 2), session);
+        }
+        eventSourcedCart.addItem(add(0, 2), session);
+        eventSourcedCart.addItem(add(1, 1), session);
+        eventSourcedCart.addItem(add(0, 1), session);
+        eventSourcedCart.updateQuantity(new UpdateQuantityRequest(items.get(1), 3), session);
+        eventSourcedCart.removeItem(items.get(0), session);
+        eventSourcedCart.addItem(add(2, 2), session);
+        // Written with plain JDBC, so not in the Hibernate statistics: one order plus two lines
+        materializedRows += 3;
+        return eventSourcedCart.materialize((UUID) session.getAttribute("orderId"));
+    }
+
+    private AddItemRequest add(int item, int quantity) {
+        return AddItemRequest.builder().menuItemId(items.get(item)).quantity(quantity).build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.chiringuito.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator used by {@code scripts/load-test.sh} to compare the servlet
+ * and reactive stacks at high connection counts. Every virtual user runs on a virtual thread
+ * with a request of its own in flight at all times, so the number of users is the number of
+ * open connections. In the {@code cart} scenario each user first adds an item and then reads
+ * its own cart through the session cookie.
+ * <p>
+ * After a five-second warmup, prints throughput, latency percentiles and failed requests
+ * (non-200 responses and I/O errors) for the measured window.
+ * <p>
+ * Usage: {@code StackLoadTest <base-url> <menu|cart> <connections> <seconds>}
+ */
+public class StackLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Pattern FIRST_ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    public static void main(String[] args) throws Exception {
+        URI base = URI.create(args[0]);
+        String scenario = args[1];
+        int connections = Integer.parseInt(args[2]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String menuItemId = scenario.equals("cart") ? firstMenuItemId(client, base) : null;
+
+            long start = System.nanoTime();
+            long measureFrom = start + WARMUP.toNanos();
+            long end = measureFrom + duration.toNanos();
+            List<Future<UserResult>> results = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                results.add(users.submit(() -> runUser(client, base, menuItemId, measureFrom, end)));
+            }
+
+            long[] latencies = new long[0];
+            long failures = 0;
+            for (Future<UserResult> result : results) {
+                UserResult user = result.get();
+                latencies = concat(latencies, user.latencies, user.count);
+                failures += user.failures;
+            }
+            Arrays.sort(latencies);
+            double seconds = duration.toNanos() / 1e9;
+            System.out.printf("%-5s %5d connections: %8.0f req/s   p50 %7.1f ms   p99 %7.1f ms   max %7.1f ms   failed %d%n",
+                    scenario, connections, latencies.length / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0), failures);
+        }
+    }
+
+    private static UserResult runUser(HttpClient client, URI base, String menuItemId, long measureFrom, long end) {
+        UserResult result = new UserResult();
+        HttpRequest.Builder request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30)).GET();
+        try {
+            if (menuItemId == null) {
+                request.uri(base.resolve("/api/menu"));
+            } else {
+                request.uri(base.resolve("/api/order/cart")).header("Cookie", seedCart(client, base, menuItemId));
+            }
+        } catch (Exception e) {
+            result.failures++;
+            return result;
+        }
+        HttpRequest get = request.build();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            boolean ok;
+            try {
+                ok = client.send(get, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (now >= measureFrom) {
+                if (ok) {
+                    result.record(System.nanoTime() - now);
+                } else {
+                    result.failures++;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Adds one unit to a fresh cart and returns the session cookie it was stored under
+    private static String seedCart(HttpClient client, URI base, String menuItemId) throws Exception {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(base.resolve("/api/order/add-item"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"menuItemId\":\"" + menuItemId + "\",\"quantity\":1}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("add-item returned " + response.statusCode());
+        }
+        String setCookie = response.headers().firstValue("Set-Cookie")
+                .orElseThrow(() -> new IllegalStateException("add-item did not start a session"));
+        return setCookie.substring(0, setCookie.indexOf(';'));
+    }
+
+    private static String firstMenuItemId(HttpClient client, URI base) throws Exception {
+        String menu = client.send(HttpRequest.newBuilder(base.resolve("/api/menu")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = FIRST_ID.matcher(menu);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No menu items to add to carts");
+        }
+        return matcher.group(1);
+    }
+
+    private static long[] concat(long[] into, long[] values, int count) {
+        long[] merged = Arrays.copyOf(into, into.length + count);
+        System.arraycopy(values, 0, merged, into.length, count);
+        return merged;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static final class UserResult {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long failures;
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
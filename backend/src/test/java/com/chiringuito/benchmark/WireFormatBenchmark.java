@@ -0,0 +1,104 @@
+package com.chiringuito.benchmark;
+
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.dto.OrderLineDTO;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares JSON and CBOR encodings of the menu and cart responses: encode and decode time
+ * here, payload sizes printed once per fork from {@link #setUp()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+    private final ObjectMapper cbor = new CBORMapper().findAndRegisterModules();
+
+    private List<MenuItemDTO> menu;
+    private OrderSummaryDTO cart;
+    private byte[] menuJson;
+    private byte[] menuCbor;
+    private byte[] cartJson;
+    private byte[] cartCbor;
+
+    @Setup
+    public void setUp() throws Exception {
+        menu = IntStream.range(0, 100)
+                .mapToObj(i -> new MenuItemDTO(
+                        UUID.randomUUID(),
+                        "Menu item " + i,
+                        "Traditional Spanish dish number " + i + " with olive oil",
+                        new BigDecimal("12.50"),
+                        "🥘",
+                        true))
+                .toList();
+
+        List<OrderLineDTO> lines = IntStream.range(0, 20)
+                .mapToObj(i -> new OrderLineDTO(UUID.randomUUID(), UUID.randomUUID(), "Menu item " + i,
+                        2, new BigDecimal("12.50"), new BigDecimal("25.00")))
+                .toList();
+        cart = new OrderSummaryDTO(UUID.randomUUID(), "PENDING", null, new BigDecimal("500.00"), 40, lines);
+
+        menuJson = json.writeValueAsBytes(menu);
+        menuCbor = cbor.writeValueAsBytes(menu);
+        cartJson = json.writeValueAsBytes(cart);
+        cartCbor = cbor.writeValueAsBytes(cart);
+
+        System.out.printf("%nPayload sizes: menu(100) json=%d cbor=%d bytes, cart(20 lines) json=%d cbor=%d bytes%n",
+                menuJson.length, menuCbor.length, cartJson.length, cartCbor.length);
+    }
+
+    @Benchmark
+    public byte[] encodeMenuJson() throws Exception {
+        return json.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public byte[] encodeMenuCbor() throws Exception {
+        return cbor.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public MenuItemDTO[] decodeMenuJson() throws Exception {
+        return json.readValue(menuJson, MenuItemDTO[].class);
+    }
+
+    @Benchmark
+    public MenuItemDTO[] decodeMenuCbor() throws Exception {
+        return cbor.readValue(menuCbor, MenuItemDTO[].class);
+    }
+
+    @Benchmark
+    public byte[] encodeCartJson() throws Exception {
+        return json.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] encodeCartCbor() throws Exception {
+        return cbor.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public OrderSummaryDTO decodeCartJson() throws Exception {
+        return json.readValue(cartJson, OrderSummaryDTO.class);
+    }
+
+    @Benchmark
+    public OrderSummaryDTO decodeCartCbor() throws Exception {
+        return cbor.readValue(cartCbor, OrderSummaryDTO.class);
+    }
+}
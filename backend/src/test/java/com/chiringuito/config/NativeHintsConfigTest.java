@@ -0,0 +1,42 @@
+package com.chiringuito.config;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new NativeHintsConfig.ChiringuitoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldIncludeFlywayMigrations() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__create_menu_items_table.sql"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/vendor/postgresql/V8__create_active_orders_index.sql"))
+                .accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterEntitiesForReflection() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(MenuItem.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterDtosForJacksonBinding() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(OrderSummaryDTO.class.getMethod("orderLines")))
+                .accepts(hints);
+    }
+}
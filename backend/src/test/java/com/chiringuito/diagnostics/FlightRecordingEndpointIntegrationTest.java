@@ -0,0 +1,74 @@
+package com.chiringuito.diagnostics;
+
+import com.chiringuito.service.dto.AddItemRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class FlightRecordingEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void recording_shouldContainActionAndRepositoryEvents() throws Exception {
+        mockMvc.perform(post("/actuator/flightrecording"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        mockMvc.perform(get("/api/menu")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/order/add-item")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AddItemRequest(UUID.randomUUID(), 1))))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/actuator/flightrecording"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+        byte[] recording = mockMvc.perform(get("/actuator/flightrecording"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.write(tempDir.resolve("recording.jfr"), recording);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("chiringuito.Action"))
+                .extracting(event -> event.getString("action") + ":" + event.getString("outcome"))
+                .contains("BrowseMenuAction:success", "AddItemToOrderAction:MenuItemNotFoundException");
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("chiringuito.RepositoryCall"))
+                .filteredOn(event -> event.getString("method").equals("MenuItemRepository.findByAvailableTrueOrderByNameAsc"))
+                .isNotEmpty()
+                .allSatisfy(event -> assertThat(event.getInt("rows")).isEqualTo(10));
+        assertThat(events).extracting(event -> event.getEventType().getName())
+                .doesNotContainAnyElementsOf(FlightRecordingEndpoint.SECRET_BEARING_EVENTS);
+    }
+}
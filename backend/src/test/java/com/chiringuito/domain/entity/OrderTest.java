@@ -0,0 +1,51 @@
+package com.chiringuito.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderTest {
+
+    @Test
+    void transitionTo_shouldFollowTheOrderLifecycle() {
+        Order order = Order.builder().status(OrderStatus.PENDING).totalAmount(BigDecimal.ZERO).build();
+
+        order.transitionTo(OrderStatus.PREPARING);
+        assertThat(order.getPaidAt()).isNotNull();
+        assertThat(order.getReadyAt()).isNull();
+        order.transitionTo(OrderStatus.READY);
+        assertThat(order.getReadyAt()).isAfterOrEqualTo(order.getPaidAt());
+        order.transitionTo(OrderStatus.PICKED_UP);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PICKED_UP);
+    }
+
+    @Test
+    void transitionTo_shouldRejectSkippedAndBackwardTransitions() {
+        Order order = Order.builder().status(OrderStatus.PENDING).totalAmount(BigDecimal.ZERO).build();
+
+        assertThatThrownBy(() -> order.transitionTo(OrderStatus.READY))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PENDING to READY");
+
+        order.setStatus(OrderStatus.PICKED_UP);
+        assertThatThrownBy(() -> order.transitionTo(OrderStatus.PENDING))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PICKED_UP);
+    }
+
+    @Test
+    void statusCodes_shouldRoundTripAndBeUnique() {
+        OrderStatusConverter converter = new OrderStatusConverter();
+
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(status))).isEqualTo(status);
+        }
+        assertThat(Arrays.stream(OrderStatus.values()).map(OrderStatus::code).distinct()).hasSize(OrderStatus.values().length);
+        assertThatThrownBy(() -> OrderStatus.fromCode((short) 99)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
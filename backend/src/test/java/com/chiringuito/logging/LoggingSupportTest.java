@@ -0,0 +1,159 @@
+package com.chiringuito.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingSupportTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    @Test
+    void sqlSamplingFilter_shouldPassOneInNStatements() {
+        SqlSamplingTurboFilter filter = new SqlSamplingTurboFilter();
+        filter.setSampleRate(10);
+        Logger sql = context.getLogger(SqlSamplingTurboFilter.SQL_LOGGER);
+
+        long passed = IntStream.range(0, 100)
+                .mapToObj(i -> filter.decide(null, sql, Level.DEBUG, "select 1", null, null))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        assertThat(passed).isEqualTo(10);
+    }
+
+    @Test
+    void sqlSamplingFilter_shouldSampleStatementsLoggedBehindIsDebugEnabled() {
+        // A context of its own: the application's Hibernate statements must not share the counter
+        LoggerContext own = new LoggerContext();
+        SqlSamplingTurboFilter filter = new SqlSamplingTurboFilter();
+        filter.setSampleRate(10);
+        filter.start();
+        own.addTurboFilter(filter);
+        List<ILoggingEvent> logged = new ArrayList<>();
+        AppenderBase<ILoggingEvent> appender = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                logged.add(event);
+            }
+        };
+        appender.setContext(own);
+        appender.start();
+        Logger sql = own.getLogger(SqlSamplingTurboFilter.SQL_LOGGER);
+        sql.setLevel(Level.DEBUG);
+        sql.addAppender(appender);
+
+        // As Hibernate's SqlStatementLogger does
+        for (int i = 0; i < 1000; i++) {
+            if (sql.isDebugEnabled()) {
+                sql.debug("select {}", i);
+            }
+        }
+
+        assertThat(logged).hasSize(100);
+        own.stop();
+    }
+
+    @Test
+    void sqlSamplingFilter_shouldLeaveOtherLoggersAndLevelsAlone() {
+        SqlSamplingTurboFilter filter = new SqlSamplingTurboFilter();
+        filter.setSampleRate(0);
+
+        assertThat(filter.decide(null, context.getLogger("com.chiringuito"), Level.DEBUG, "x", null, null))
+                .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, context.getLogger("org.hibernate.SQL_SLOW"), Level.INFO, "x", null, null))
+                .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, context.getLogger(SqlSamplingTurboFilter.SQL_LOGGER), Level.DEBUG, "x", null, null))
+                .isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void countingAsyncAppender_shouldCountEventsDroppedWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+
+        CountingAsyncAppender appender = new CountingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(0);
+        appender.addAppender(slow);
+        appender.start();
+
+        Logger logger = context.getLogger(LoggingSupportTest.class);
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(new LoggingEvent(Logger.FQCN, logger, Level.WARN, "event " + i, null, null));
+        }
+
+        // At most the queue plus the event held by the worker get through
+        assertThat(appender.getDroppedCount()).isGreaterThanOrEqualTo(20 - 4 - 1);
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void requestLoggingContextFilter_shouldExposeRequestAndOrderIds() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("orderId", orderId);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/order");
+        request.setSession(session);
+        request.addHeader(RequestLoggingContextFilter.REQUEST_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> seen = new HashMap<>();
+
+        new RequestLoggingContextFilter().doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                seen.putAll(MDC.getCopyOfContextMap());
+            }
+        });
+
+        assertThat(seen).containsEntry("requestId", "abc-123").containsEntry("orderId", orderId.toString());
+        assertThat(response.getHeader(RequestLoggingContextFilter.REQUEST_ID_HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get("requestId")).isNull();
+    }
+
+    @Test
+    void requestLoggingContextFilter_shouldReplaceUnsafeRequestIds() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/menu");
+        request.addHeader(RequestLoggingContextFilter.REQUEST_ID_HEADER, "bad id\nwith newline");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new RequestLoggingContextFilter().doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(RequestLoggingContextFilter.REQUEST_ID_HEADER))
+                .matches("[0-9a-f-]{36}");
+    }
+}
@@ -2,6 +2,7 @@ package com.chiringuito.service.action;
 
 import com.chiringuito.domain.entity.MenuItem;
 import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
 import com.chiringuito.domain.entity.OrderLine;
 import com.chiringuito.domain.repository.MenuItemRepository;
 import com.chiringuito.domain.repository.OrderLineRepository;
@@ -11,6 +12,9 @@ import com.chiringuito.service.dto.OrderSummaryDTO;
 import com.chiringuito.service.exception.MaxItemsExceededException;
 import com.chiringuito.service.exception.MenuItemNotFoundException;
 import com.chiringuito.service.exception.MenuItemUnavailableException;
+import com.chiringuito.service.popularity.PopularItemsTracker;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import com.chiringuito.service.stock.StockLedger;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +44,15 @@ class AddItemToOrderActionTest {
     @Mock
     private OrderLineRepository orderLineRepository;
 
+    @Mock
+    private PopularItemsTracker popularItemsTracker;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private PickupSlotLedger pickupSlotLedger;
+
     @Mock
     private HttpSession session;
 
@@ -76,7 +89,7 @@ class AddItemToOrderActionTest {
 
         Order savedOrder = Order.builder()
                 .id(UUID.randomUUID())
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("37.50"))
                 .build();
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
@@ -97,15 +110,16 @@ class AddItemToOrderActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderId()).isEqualTo(savedOrder.getId());
-        assertThat(result.getStatus()).isEqualTo("PENDING");
-        assertThat(result.getTotalAmount()).isEqualTo(new BigDecimal("37.50"));
-        assertThat(result.getItemCount()).isEqualTo(3);
-        assertThat(result.getOrderLines()).hasSize(1);
+        assertThat(result.orderId()).isEqualTo(savedOrder.getId());
+        assertThat(result.status()).isEqualTo("PENDING");
+        assertThat(result.totalAmount()).isEqualTo(new BigDecimal("37.50"));
+        assertThat(result.itemCount()).isEqualTo(3);
+        assertThat(result.orderLines()).hasSize(1);
 
         verify(session).setAttribute(eq("orderId"), any(UUID.class));
         verify(orderRepository).save(any(Order.class));
         verify(orderLineRepository).save(any(OrderLine.class));
+        verify(popularItemsTracker).record(testMenuItemId, 3);
     }
 
     @Test
@@ -116,7 +130,7 @@ class AddItemToOrderActionTest {
 
         Order existingOrder = Order.builder()
                 .id(existingOrderId)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("20.00"))
                 .build();
         when(orderRepository.findById(existingOrderId)).thenReturn(Optional.of(existingOrder));
@@ -150,14 +164,43 @@ class AddItemToOrderActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderId()).isEqualTo(existingOrderId);
-        assertThat(result.getTotalAmount()).isEqualTo(new BigDecimal("57.50")); // 20.00 + 37.50
-        assertThat(result.getItemCount()).isEqualTo(5); // 2 + 3
+        assertThat(result.orderId()).isEqualTo(existingOrderId);
+        assertThat(result.totalAmount()).isEqualTo(new BigDecimal("57.50")); // 20.00 + 37.50
+        assertThat(result.itemCount()).isEqualTo(5); // 2 + 3
 
         verify(orderLineRepository).save(any(OrderLine.class));
         verify(orderRepository).save(existingOrder);
     }
 
+    @Test
+    void shouldStartNewOrderWhenSessionOrderHasExpired() {
+        // Given: The session still points at a cart that has expired
+        UUID expiredOrderId = UUID.randomUUID();
+        when(session.getAttribute("orderId")).thenReturn(expiredOrderId);
+        when(orderRepository.findById(expiredOrderId)).thenReturn(Optional.of(Order.builder()
+                .id(expiredOrderId)
+                .status(OrderStatus.EXPIRED)
+                .totalAmount(new BigDecimal("20.00"))
+                .build()));
+        when(menuItemRepository.findById(testMenuItemId)).thenReturn(Optional.of(testMenuItem));
+
+        Order savedOrder = Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.ZERO)
+                .build();
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+        when(orderLineRepository.findByOrderId(savedOrder.getId())).thenReturn(List.of());
+        when(orderLineRepository.save(any(OrderLine.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OrderSummaryDTO result = addItemToOrderAction.execute(testRequest, session);
+
+        // Then
+        assertThat(result.orderId()).isEqualTo(savedOrder.getId());
+        verify(session).setAttribute("orderId", savedOrder.getId());
+    }
+
     @Test
     void shouldUpdateQuantityWhenSameItemAddedAgain() {
         // Given: Order exists with same menu item already added
@@ -166,7 +209,7 @@ class AddItemToOrderActionTest {
 
         Order existingOrder = Order.builder()
                 .id(existingOrderId)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("25.00"))
                 .build();
         when(orderRepository.findById(existingOrderId)).thenReturn(Optional.of(existingOrder));
@@ -190,8 +233,8 @@ class AddItemToOrderActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getTotalAmount()).isEqualTo(new BigDecimal("62.50")); // 5 * 12.50
-        assertThat(result.getItemCount()).isEqualTo(5);
+        assertThat(result.totalAmount()).isEqualTo(new BigDecimal("62.50")); // 5 * 12.50
+        assertThat(result.itemCount()).isEqualTo(5);
 
         verify(orderLineRepository).save(argThat(line ->
             line.getQuantity() == 5 &&
@@ -235,7 +278,7 @@ class AddItemToOrderActionTest {
 
         Order existingOrder = Order.builder()
                 .id(existingOrderId)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("480.00"))
                 .build();
         when(orderRepository.findById(existingOrderId)).thenReturn(Optional.of(existingOrder));
@@ -297,7 +340,7 @@ class AddItemToOrderActionTest {
 
         Order savedOrder = Order.builder()
                 .id(UUID.randomUUID())
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("37.50"))
                 .build();
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
@@ -320,7 +363,7 @@ class AddItemToOrderActionTest {
 
         Order savedOrder = Order.builder()
                 .id(UUID.randomUUID())
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("37.50"))
                 .build();
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
@@ -342,7 +385,7 @@ class AddItemToOrderActionTest {
 
         Order existingOrder = Order.builder()
                 .id(existingOrderId)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("50.00"))
                 .build();
         when(orderRepository.findById(existingOrderId)).thenReturn(Optional.of(existingOrder));
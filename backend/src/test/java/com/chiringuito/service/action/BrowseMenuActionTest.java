@@ -62,9 +62,9 @@ class BrowseMenuActionTest {
 
         // Then
         assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("Paella Valenciana");
-        assertThat(result.get(0).getPrice()).isEqualByComparingTo(new BigDecimal("12.50"));
-        assertThat(result.get(1).getName()).isEqualTo("Tortilla Española");
+        assertThat(result.get(0).name()).isEqualTo("Paella Valenciana");
+        assertThat(result.get(0).price()).isEqualByComparingTo(new BigDecimal("12.50"));
+        assertThat(result.get(1).name()).isEqualTo("Tortilla Española");
     }
 
     @Test
@@ -92,11 +92,11 @@ class BrowseMenuActionTest {
         // Then
         assertThat(result).hasSize(1);
         MenuItemDTO dto = result.get(0);
-        assertThat(dto.getId()).isEqualTo(paella.getId());
-        assertThat(dto.getName()).isEqualTo(paella.getName());
-        assertThat(dto.getDescription()).isEqualTo(paella.getDescription());
-        assertThat(dto.getPrice()).isEqualByComparingTo(paella.getPrice());
-        assertThat(dto.getImageUrl()).isEqualTo(paella.getImageUrl());
-        assertThat(dto.getAvailable()).isEqualTo(paella.getAvailable());
+        assertThat(dto.id()).isEqualTo(paella.getId());
+        assertThat(dto.name()).isEqualTo(paella.getName());
+        assertThat(dto.description()).isEqualTo(paella.getDescription());
+        assertThat(dto.price()).isEqualByComparingTo(paella.getPrice());
+        assertThat(dto.imageUrl()).isEqualTo(paella.getImageUrl());
+        assertThat(dto.available()).isEqualTo(paella.getAvailable());
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.chiringuito.service.action;
 
 import com.chiringuito.domain.entity.MenuItem;
 import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
 import com.chiringuito.domain.entity.OrderLine;
 import com.chiringuito.domain.repository.MenuItemRepository;
 import com.chiringuito.domain.repository.OrderLineRepository;
@@ -54,7 +55,7 @@ class GetCartActionTest {
 
         testOrder = Order.builder()
                 .id(testOrderId)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("50.00"))
                 .build();
 
@@ -133,11 +134,11 @@ class GetCartActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderId()).isEqualTo(testOrderId);
-        assertThat(result.getStatus()).isEqualTo("PENDING");
-        assertThat(result.getTotalAmount()).isEqualTo(BigDecimal.ZERO);
-        assertThat(result.getItemCount()).isEqualTo(0);
-        assertThat(result.getOrderLines()).isEmpty();
+        assertThat(result.orderId()).isEqualTo(testOrderId);
+        assertThat(result.status()).isEqualTo("PENDING");
+        assertThat(result.totalAmount()).isEqualTo(BigDecimal.ZERO);
+        assertThat(result.itemCount()).isEqualTo(0);
+        assertThat(result.orderLines()).isEmpty();
     }
 
     @Test
@@ -153,16 +154,16 @@ class GetCartActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderId()).isEqualTo(testOrderId);
-        assertThat(result.getStatus()).isEqualTo("PENDING");
-        assertThat(result.getTotalAmount()).isEqualTo(new BigDecimal("25.00"));
-        assertThat(result.getItemCount()).isEqualTo(2);
-        assertThat(result.getOrderLines()).hasSize(1);
-
-        assertThat(result.getOrderLines().get(0).getMenuItemName()).isEqualTo("Paella Valenciana");
-        assertThat(result.getOrderLines().get(0).getQuantity()).isEqualTo(2);
-        assertThat(result.getOrderLines().get(0).getUnitPrice()).isEqualTo(new BigDecimal("12.50"));
-        assertThat(result.getOrderLines().get(0).getLineTotal()).isEqualTo(new BigDecimal("25.00"));
+        assertThat(result.orderId()).isEqualTo(testOrderId);
+        assertThat(result.status()).isEqualTo("PENDING");
+        assertThat(result.totalAmount()).isEqualTo(new BigDecimal("25.00"));
+        assertThat(result.itemCount()).isEqualTo(2);
+        assertThat(result.orderLines()).hasSize(1);
+
+        assertThat(result.orderLines().get(0).menuItemName()).isEqualTo("Paella Valenciana");
+        assertThat(result.orderLines().get(0).quantity()).isEqualTo(2);
+        assertThat(result.orderLines().get(0).unitPrice()).isEqualTo(new BigDecimal("12.50"));
+        assertThat(result.orderLines().get(0).lineTotal()).isEqualTo(new BigDecimal("25.00"));
     }
 
     @Test
@@ -179,11 +180,11 @@ class GetCartActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderId()).isEqualTo(testOrderId);
-        assertThat(result.getStatus()).isEqualTo("PENDING");
-        assertThat(result.getTotalAmount()).isEqualTo(new BigDecimal("49.00")); // 25.00 + 24.00
-        assertThat(result.getItemCount()).isEqualTo(6); // 2 + 4
-        assertThat(result.getOrderLines()).hasSize(2);
+        assertThat(result.orderId()).isEqualTo(testOrderId);
+        assertThat(result.status()).isEqualTo("PENDING");
+        assertThat(result.totalAmount()).isEqualTo(new BigDecimal("49.00")); // 25.00 + 24.00
+        assertThat(result.itemCount()).isEqualTo(6); // 2 + 4
+        assertThat(result.orderLines()).hasSize(2);
     }
 
     @Test
@@ -198,7 +199,7 @@ class GetCartActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderId()).isEqualTo(testOrderId);
+        assertThat(result.orderId()).isEqualTo(testOrderId);
     }
 
     @Test
@@ -213,7 +214,7 @@ class GetCartActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderId()).isEqualTo(testOrderId);
+        assertThat(result.orderId()).isEqualTo(testOrderId);
     }
 
     @Test
@@ -229,8 +230,8 @@ class GetCartActionTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getOrderLines()).hasSize(1);
-        assertThat(result.getOrderLines().get(0).getMenuItemName()).isEqualTo("Unknown Item");
+        assertThat(result.orderLines()).hasSize(1);
+        assertThat(result.orderLines().get(0).menuItemName()).isEqualTo("Unknown Item");
     }
 
     @Test
@@ -247,7 +248,7 @@ class GetCartActionTest {
 
         // Then: Total should be sum of line totals
         BigDecimal expectedTotal = testOrderLine1.getLineTotal().add(testOrderLine2.getLineTotal());
-        assertThat(result.getTotalAmount()).isEqualTo(expectedTotal);
+        assertThat(result.totalAmount()).isEqualTo(expectedTotal);
     }
 
     @Test
@@ -264,6 +265,6 @@ class GetCartActionTest {
 
         // Then: Item count should be sum of quantities
         int expectedItemCount = testOrderLine1.getQuantity() + testOrderLine2.getQuantity();
-        assertThat(result.getItemCount()).isEqualTo(expectedItemCount);
+        assertThat(result.itemCount()).isEqualTo(expectedItemCount);
     }
 }
\ No newline at end of file
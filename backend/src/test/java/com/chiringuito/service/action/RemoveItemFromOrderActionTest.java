@@ -1,9 +1,12 @@
 package com.chiringuito.service.action;
 
 import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
 import com.chiringuito.domain.entity.OrderLine;
 import com.chiringuito.domain.repository.OrderLineRepository;
 import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.slot.PickupSlotLedger;
+import com.chiringuito.service.stock.StockLedger;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +34,12 @@ class RemoveItemFromOrderActionTest {
     @Mock
     private OrderLineRepository orderLineRepository;
 
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private PickupSlotLedger pickupSlotLedger;
+
     @Mock
     private HttpSession session;
 
@@ -50,7 +59,7 @@ class RemoveItemFromOrderActionTest {
         // Create order
         order = Order.builder()
                 .id(orderId)
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("10.00"))
                 .build();
 
@@ -0,0 +1,161 @@
+package com.chiringuito.service.action;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.OrderHistoryPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewOrderHistoryActionTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderLineRepository orderLineRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @InjectMocks
+    private ViewOrderHistoryAction viewOrderHistoryAction;
+
+    private MenuItem paella;
+    private Order newest;
+    private Order middle;
+    private Order oldest;
+
+    @BeforeEach
+    void setUp() {
+        paella = MenuItem.builder()
+                .id(UUID.randomUUID())
+                .name("Paella Valenciana")
+                .price(new BigDecimal("12.50"))
+                .available(true)
+                .build();
+
+        LocalDateTime now = LocalDateTime.of(2025, 7, 15, 14, 0);
+        newest = order(now);
+        middle = order(now.minusMinutes(5));
+        oldest = order(now.minusMinutes(10));
+    }
+
+    @Test
+    void execute_shouldReturnFirstPageWithCursorWhenMoreOrdersExist() {
+        // Given
+        when(orderRepository.findHistory(Limit.of(3))).thenReturn(List.of(newest, middle, oldest));
+        when(orderLineRepository.findHistoryByOrderIdIn(List.of(newest.getId(), middle.getId())))
+                .thenReturn(List.of(line(newest, 2), line(middle, 1)));
+        when(menuItemRepository.findAllById(Set.of(paella.getId()))).thenReturn(List.of(paella));
+
+        // When
+        OrderHistoryPageDTO page = viewOrderHistoryAction.execute(null, null, 2);
+
+        // Then
+        assertThat(page.getOrders()).hasSize(2);
+        assertThat(page.getOrders().get(0).getOrderId()).isEqualTo(newest.getId());
+        assertThat(page.getOrders().get(0).getItemCount()).isEqualTo(2);
+        assertThat(page.getOrders().get(0).getOrderLines().get(0).menuItemName()).isEqualTo("Paella Valenciana");
+        assertThat(page.getNextCursor()).isNotNull();
+
+        OrderHistoryCursor cursor = OrderHistoryCursor.decode(page.getNextCursor());
+        assertThat(cursor.createdAt()).isEqualTo(middle.getCreatedAt());
+        assertThat(cursor.id()).isEqualTo(middle.getId());
+    }
+
+    @Test
+    void execute_shouldSeekPastCursorAndEndWithoutNextCursor() {
+        // Given
+        String cursor = new OrderHistoryCursor(middle.getCreatedAt(), middle.getId()).encode();
+        when(orderRepository.findHistoryAfter(middle.getCreatedAt(), middle.getId(), Limit.of(3)))
+                .thenReturn(List.of(oldest));
+        when(orderLineRepository.findHistoryByOrderIdIn(List.of(oldest.getId()))).thenReturn(List.of());
+        when(menuItemRepository.findAllById(Set.of())).thenReturn(List.of());
+
+        // When
+        OrderHistoryPageDTO page = viewOrderHistoryAction.execute(List.of(), cursor, 2);
+
+        // Then
+        assertThat(page.getOrders()).extracting("orderId").containsExactly(oldest.getId());
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void execute_shouldFilterByNormalizedStatuses() {
+        // Given
+        when(orderRepository.findHistoryByStatus(Set.of(OrderStatus.READY.code(), OrderStatus.PICKED_UP.code()), Limit.of(21))).thenReturn(List.of());
+
+        // When
+        OrderHistoryPageDTO page = viewOrderHistoryAction.execute(List.of("ready", " PICKED_UP"), null, 20);
+
+        // Then
+        assertThat(page.getOrders()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        verifyNoInteractions(orderLineRepository, menuItemRepository);
+    }
+
+    @Test
+    void execute_shouldRejectUnknownStatus() {
+        assertThatThrownBy(() -> viewOrderHistoryAction.execute(List.of("COOKING"), null, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown order status");
+    }
+
+    @Test
+    void execute_shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> viewOrderHistoryAction.execute(null, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        verify(orderRepository, never()).findHistoryAfter(any(), any(), any());
+    }
+
+    @Test
+    void execute_shouldRejectPageSizeOutOfRange() {
+        assertThatThrownBy(() -> viewOrderHistoryAction.execute(null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> viewOrderHistoryAction.execute(null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Order order(LocalDateTime createdAt) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.PICKED_UP)
+                .totalAmount(new BigDecimal("12.50"))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private OrderLine line(Order order, int quantity) {
+        return OrderLine.builder()
+                .id(UUID.randomUUID())
+                .orderId(order.getId())
+                .menuItemId(paella.getId())
+                .quantity(quantity)
+                .unitPrice(paella.getPrice())
+                .lineTotal(paella.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.chiringuito.service.cart;
+
+import com.chiringuito.domain.entity.CartEvent;
+import com.chiringuito.domain.entity.CartEventType;
+import com.chiringuito.domain.entity.CartEventTypeConverter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartStateTest {
+
+    private final UUID cartId = UUID.randomUUID();
+    private final UUID paella = UUID.randomUUID();
+    private final UUID sangria = UUID.randomUUID();
+
+    @Test
+    void apply_shouldFoldEventsIntoLinesAndTotals() {
+        CartState state = CartState.empty(cartId)
+                .apply(event(1, CartEventType.ITEM_ADDED, paella, 2, "15.00"))
+                .apply(event(2, CartEventType.ITEM_ADDED, sangria, 1, "4.50"))
+                .apply(event(3, CartEventType.ITEM_ADDED, paella, 1, "16.00"))
+                .apply(event(4, CartEventType.QUANTITY_SET, sangria, 3, null));
+
+        assertThat(state.sequence()).isEqualTo(4);
+        assertThat(state.lines()).extracting(CartState.CartLine::menuItemId).containsExactly(paella, sangria);
+        // A repeated addition captures the latest price for the whole line, like the row model
+        assertThat(state.line(paella).quantity()).isEqualTo(3);
+        assertThat(state.line(paella).unitPrice()).isEqualByComparingTo("16.00");
+        assertThat(state.line(sangria).quantity()).isEqualTo(3);
+        assertThat(state.itemCount()).isEqualTo(6);
+        assertThat(state.totalAmount()).isEqualByComparingTo("61.50");
+
+        CartState removed = state.apply(event(5, CartEventType.ITEM_REMOVED, paella, null, null));
+        assertThat(removed.lines()).extracting(CartState.CartLine::menuItemId).containsExactly(sangria);
+        assertThat(state.line(paella)).as("earlier states are unchanged").isNotNull();
+    }
+
+    @Test
+    void apply_shouldCloseTheCartOnCheckout() {
+        CartState state = CartState.empty(cartId)
+                .apply(event(1, CartEventType.ITEM_ADDED, paella, 1, "15.00"))
+                .apply(event(2, CartEventType.CHECKED_OUT, null, null, null));
+
+        assertThat(state.isCheckedOut()).isTrue();
+        assertThat(state.itemCount()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_shouldRejectEventsOutOfSequence() {
+        CartState state = CartState.fromSnapshot(cartId, 5,
+                List.of(new CartState.CartLine(paella, 2, new BigDecimal("15.00"))));
+
+        assertThatThrownBy(() -> state.apply(event(5, CartEventType.ITEM_REMOVED, paella, null, null)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> state.apply(event(7, CartEventType.ITEM_REMOVED, paella, null, null)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(state.apply(event(6, CartEventType.ITEM_REMOVED, paella, null, null)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void eventTypeCodes_shouldRoundTripAndBeUnique() {
+        CartEventTypeConverter converter = new CartEventTypeConverter();
+
+        for (CartEventType type : CartEventType.values()) {
+            assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(type))).isEqualTo(type);
+        }
+        assertThat(Arrays.stream(CartEventType.values()).map(CartEventType::code).distinct())
+                .hasSize(CartEventType.values().length);
+    }
+
+    private CartEvent event(int sequence, CartEventType type, UUID menuItemId, Integer quantity, String unitPrice) {
+        return CartEvent.builder()
+                .cartId(cartId)
+                .sequence(sequence)
+                .type(type)
+                .menuItemId(menuItemId)
+                .quantity(quantity)
+                .unitPrice(unitPrice != null ? new BigDecimal(unitPrice) : null)
+                .build();
+    }
+}
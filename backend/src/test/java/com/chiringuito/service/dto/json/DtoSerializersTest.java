@@ -0,0 +1,52 @@
+package com.chiringuito.service.dto.json;
+
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.dto.OrderLineDTO;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DtoSerializersTest {
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+    private final ObjectMapper cbor = new CBORMapper().findAndRegisterModules();
+
+    @Test
+    void orderSummary_shouldWriteMoneyWithTwoDecimalsAndUuidsAsStrings() throws Exception {
+        UUID orderId = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+        UUID lineId = UUID.fromString("00000000-0000-0001-0000-000000000002");
+        UUID menuItemId = UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff");
+        OrderSummaryDTO summary = new OrderSummaryDTO(orderId, "PAID", "A-7", new BigDecimal("25"), 2, List.of(
+                new OrderLineDTO(lineId, menuItemId, "Paella \"mixta\"", 2, new BigDecimal("12.5"), new BigDecimal("25.005"))));
+
+        assertThat(json.writeValueAsString(summary)).isEqualTo(
+                "{\"orderId\":\"0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0\",\"status\":\"PAID\",\"referenceNumber\":\"A-7\",\"totalAmount\":25.00,"
+                        + "\"itemCount\":2,\"orderLines\":[{\"orderLineId\":\"00000000-0000-0001-0000-000000000002\","
+                        + "\"menuItemId\":\"ffffffff-ffff-ffff-ffff-ffffffffffff\",\"menuItemName\":\"Paella \\\"mixta\\\"\","
+                        + "\"quantity\":2,\"unitPrice\":12.50,\"lineTotal\":25.01}]}");
+    }
+
+    @Test
+    void menuItem_shouldWriteNullsNegativeAndLargeAmounts() throws Exception {
+        assertThat(json.writeValueAsString(new MenuItemDTO(null, "Refund", null, new BigDecimal("-0.5"), null, null)))
+                .isEqualTo("{\"id\":null,\"name\":\"Refund\",\"description\":null,\"price\":-0.50,\"imageUrl\":null,\"available\":null}");
+        assertThat(json.writeValueAsString(new MenuItemDTO(null, "Yacht", null, new BigDecimal("12345678901234567.891"), null, true)))
+                .contains("\"price\":12345678901234567.89,");
+    }
+
+    @Test
+    void orderSummary_shouldRoundTripThroughJsonAndCbor() throws Exception {
+        OrderSummaryDTO summary = new OrderSummaryDTO(UUID.randomUUID(), "PENDING", null, new BigDecimal("37.50"), 3, List.of(
+                new OrderLineDTO(UUID.randomUUID(), UUID.randomUUID(), "Sangria", 3, new BigDecimal("12.50"), new BigDecimal("37.50"))));
+
+        assertThat(json.readValue(json.writeValueAsBytes(summary), OrderSummaryDTO.class)).isEqualTo(summary);
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(summary), OrderSummaryDTO.class)).isEqualTo(summary);
+    }
+}
@@ -0,0 +1,118 @@
+package com.chiringuito.service.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: messages are published in transactions of their own
+@SpringBootTest
+@ActiveProfiles("local")
+class JdbcInvalidationBusTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcInvalidationBus nodeA;
+    private JdbcInvalidationBus nodeB;
+    private final List<InvalidationMessage> receivedByB = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from cache_invalidations");
+        // Two buses over the same table, as on two nodes
+        nodeA = bus("node-a");
+        nodeB = bus("node-b");
+        nodeB.subscribe(CacheRegion.MENU_ITEM, receivedByB::add);
+    }
+
+    @Test
+    void poll_shouldDeliverMessagesPublishedByOtherNodesOnce() {
+        UUID paella = UUID.randomUUID();
+
+        nodeA.publish(CacheRegion.MENU_ITEM, paella, 4);
+
+        assertThat(nodeA.poll()).as("own messages were delivered when published").isZero();
+        assertThat(nodeB.poll()).isEqualTo(1);
+        assertThat(nodeB.poll()).isZero();
+        assertThat(receivedByB).singleElement().satisfies(message -> {
+            assertThat(message.key()).isEqualTo(paella);
+            assertThat(message.version()).isEqualTo(4);
+            assertThat(message.originNode()).isEqualTo("node-a");
+        });
+    }
+
+    @Test
+    void poll_shouldIgnoreStaleVersions() {
+        UUID paella = UUID.randomUUID();
+
+        nodeA.publish(CacheRegion.MENU_ITEM, paella, 5);
+        nodeB.poll();
+        bus("node-c").publish(CacheRegion.MENU_ITEM, paella, 4);
+        nodeB.poll();
+
+        assertThat(receivedByB).extracting(InvalidationMessage::version).containsExactly(5L);
+    }
+
+    @Test
+    void poll_shouldDeliverMessagesFromNodesWithSkewedClocks() {
+        JdbcInvalidationBus lagging = new JdbcInvalidationBus("node-c", new SimpleMeterRegistry(), jdbcTemplate,
+                transactionManager, Duration.ofMinutes(1), Clock.offset(Clock.systemUTC(), Duration.ofMinutes(-10)));
+        nodeB.poll();
+
+        lagging.publish(CacheRegion.MENU_ITEM, UUID.randomUUID(), 1);
+
+        assertThat(nodeB.poll()).isEqualTo(1);
+    }
+
+    @Test
+    void poll_shouldDeliverRowsCommittedOutOfIdOrder() {
+        nodeA.publish(CacheRegion.MENU_ITEM, UUID.randomUUID(), 1);
+        nodeA.publish(CacheRegion.MENU_ITEM, UUID.randomUUID(), 1);
+        // The first row is not committed yet when node B polls
+        Map<String, Object> first = jdbcTemplate.queryForMap("select * from cache_invalidations order by id limit 1");
+        jdbcTemplate.update("delete from cache_invalidations where id = ?", first.get("id"));
+
+        assertThat(nodeB.poll()).isEqualTo(1);
+
+        jdbcTemplate.update("""
+                        insert into cache_invalidations (id, region_code, entity_key, entity_version, origin_node, published_at)
+                        values (?, ?, ?, ?, ?, ?)""",
+                first.get("id"), first.get("region_code"), first.get("entity_key"), first.get("entity_version"),
+                first.get("origin_node"), first.get("published_at"));
+
+        assertThat(nodeB.poll()).isEqualTo(1);
+        assertThat(nodeB.poll()).isZero();
+        assertThat(receivedByB).hasSize(2);
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteMessagesPastRetention() {
+        nodeA.publish(CacheRegion.CART, UUID.randomUUID(), 1);
+        jdbcTemplate.update("update cache_invalidations set published_at = published_at - 120000");
+
+        assertThat(nodeA.purgeExpired()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from cache_invalidations", Integer.class)).isZero();
+    }
+
+    private JdbcInvalidationBus bus(String nodeId) {
+        return new JdbcInvalidationBus(nodeId, new SimpleMeterRegistry(), jdbcTemplate, transactionManager,
+                Duration.ofMinutes(1), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,67 @@
+package com.chiringuito.service.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalInvalidationBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalInvalidationBus bus = new LocalInvalidationBus("node-a", meterRegistry, Clock.systemUTC());
+
+    @Test
+    void publish_shouldDeliverToSubscribersOfTheRegionOnly() {
+        List<InvalidationMessage> menu = new ArrayList<>();
+        List<InvalidationMessage> carts = new ArrayList<>();
+        bus.subscribe(CacheRegion.MENU_ITEM, menu::add);
+        bus.subscribe(CacheRegion.CART, carts::add);
+        UUID paella = UUID.randomUUID();
+
+        bus.publish(CacheRegion.MENU_ITEM, paella, 3);
+
+        assertThat(menu).singleElement().satisfies(message -> {
+            assertThat(message.key()).isEqualTo(paella);
+            assertThat(message.version()).isEqualTo(3);
+            assertThat(message.originNode()).isEqualTo("node-a");
+        });
+        assertThat(carts).isEmpty();
+        assertThat(meterRegistry.get("chiringuito.invalidation.delay").tag("region", "MENU_ITEM").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void publish_shouldDropMessagesNotNewerThanTheLastDelivered() {
+        List<Long> delivered = new ArrayList<>();
+        bus.subscribe(CacheRegion.MENU_ITEM, message -> delivered.add(message.version()));
+        UUID paella = UUID.randomUUID();
+
+        bus.publish(CacheRegion.MENU_ITEM, paella, 2);
+        bus.publish(CacheRegion.MENU_ITEM, paella, 1);
+        bus.publish(CacheRegion.MENU_ITEM, paella, 2);
+        bus.publish(CacheRegion.MENU_ITEM, paella, 3);
+        bus.publish(CacheRegion.MENU_ITEM, UUID.randomUUID(), 1);
+
+        assertThat(delivered).containsExactly(2L, 3L, 1L);
+        assertThat(meterRegistry.get("chiringuito.invalidation.stale").tag("region", "MENU_ITEM").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void publish_shouldKeepDeliveringWhenASubscriberFails() {
+        List<InvalidationMessage> delivered = new ArrayList<>();
+        bus.subscribe(CacheRegion.CART, message -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe(CacheRegion.CART, delivered::add);
+
+        bus.publish(CacheRegion.CART, UUID.randomUUID(), 1);
+
+        assertThat(delivered).hasSize(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.chiringuito.service.kitchen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KitchenSchedulerTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 7, 15, 12, 0);
+
+    private PrepTimeEstimator estimator;
+    private KitchenScheduler scheduler;
+
+    private final UUID paella = UUID.randomUUID();
+    private final UUID sangria = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        estimator = new PrepTimeEstimator(Duration.ofMinutes(5), 0.5);
+        scheduler = new KitchenScheduler(estimator, 1.0);
+        // Teach the estimator: paella takes 10 minutes, sangria 1
+        for (int i = 0; i < 20; i++) {
+            estimator.observe(Map.of(paella, 1), Duration.ofMinutes(10));
+            estimator.observe(Map.of(sangria, 1), Duration.ofMinutes(1));
+        }
+    }
+
+    @Test
+    void observe_shouldConvergeOnEachItemsPrepTime() {
+        assertThat(estimator.estimate(paella).toSeconds()).isBetween(590L, 610L);
+        assertThat(estimator.estimate(sangria).toSeconds()).isBetween(59L, 61L);
+        assertThat(estimator.estimate(Map.of(paella, 1, sangria, 2)).toSeconds()).isBetween(710L, 730L);
+        assertThat(estimator.estimate(UUID.randomUUID())).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void schedule_shouldLetShortOrdersOvertakeLongOnesPaidShortlyBefore() {
+        UUID paellaOrder = UUID.randomUUID();
+        UUID sangriaOrder = UUID.randomUUID();
+
+        List<KitchenScheduler.ScheduledOrder> schedule = scheduler.schedule(
+                Map.of(paellaOrder, Map.of(paella, 1), sangriaOrder, Map.of(sangria, 1)),
+                Map.of(paellaOrder, NOON, sangriaOrder, NOON.plusMinutes(2)),
+                NOON.plusMinutes(3));
+
+        assertThat(schedule).extracting(KitchenScheduler.ScheduledOrder::orderId).containsExactly(sangriaOrder, paellaOrder);
+        assertThat(schedule.get(0).estimatedReadyAt()).isEqualTo(NOON.plusMinutes(4));
+        assertThat(schedule.get(1).estimatedReadyAt()).isEqualTo(NOON.plusMinutes(14));
+    }
+
+    @Test
+    void schedule_shouldNotLetShortOrdersOvertakeOnesThatAgedEnough() {
+        UUID paellaOrder = UUID.randomUUID();
+        UUID sangriaOrder = UUID.randomUUID();
+
+        // Paid 10 minutes apart: more than the 9 minute difference in prep time
+        List<KitchenScheduler.ScheduledOrder> schedule = scheduler.schedule(
+                Map.of(paellaOrder, Map.of(paella, 1), sangriaOrder, Map.of(sangria, 1)),
+                Map.of(paellaOrder, NOON, sangriaOrder, NOON.plusMinutes(10)),
+                NOON.plusMinutes(10));
+
+        assertThat(schedule).extracting(KitchenScheduler.ScheduledOrder::orderId).containsExactly(paellaOrder, sangriaOrder);
+    }
+
+    @Test
+    void completed_shouldLearnFromTheTimeSinceThePreviousOrderWasReady() {
+        UUID tapas = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // Both paid at noon, the second one is only started once the first is ready
+        scheduler.completed(first, Map.of(tapas, 1), NOON, NOON.plusMinutes(5));
+        scheduler.completed(second, Map.of(tapas, 1), NOON, NOON.plusMinutes(15));
+
+        // 5 then 10 minutes observed: the second moves the 5 minute estimate halfway towards 10
+        assertThat(estimator.estimate(tapas)).isEqualTo(Duration.ofSeconds(450));
+    }
+}
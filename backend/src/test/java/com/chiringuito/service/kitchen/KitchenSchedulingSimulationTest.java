@@ -0,0 +1,146 @@
+package com.chiringuito.service.kitchen;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays synthetic order streams through {@link KitchenScheduler} with a single cook working one
+ * order at a time, and compares the wait from payment to ready under FIFO, pure
+ * shortest-prep-first and shortest-prep-first with aging. Prep estimates start from the default
+ * and are learned from the simulated ready times, as in production.
+ * <p>
+ * The stream is a Poisson process at about 90% kitchen utilization, mixing drinks (~1 min),
+ * tapas (~4 min) and paellas (~10 min), with log-normal noise on actual prep times.
+ */
+class KitchenSchedulingSimulationTest {
+
+    private static final LocalDateTime OPENING = LocalDateTime.of(2025, 7, 15, 12, 0);
+    private static final int RUNS = 20;
+    private static final Duration SERVICE = Duration.ofHours(4);
+    private static final double UTILIZATION = 0.9;
+
+    private static final UUID DRINK = UUID.randomUUID();
+    private static final UUID TAPAS = UUID.randomUUID();
+    private static final UUID PAELLA = UUID.randomUUID();
+    private static final List<Dish> DISHES = List.of(
+            new Dish(DRINK, 60, 0.6),
+            new Dish(TAPAS, 240, 0.3),
+            new Dish(PAELLA, 600, 0.1));
+
+    @Test
+    void shortestPrepFirstWithAging_shouldCutMeanWaitWithoutStarvingLongOrders() {
+        Map<String, Double> agingWeights = new LinkedHashMap<>();
+        agingWeights.put("fifo", 1e6);
+        agingWeights.put("spf", 0.0);
+        agingWeights.put("spf+aging", 0.2);
+
+        Map<String, List<Double>> waits = new LinkedHashMap<>();
+        agingWeights.keySet().forEach(policy -> waits.put(policy, new ArrayList<>()));
+        for (int run = 0; run < RUNS; run++) {
+            List<SimulatedOrder> stream = generate(new Random(run));
+            agingWeights.forEach((policy, weight) -> waits.get(policy).addAll(replay(stream, weight)));
+        }
+
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        waits.forEach((policy, samples) -> stats.put(policy, Stats.of(samples)));
+        Stats fifo = stats.get("fifo");
+        Stats spf = stats.get("spf");
+        Stats aging = stats.get("spf+aging");
+        // Against the FIFO baseline: shorter waits for most orders, and the longest wait of a
+        // long order grows by a bounded amount instead of without limit as under pure spf
+        assertThat(aging.mean()).isLessThan(fifo.mean() * 0.8);
+        assertThat(aging.p95()).isLessThan(fifo.p95() * 0.9);
+        assertThat(aging.max()).isLessThan(fifo.max() * 1.5);
+        assertThat(aging.max()).isLessThan(spf.max());
+    }
+
+    // One cook, one order at a time, picking the head of the schedule whenever free
+    private static List<Double> replay(List<SimulatedOrder> stream, double agingWeight) {
+        KitchenScheduler scheduler = new KitchenScheduler(new PrepTimeEstimator(Duration.ofMinutes(5), 0.2), agingWeight);
+        Map<UUID, SimulatedOrder> waiting = new HashMap<>();
+        List<Double> waits = new ArrayList<>(stream.size());
+        double clock = 0;
+        int next = 0;
+        while (next < stream.size() || !waiting.isEmpty()) {
+            if (waiting.isEmpty()) {
+                clock = Math.max(clock, stream.get(next).paidAt());
+            }
+            while (next < stream.size() && stream.get(next).paidAt() <= clock) {
+                SimulatedOrder order = stream.get(next++);
+                waiting.put(order.id(), order);
+            }
+
+            Map<UUID, Map<UUID, Integer>> quantities = new HashMap<>();
+            Map<UUID, LocalDateTime> paidAt = new HashMap<>();
+            waiting.values().forEach(order -> {
+                quantities.put(order.id(), Map.of(order.menuItemId(), 1));
+                paidAt.put(order.id(), at(order.paidAt()));
+            });
+            UUID head = scheduler.schedule(quantities, paidAt, at(clock)).getFirst().orderId();
+
+            SimulatedOrder order = waiting.remove(head);
+            clock += order.prepSeconds();
+            waits.add(clock - order.paidAt());
+            scheduler.completed(order.id(), Map.of(order.menuItemId(), 1), at(order.paidAt()), at(clock));
+        }
+        return waits;
+    }
+
+    private static List<SimulatedOrder> generate(Random random) {
+        double meanPrep = DISHES.stream().mapToDouble(dish -> dish.seconds() * dish.share()).sum();
+        double arrivalRate = UTILIZATION / meanPrep;
+        List<SimulatedOrder> stream = new ArrayList<>();
+        double t = 0;
+        while (true) {
+            t += -Math.log(1 - random.nextDouble()) / arrivalRate;
+            if (t >= SERVICE.toSeconds()) {
+                return stream;
+            }
+            Dish dish = pick(random);
+            double noise = Math.exp(0.25 * random.nextGaussian() - 0.25 * 0.25 / 2);
+            stream.add(new SimulatedOrder(UUID.randomUUID(), dish.menuItemId(), t, dish.seconds() * noise));
+        }
+    }
+
+    private static Dish pick(Random random) {
+        double r = random.nextDouble();
+        for (Dish dish : DISHES) {
+            r -= dish.share();
+            if (r < 0) {
+                return dish;
+            }
+        }
+        return DISHES.getLast();
+    }
+
+    private static LocalDateTime at(double seconds) {
+        return OPENING.plusNanos(Math.round(seconds * 1e9));
+    }
+
+    private record Dish(UUID menuItemId, double seconds, double share) {}
+
+    private record SimulatedOrder(UUID id, UUID menuItemId, double paidAt, double prepSeconds) {}
+
+    private record Stats(double mean, double p95, double max) {
+
+        static Stats of(List<Double> samples) {
+            double[] sorted = samples.stream().mapToDouble(Double::doubleValue).toArray();
+            Arrays.sort(sorted);
+            return new Stats(Arrays.stream(sorted).average().orElse(0),
+                    sorted[(int) Math.ceil(sorted.length * 0.95) - 1],
+                    sorted[sorted.length - 1]);
+        }
+    }
+}
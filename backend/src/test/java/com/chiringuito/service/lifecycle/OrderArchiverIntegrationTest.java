@@ -0,0 +1,160 @@
+package com.chiringuito.service.lifecycle;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.entity.OrderStatusChange;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.domain.repository.OrderStatusChangeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+@Transactional
+class OrderArchiverIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private AbandonedCartExpirer abandonedCartExpirer;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private OrderStatusChangeRepository orderStatusChangeRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MenuItem paella;
+
+    @BeforeEach
+    void setUp() {
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+        paella = menuItemRepository.findByAvailableTrueOrderByNameAsc().getFirst();
+    }
+
+    @Test
+    void expireAbandonedCarts_shouldExpireOnlyOldPendingOrders() {
+        Order oldCart = createOrder(OrderStatus.PENDING, LocalDateTime.now().minusHours(5));
+        Order freshCart = createOrder(OrderStatus.PENDING, LocalDateTime.now().minusMinutes(5));
+        Order oldPaid = createOrder(OrderStatus.PREPARING, LocalDateTime.now().minusHours(5));
+
+        assertThat(abandonedCartExpirer.expireAbandonedCarts()).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(orderRepository.findById(oldCart.getId())).get().extracting(Order::getStatus).isEqualTo(OrderStatus.EXPIRED);
+        assertThat(orderRepository.findById(freshCart.getId())).get().extracting(Order::getStatus).isEqualTo(OrderStatus.PENDING);
+        assertThat(orderRepository.findById(oldPaid.getId())).get().extracting(Order::getStatus).isEqualTo(OrderStatus.PREPARING);
+    }
+
+    @Test
+    void archiveFinishedOrders_shouldMoveOldFinishedOrdersOutOfTheHotTables() {
+        Order oldPickedUp = createOrder(OrderStatus.PICKED_UP, LocalDateTime.now().minusDays(45));
+        Order oldExpired = createOrder(OrderStatus.EXPIRED, LocalDateTime.now().minusDays(60));
+        Order recentPickedUp = createOrder(OrderStatus.PICKED_UP, LocalDateTime.now().minusDays(2));
+        Order oldInFlight = createOrder(OrderStatus.READY, LocalDateTime.now().minusDays(45));
+
+        assertThat(orderArchiver.archiveFinishedOrders()).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(orderRepository.findAll()).extracting(Order::getId)
+                .containsExactlyInAnyOrder(recentPickedUp.getId(), oldInFlight.getId());
+        assertThat(orderLineRepository.findByOrderId(oldPickedUp.getId())).isEmpty();
+        assertThat(count("orders_archive")).isEqualTo(2);
+        assertThat(count("order_lines_archive")).isEqualTo(2);
+        assertThat(orderLineRepository.findHistoryByOrderIdIn(List.of(oldPickedUp.getId(), oldExpired.getId())))
+                .hasSize(2);
+    }
+
+    @Test
+    void archiveFinishedOrders_shouldKeepOrdersWithUnappliedStatusChanges() {
+        Order oldPickedUp = createOrder(OrderStatus.PICKED_UP, LocalDateTime.now().minusDays(45));
+        orderStatusChangeRepository.save(OrderStatusChange.builder()
+                .orderId(oldPickedUp.getId())
+                .status(OrderStatus.PICKED_UP)
+                .build());
+
+        assertThat(orderArchiver.archiveFinishedOrders()).isZero();
+        assertThat(orderRepository.findById(oldPickedUp.getId())).isPresent();
+    }
+
+    @Test
+    void orderHistory_shouldSpanLiveAndArchivedOrders() throws Exception {
+        Order archived = createOrder(OrderStatus.PICKED_UP, LocalDateTime.now().minusDays(45));
+        Order live = createOrder(OrderStatus.PREPARING, LocalDateTime.now().minusMinutes(10));
+        orderArchiver.archiveFinishedOrders();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/staff/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].orderId").value(live.getId().toString()))
+                .andExpect(jsonPath("$.orders[1].orderId").value(archived.getId().toString()))
+                .andExpect(jsonPath("$.orders[1].status").value("PICKED_UP"))
+                .andExpect(jsonPath("$.orders[1].orderLines[0].menuItemName").value(paella.getName()));
+
+        mockMvc.perform(get("/api/staff/orders").param("status", "PICKED_UP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].orderId").value(archived.getId().toString()));
+    }
+
+    private Order createOrder(OrderStatus status, LocalDateTime createdAt) {
+        Order order = orderRepository.save(Order.builder()
+                .status(status)
+                .totalAmount(paella.getPrice())
+                .build());
+        orderLineRepository.save(OrderLine.builder()
+                .orderId(order.getId())
+                .menuItemId(paella.getId())
+                .quantity(1)
+                .unitPrice(paella.getPrice())
+                .lineTotal(paella.getPrice())
+                .build());
+        entityManager.flush();
+        // created_at is set on insert and not updatable through JPA
+        jdbcTemplate.update("update orders set created_at = ? where id = ?", createdAt, order.getId());
+        entityManager.clear();
+        return order;
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+}
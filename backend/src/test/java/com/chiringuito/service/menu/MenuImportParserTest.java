@@ -0,0 +1,64 @@
+package com.chiringuito.service.menu;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MenuImportParserTest {
+
+    @Test
+    void parseCsv_shouldReadQuotedFieldsAndOptionalColumns() throws Exception {
+        UUID id = UUID.randomUUID();
+        String csv = "Name,Price,Description,Available,Id\r\n"
+                + "Paella,12.50,\"Rice, \"\"socarrat\"\" and\nsaffron\",false," + id + "\r\n"
+                + "Sangria,4\n"
+                + "\n";
+
+        List<MenuImportRow> rows = MenuImportParser.parseCsv(stream(csv));
+
+        assertThat(rows).containsExactly(
+                new MenuImportRow(1, id, "Paella", "Rice, \"socarrat\" and\nsaffron", new BigDecimal("12.50"), null, false),
+                new MenuImportRow(2, null, "Sangria", null, new BigDecimal("4"), null, true));
+    }
+
+    @Test
+    void parseCsv_shouldRejectMalformedFiles() {
+        assertThatThrownBy(() -> MenuImportParser.parseCsv(stream("name,description\nPaella,Rice\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("price");
+        assertThatThrownBy(() -> MenuImportParser.parseCsv(stream("name,price\nPaella,twelve\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Row 1: invalid price twelve");
+        assertThatThrownBy(() -> MenuImportParser.parseCsv(stream("name,price\n\"Paella,12\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("quoted field");
+    }
+
+    @Test
+    void parseJson_shouldReadAnArrayOfItems() throws Exception {
+        String json = """
+                [{"name": "Paella", "price": 12.5, "imageUrl": "paella.jpg", "available": false},
+                 {"name": "Sangria", "price": "4.00"}]""";
+
+        List<MenuImportRow> rows = MenuImportParser.parseJson(stream(json), new ObjectMapper());
+
+        assertThat(rows).containsExactly(
+                new MenuImportRow(1, null, "Paella", null, new BigDecimal("12.5"), "paella.jpg", false),
+                new MenuImportRow(2, null, "Sangria", null, new BigDecimal("4.00"), null, true));
+        assertThatThrownBy(() -> MenuImportParser.parseJson(stream("{\"name\": \"Paella\"}"), new ObjectMapper()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
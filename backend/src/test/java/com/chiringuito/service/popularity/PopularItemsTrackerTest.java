@@ -0,0 +1,114 @@
+package com.chiringuito.service.popularity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PopularItemsTrackerTest {
+
+    private MutableClock clock;
+    private PopularItemsTracker tracker;
+
+    private final UUID paella = UUID.randomUUID();
+    private final UUID sangria = UUID.randomUUID();
+    private final UUID churros = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-07-15T13:00:00Z"));
+        tracker = new PopularItemsTracker(Duration.ofMinutes(30), 6, 4, clock);
+    }
+
+    @Test
+    void top_shouldRankItemsByUnitsAdded() {
+        tracker.record(paella, 3);
+        tracker.record(sangria, 5);
+        tracker.record(churros, 1);
+        tracker.record(paella, 4);
+
+        List<PopularItemsTracker.PopularItem> top = tracker.top(2);
+
+        assertThat(top).extracting(PopularItemsTracker.PopularItem::menuItemId).containsExactly(paella, sangria);
+        assertThat(top.get(0).count()).isEqualTo(7);
+        assertThat(top.get(1).count()).isEqualTo(5);
+    }
+
+    @Test
+    void top_shouldForgetAdditionsOlderThanTheWindow() {
+        tracker.record(paella, 10);
+        clock.advance(Duration.ofMinutes(20));
+        tracker.record(sangria, 2);
+
+        assertThat(tracker.top(5)).extracting(PopularItemsTracker.PopularItem::menuItemId)
+                .containsExactly(paella, sangria);
+
+        clock.advance(Duration.ofMinutes(15));
+
+        assertThat(tracker.top(5)).extracting(PopularItemsTracker.PopularItem::menuItemId)
+                .containsExactly(sangria);
+
+        clock.advance(Duration.ofHours(2));
+
+        assertThat(tracker.top(5)).isEmpty();
+    }
+
+    @Test
+    void record_shouldEvictWeakestCandidateWhenHeavierItemArrives() {
+        List<UUID> items = IntStream.range(0, 4).mapToObj(i -> UUID.randomUUID()).toList();
+        items.forEach(id -> tracker.record(id, 1));
+
+        tracker.record(paella, 3);
+
+        assertThat(tracker.top(4)).hasSize(4)
+                .first().extracting(PopularItemsTracker.PopularItem::menuItemId).isEqualTo(paella);
+    }
+
+    @Test
+    void record_shouldNotDisplaceHeavierCandidatesWithLighterItem() {
+        List<UUID> items = IntStream.range(0, 4).mapToObj(i -> UUID.randomUUID()).toList();
+        items.forEach(id -> tracker.record(id, 5));
+
+        tracker.record(churros, 1);
+
+        assertThat(tracker.top(10)).extracting(PopularItemsTracker.PopularItem::menuItemId)
+                .containsExactlyInAnyOrderElementsOf(items);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.chiringuito.service.reference;
+
+import com.chiringuito.service.reference.OrderReferenceAllocator.OrderReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: blocks are reserved in transactions of their own. The tests use days of
+// their own, far from today, so the application's allocator never shares their rows
+@SpringBootTest
+@ActiveProfiles("local")
+class OrderReferenceAllocatorIntegrationTest {
+
+    private static final LocalDateTime EVENING = LocalDateTime.of(2031, 7, 1, 21, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_reference_blocks where business_day >= ?", LocalDate.of(2031, 1, 1));
+    }
+
+    @Test
+    void next_shouldNumberFromOneAndReserveOneBlockAtATime() {
+        OrderReferenceAllocator allocator = allocator(10);
+
+        List<String> numbers = IntStream.range(0, 25).mapToObj(i -> allocator.next(EVENING).number()).toList();
+
+        assertThat(numbers).first().isEqualTo("A-1");
+        assertThat(numbers).last().isEqualTo("A-25");
+        assertThat(nextValue(EVENING.toLocalDate())).isEqualTo(31);
+    }
+
+    @Test
+    void next_shouldNumberEachBusinessDayFromOne() {
+        OrderReferenceAllocator allocator = allocator(10);
+
+        OrderReference evening = allocator.next(EVENING);
+        OrderReference afterMidnight = allocator.next(EVENING.plusHours(5));
+        OrderReference nextMorning = allocator.next(EVENING.plusHours(9));
+
+        assertThat(afterMidnight).isEqualTo(new OrderReference(LocalDate.of(2031, 7, 1), "A-2"));
+        assertThat(evening.day()).isEqualTo(LocalDate.of(2031, 7, 1));
+        assertThat(nextMorning).isEqualTo(new OrderReference(LocalDate.of(2031, 7, 2), "A-1"));
+    }
+
+    @Test
+    void next_shouldHandOutUniqueNumbersAcrossThreadsAndNodes() throws Exception {
+        List<OrderReferenceAllocator> nodes = List.of(allocator(10), allocator(10));
+        List<Future<List<String>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                OrderReferenceAllocator node = nodes.get(i % 2);
+                results.add(executor.submit(() -> IntStream.range(0, 200)
+                        .mapToObj(n -> node.next(EVENING).number())
+                        .toList()));
+            }
+        }
+
+        Set<String> numbers = new HashSet<>();
+        for (Future<List<String>> result : results) {
+            numbers.addAll(result.get());
+        }
+        assertThat(numbers).hasSize(1600);
+        // Each node leaves at most part of one block unused
+        assertThat(nextValue(EVENING.toLocalDate())).isLessThanOrEqualTo(1 + 1600 + 2 * 10);
+    }
+
+    @Test
+    void release_shouldGiveTheRestOfTheBlockBackUnlessALaterBlockWasReserved() {
+        OrderReferenceAllocator first = allocator(10);
+        OrderReferenceAllocator second = allocator(10);
+
+        first.next(EVENING);
+        first.release();
+        assertThat(second.next(EVENING).number()).isEqualTo("A-2");
+
+        second.next(EVENING.plusDays(1));
+        first.next(EVENING.plusDays(1));
+        second.release();
+        assertThat(first.next(EVENING.plusDays(1)).number()).isEqualTo("A-12");
+        assertThat(nextValue(EVENING.plusDays(1).toLocalDate())).isEqualTo(21);
+    }
+
+    private OrderReferenceAllocator allocator(int blockSize) {
+        return new OrderReferenceAllocator(jdbcTemplate, transactionManager, "A", blockSize, LocalTime.of(5, 0));
+    }
+
+    private Integer nextValue(LocalDate day) {
+        return jdbcTemplate.queryForObject(
+                "select next_value from order_reference_blocks where business_day = ?", Integer.class, day);
+    }
+}
@@ -0,0 +1,171 @@
+package com.chiringuito.service.search;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.invalidation.CacheRegion;
+import com.chiringuito.service.invalidation.InvalidationMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuSearchIndexTest {
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @InjectMocks
+    private MenuSearchIndex menuSearchIndex;
+
+    private MenuItem gambas;
+    private MenuItem jamon;
+    private MenuItem paella;
+
+    @BeforeEach
+    void setUp() {
+        gambas = menuItem("Gambas al Ajillo", "Garlic shrimp sautéed in olive oil", "10.00", true);
+        jamon = menuItem("Jamón Ibérico", "Premium Iberian ham served with bread", "15.00", true);
+        paella = menuItem("Paella Valenciana", "Rice dish with seafood and chicken", "12.50", false);
+
+        when(menuItemRepository.findAll()).thenReturn(List.of(gambas, jamon, paella));
+        menuSearchIndex.rebuild();
+    }
+
+    @Test
+    void search_shouldMatchWordPrefixes() {
+        List<MenuItemDTO> result = menuSearchIndex.search("gamb", null);
+
+        assertThat(result).extracting(MenuItemDTO::name).containsExactly("Gambas al Ajillo");
+    }
+
+    @Test
+    void search_shouldIgnoreAccentsAndCase() {
+        assertThat(menuSearchIndex.search("JAMON iberico", null))
+                .extracting(MenuItemDTO::name).containsExactly("Jamón Ibérico");
+        assertThat(menuSearchIndex.search("sauteed", null))
+                .extracting(MenuItemDTO::name).containsExactly("Gambas al Ajillo");
+    }
+
+    @Test
+    void search_shouldRequireEveryTermToMatch() {
+        assertThat(menuSearchIndex.search("garlic ham", null)).isEmpty();
+        assertThat(menuSearchIndex.search("olive garlic", null)).hasSize(1);
+    }
+
+    @Test
+    void search_shouldExcludeUnavailableItems() {
+        assertThat(menuSearchIndex.search("paella", null)).isEmpty();
+    }
+
+    @Test
+    void search_shouldFilterByMaxPriceAndSortByName() {
+        List<MenuItemDTO> result = menuSearchIndex.search(null, new BigDecimal("15.00"));
+
+        assertThat(result).extracting(MenuItemDTO::name)
+                .containsExactly("Gambas al Ajillo", "Jamón Ibérico");
+        assertThat(menuSearchIndex.search("", new BigDecimal("12.00")))
+                .extracting(MenuItemDTO::name).containsExactly("Gambas al Ajillo");
+    }
+
+    @Test
+    void upsert_shouldReplaceTermsOfChangedItem() {
+        gambas.setName("Gambas a la Plancha");
+        gambas.setDescription("Grilled prawns");
+
+        menuSearchIndex.upsert(gambas);
+
+        assertThat(menuSearchIndex.search("ajillo", null)).isEmpty();
+        assertThat(menuSearchIndex.search("plancha", null))
+                .extracting(MenuItemDTO::name).containsExactly("Gambas a la Plancha");
+        assertThat(menuSearchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    void upsert_shouldMakeItemSearchableWhenBecomingAvailable() {
+        paella.setAvailable(true);
+
+        menuSearchIndex.upsert(paella);
+
+        assertThat(menuSearchIndex.search("valenc", null)).hasSize(1);
+    }
+
+    @Test
+    void remove_shouldDropItemFromIndex() {
+        menuSearchIndex.remove(jamon.getId());
+
+        assertThat(menuSearchIndex.search("jamon", null)).isEmpty();
+        assertThat(menuSearchIndex.find(jamon.getId())).isEmpty();
+    }
+
+    @Test
+    void upsert_shouldKeepANewerVersion() {
+        MenuItem soldOut = menuItem("Jamón Ibérico", "Premium Iberian ham served with bread", "15.00", false);
+        soldOut.setId(jamon.getId());
+        soldOut.setVersion(2L);
+        menuSearchIndex.upsert(soldOut);
+
+        jamon.setVersion(1L);
+        menuSearchIndex.upsert(jamon);
+
+        assertThat(menuSearchIndex.find(jamon.getId())).hasValueSatisfying(dto -> assertThat(dto.available()).isFalse());
+    }
+
+    @Test
+    void onInvalidation_shouldReloadItemChangedOnAnotherNode() {
+        MenuItem soldOut = menuItem("Jamón Ibérico", "Premium Iberian ham served with bread", "15.00", false);
+        soldOut.setId(jamon.getId());
+        soldOut.setVersion(1L);
+        when(menuItemRepository.findById(jamon.getId())).thenReturn(Optional.of(soldOut));
+
+        menuSearchIndex.onInvalidation(invalidation(jamon.getId(), 1));
+
+        assertThat(menuSearchIndex.search("jamon", null)).isEmpty();
+    }
+
+    @Test
+    void onInvalidation_shouldIgnoreVersionsAlreadyIndexed() {
+        menuSearchIndex.onInvalidation(invalidation(gambas.getId(), 0));
+
+        verify(menuItemRepository, never()).findById(any());
+        assertThat(menuSearchIndex.search("gambas", null)).hasSize(1);
+    }
+
+    @Test
+    void onInvalidation_shouldDropItemDeletedOnAnotherNode() {
+        when(menuItemRepository.findById(gambas.getId())).thenReturn(Optional.empty());
+
+        menuSearchIndex.onInvalidation(invalidation(gambas.getId(), Long.MAX_VALUE));
+
+        assertThat(menuSearchIndex.find(gambas.getId())).isEmpty();
+    }
+
+    private InvalidationMessage invalidation(UUID id, long version) {
+        return new InvalidationMessage(CacheRegion.MENU_ITEM, id, version, Instant.now(), "other-node");
+    }
+
+    private MenuItem menuItem(String name, String description, String price, boolean available) {
+        return MenuItem.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description(description)
+                .price(new BigDecimal(price))
+                .available(available)
+                .build();
+    }
+}
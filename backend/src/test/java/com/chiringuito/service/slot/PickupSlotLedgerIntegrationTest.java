@@ -0,0 +1,198 @@
+package com.chiringuito.service.slot;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.action.AddItemToOrderAction;
+import com.chiringuito.service.action.ChoosePickupSlotAction;
+import com.chiringuito.service.action.UpdateItemQuantityAction;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.PickupSlotDTO;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import com.chiringuito.service.exception.PickupSlotExpiredException;
+import com.chiringuito.service.exception.PickupSlotFullException;
+import com.chiringuito.service.lifecycle.AbandonedCartExpirer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not transactional: the ledger flushes in transactions of its own
+@SpringBootTest
+@ActiveProfiles("local")
+class PickupSlotLedgerIntegrationTest {
+
+    @Autowired
+    private PickupSlotLedger pickupSlotLedger;
+
+    @Autowired
+    private AddItemToOrderAction addItemToOrderAction;
+
+    @Autowired
+    private UpdateItemQuantityAction updateItemQuantityAction;
+
+    @Autowired
+    private ChoosePickupSlotAction choosePickupSlotAction;
+
+    @Autowired
+    private AbandonedCartExpirer abandonedCartExpirer;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    // The furthest slot out, so it cannot start while a test runs
+    private LocalDateTime slot;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        slot = pickupSlotLedger.openSlots().getLast().start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+        jdbcTemplate.update("delete from pickup_slots");
+        pickupSlotLedger.flush();
+    }
+
+    @Test
+    void claim_shouldFillTheSlotAndWriteClaimsOnFlush() {
+        setCapacity(3);
+
+        transactionTemplate.executeWithoutResult(status -> pickupSlotLedger.claim(slot, 2));
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> pickupSlotLedger.claim(slot, 2)))
+                .isInstanceOf(PickupSlotFullException.class)
+                .hasMessageContaining("Only 1 items left");
+        transactionTemplate.executeWithoutResult(status -> pickupSlotLedger.claim(slot, 1));
+
+        pickupSlotLedger.flush();
+
+        assertThat(jdbcTemplate.queryForObject("select claimed from pickup_slots where slot_start = ?",
+                Integer.class, Timestamp.valueOf(slot))).isEqualTo(3);
+        assertThat(remaining()).isZero();
+        assertThatThrownBy(() -> pickupSlotLedger.claim(slot, 1))
+                .isInstanceOf(PickupSlotFullException.class)
+                .hasMessageContaining("is full");
+    }
+
+    @Test
+    void claim_shouldGiveCapacityBackWhenTheTransactionRollsBack() {
+        setCapacity(5);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pickupSlotLedger.claim(slot, 4);
+            status.setRollbackOnly();
+        });
+
+        assertThat(remaining()).isEqualTo(5);
+        pickupSlotLedger.flush();
+        assertThat(jdbcTemplate.queryForObject("select claimed from pickup_slots where slot_start = ?",
+                Integer.class, Timestamp.valueOf(slot))).isZero();
+    }
+
+    @Test
+    void claim_shouldRejectTimesThatAreNotOpenSlots() {
+        assertThatThrownBy(() -> pickupSlotLedger.claim(slot.plusMinutes(1), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pickupSlotLedger.claim(LocalDateTime.now().minusHours(1), 1))
+                .isInstanceOf(PickupSlotExpiredException.class);
+    }
+
+    @Test
+    void cart_shouldReportItsChosenSlotOnceItHasStarted() {
+        MenuItem paella = menuItemRepository.findByAvailableTrueOrderByNameAsc().getFirst();
+        MockHttpSession session = new MockHttpSession();
+        addItemToOrderAction.execute(new AddItemRequest(paella.getId(), 1), session);
+        choosePickupSlotAction.execute(slot, session);
+        jdbcTemplate.update("update orders set pickup_slot = ?", Timestamp.valueOf(LocalDateTime.of(2026, 7, 1, 14, 15)));
+
+        assertThatThrownBy(() -> addItemToOrderAction.execute(new AddItemRequest(paella.getId(), 1), session))
+                .isInstanceOf(PickupSlotExpiredException.class)
+                .hasMessage("The 14:15 pickup slot has already started, please choose another one");
+    }
+
+    @Test
+    void flush_shouldPickUpCapacityChangedByHand() {
+        setCapacity(2);
+        transactionTemplate.executeWithoutResult(status -> pickupSlotLedger.claim(slot, 2));
+
+        jdbcTemplate.update("update pickup_slots set capacity = capacity + 10 where slot_start = ?", Timestamp.valueOf(slot));
+        pickupSlotLedger.flush();
+
+        assertThat(remaining()).isEqualTo(10);
+        assertThat(pickupSlotLedger.openSlots()).filteredOn(open -> open.start().equals(slot))
+                .singleElement().extracting(PickupSlotDTO::capacity).isEqualTo(12);
+    }
+
+    @Test
+    void cart_shouldHoldSlotCapacityUntilItExpires() {
+        setCapacity(10);
+        MenuItem paella = menuItemRepository.findByAvailableTrueOrderByNameAsc().getFirst();
+        MockHttpSession session = new MockHttpSession();
+        addItemToOrderAction.execute(new AddItemRequest(paella.getId(), 2), session);
+
+        PickupSlotDTO chosen = choosePickupSlotAction.execute(slot, session);
+        updateItemQuantityAction.execute(new UpdateQuantityRequest(paella.getId(), 5), session);
+
+        assertThat(chosen.remaining()).isEqualTo(8);
+        assertThat(remaining()).isEqualTo(5);
+
+        jdbcTemplate.update("update orders set created_at = ?", Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        assertThat(abandonedCartExpirer.expireAbandonedCarts()).isEqualTo(1);
+
+        assertThat(remaining()).isEqualTo(10);
+    }
+
+    @Test
+    void nextSlotStart_shouldAlignToTheSlotLengthAcrossMidnight() {
+        PickupSlotLedger ledger = new PickupSlotLedger(jdbcTemplate, Duration.ofMinutes(15), Duration.ofHours(4), 40);
+
+        assertThat(ledger.nextSlotStart(LocalDateTime.of(2026, 7, 1, 13, 55, 30)))
+                .isEqualTo(LocalDateTime.of(2026, 7, 1, 14, 0));
+        assertThat(ledger.nextSlotStart(LocalDateTime.of(2026, 7, 1, 14, 0)))
+                .isEqualTo(LocalDateTime.of(2026, 7, 1, 14, 15));
+        assertThat(ledger.nextSlotStart(LocalDateTime.of(2026, 7, 1, 23, 50)))
+                .isEqualTo(LocalDateTime.of(2026, 7, 2, 0, 0));
+    }
+
+    private void setCapacity(int capacity) {
+        jdbcTemplate.update("update pickup_slots set capacity = ? where slot_start = ?", capacity, Timestamp.valueOf(slot));
+        pickupSlotLedger.flush();
+    }
+
+    private int remaining() {
+        return pickupSlotLedger.openSlots().stream()
+                .filter(open -> open.start().equals(slot))
+                .findFirst().orElseThrow()
+                .remaining();
+    }
+}
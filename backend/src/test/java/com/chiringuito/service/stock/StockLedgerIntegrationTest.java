@@ -0,0 +1,168 @@
+package com.chiringuito.service.stock;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.action.AddItemToOrderAction;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.exception.MenuItemUnavailableException;
+import com.chiringuito.service.lifecycle.AbandonedCartExpirer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not transactional: the ledger flushes in transactions of its own
+@SpringBootTest
+@ActiveProfiles("local")
+class StockLedgerIntegrationTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private AddItemToOrderAction addItemToOrderAction;
+
+    @Autowired
+    private AbandonedCartExpirer abandonedCartExpirer;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private MenuItem pulpo;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        pulpo = menuItemRepository.findByAvailableTrueOrderByNameAsc().getFirst();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from menu_item_stock");
+        stockLedger.flush();
+        jdbcTemplate.update("update menu_items set available = true where id = ?", pulpo.getId());
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void reserve_shouldSellOutAndFlipAvailabilityOnFlush() {
+        trackStock(3);
+
+        transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(pulpo, 2));
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(pulpo, 2)))
+                .isInstanceOf(MenuItemUnavailableException.class)
+                .hasMessageContaining("Only 1 left");
+        transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(pulpo, 1));
+
+        assertThat(stockLedger.flush()).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForMap("select remaining, reserved, sold_out from menu_item_stock where menu_item_id = ?",
+                pulpo.getId())).containsEntry("REMAINING", 0).containsEntry("RESERVED", 3).containsEntry("SOLD_OUT", true);
+        assertThat(menuItemRepository.findById(pulpo.getId()).orElseThrow().getAvailable()).isFalse();
+        assertThatThrownBy(() -> stockLedger.reserve(pulpo, 1))
+                .isInstanceOf(MenuItemUnavailableException.class)
+                .hasMessageContaining("sold out");
+    }
+
+    @Test
+    void reserve_shouldGiveUnitsBackWhenTheTransactionRollsBack() {
+        trackStock(5);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            stockLedger.reserve(pulpo, 4);
+            status.setRollbackOnly();
+        });
+
+        assertThat(stockLedger.remaining(pulpo.getId())).isEqualTo(5);
+        stockLedger.flush();
+        assertThat(jdbcTemplate.queryForObject("select remaining from menu_item_stock where menu_item_id = ?",
+                Integer.class, pulpo.getId())).isEqualTo(5);
+    }
+
+    @Test
+    void flush_shouldPickUpRestockingAndMakeTheItemAvailableAgain() {
+        trackStock(1);
+        transactionTemplate.executeWithoutResult(status -> stockLedger.reserve(pulpo, 1));
+        stockLedger.flush();
+        assertThat(menuItemRepository.findById(pulpo.getId()).orElseThrow().getAvailable()).isFalse();
+
+        jdbcTemplate.update("update menu_item_stock set remaining = remaining + 10 where menu_item_id = ?", pulpo.getId());
+        transactionTemplate.executeWithoutResult(status -> stockLedger.release(pulpo.getId(), 1));
+        stockLedger.flush();
+
+        assertThat(stockLedger.remaining(pulpo.getId())).isEqualTo(11);
+        assertThat(menuItemRepository.findById(pulpo.getId()).orElseThrow().getAvailable()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("select reserved from menu_item_stock where menu_item_id = ?",
+                Integer.class, pulpo.getId())).isZero();
+    }
+
+    @Test
+    void reserve_shouldNeverOversellUnderContention() throws Exception {
+        trackStock(100);
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                try {
+                    stockLedger.reserve(pulpo, 1);
+                    reserved.incrementAndGet();
+                } catch (MenuItemUnavailableException e) {
+                    // Sold out
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(reserved).hasValue(100);
+        assertThat(stockLedger.remaining(pulpo.getId())).isZero();
+    }
+
+    @Test
+    void expiringACart_shouldReleaseItsReservation() {
+        trackStock(10);
+        MockHttpSession session = new MockHttpSession();
+        addItemToOrderAction.execute(AddItemRequest.builder().menuItemId(pulpo.getId()).quantity(4).build(), session);
+        assertThat(stockLedger.remaining(pulpo.getId())).isEqualTo(6);
+
+        jdbcTemplate.update("update orders set created_at = dateadd('DAY', -1, created_at)");
+        assertThat(abandonedCartExpirer.expireAbandonedCarts()).isEqualTo(1);
+
+        assertThat(stockLedger.remaining(pulpo.getId())).isEqualTo(10);
+    }
+
+    private void trackStock(int remaining) {
+        jdbcTemplate.update("insert into menu_item_stock (menu_item_id, remaining) values (?, ?)", pulpo.getId(), remaining);
+        stockLedger.flush();
+    }
+}
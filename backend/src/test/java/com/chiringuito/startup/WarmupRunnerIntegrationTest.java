@@ -0,0 +1,59 @@
+package com.chiringuito.startup;
+
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.popularity.PopularItemsTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "chiringuito.warmup.enabled=true",
+        "chiringuito.warmup.budget=3s",
+        "chiringuito.warmup.threads=2",
+        "chiringuito.warmup.iterations-per-round=10",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.chiringuito=INFO"
+})
+@ActiveProfiles("local")
+class WarmupRunnerIntegrationTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private PopularItemsTracker popularItemsTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldWarmUpBeforeReadinessAndReport() {
+        WarmupRunner.WarmupReport report = warmupRunner.getReport();
+
+        assertThat(report).isNotNull();
+        assertThat(report.rounds()).isGreaterThanOrEqualTo(1);
+        assertThat(report.elapsed()).isLessThan(Duration.ofSeconds(10));
+        assertThat(report.p99()).isGreaterThanOrEqualTo(report.p50());
+        assertThat(meterRegistry.get("chiringuito.warmup.duration").timeGauge().value()).isPositive();
+    }
+
+    @Test
+    void shouldLeaveNoTraceOfSyntheticCarts() {
+        assertThat(orderRepository.count()).isZero();
+        assertThat(orderLineRepository.count()).isZero();
+        assertThat(popularItemsTracker.top(5)).isEmpty();
+    }
+}
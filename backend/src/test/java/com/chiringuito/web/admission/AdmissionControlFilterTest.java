@@ -0,0 +1,212 @@
+package com.chiringuito.web.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private static final long TARGET_LATENCY = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+    private MeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+    private long clock;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyLimit = new AdaptiveConcurrencyLimit(10, 2, 20, TARGET_LATENCY);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(concurrencyLimit, new SessionRateLimiter(1, 2), meterRegistry);
+    }
+
+    @Test
+    void priorityClass_shouldClassifyByPathAndMethod() {
+        assertThat(PriorityClass.of(new MockHttpServletRequest("GET", "/api/staff/orders"))).isEqualTo(PriorityClass.KITCHEN);
+        assertThat(PriorityClass.of(new MockHttpServletRequest("POST", "/api/payment"))).isEqualTo(PriorityClass.PAYMENT);
+        assertThat(PriorityClass.of(new MockHttpServletRequest("POST", "/api/order/items"))).isEqualTo(PriorityClass.CART_MUTATION);
+        assertThat(PriorityClass.of(new MockHttpServletRequest("GET", "/api/order"))).isEqualTo(PriorityClass.MENU_BROWSE);
+        assertThat(PriorityClass.of(new MockHttpServletRequest("GET", "/api/menu"))).isEqualTo(PriorityClass.MENU_BROWSE);
+    }
+
+    @Test
+    void doFilter_shouldShedLowPriorityRequestsBeforeStaffRequests() throws Exception {
+        // Occupy half the limit: the browse share is exhausted, the kitchen share is not
+        for (int i = 0; i < 5; i++) {
+            assertThat(concurrencyLimit.tryAcquire(1.0)).isTrue();
+        }
+
+        MockHttpServletResponse browse = filter(new MockHttpServletRequest("GET", "/api/menu"));
+        MockHttpServletResponse kitchen = filter(new MockHttpServletRequest("GET", "/api/staff/orders"));
+
+        assertThat(browse.getStatus()).isEqualTo(429);
+        assertThat(browse.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(browse.getContentAsString()).contains("Too many requests");
+        assertThat(kitchen.getStatus()).isEqualTo(200);
+        assertThat(decisions("menu_browse", "shed")).isEqualTo(1);
+        assertThat(decisions("kitchen", "admitted")).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_shouldRateLimitPerSession() throws Exception {
+        MockHttpSession sessionA = new MockHttpSession(null, "session-a");
+        MockHttpServletResponse last = null;
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/menu");
+            request.setSession(sessionA);
+            last = filter(request);
+        }
+        MockHttpServletRequest otherSession = new MockHttpServletRequest("GET", "/api/menu");
+        otherSession.setSession(new MockHttpSession(null, "session-b"));
+
+        assertThat(last.getStatus()).isEqualTo(429);
+        assertThat(filter(otherSession).getStatus()).isEqualTo(200);
+        assertThat(decisions("menu_browse", "rate_limited")).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_shouldNotTrackSessionIdsTheServerDoesNotKnow() throws Exception {
+        SessionRateLimiter sessionRateLimiter = new SessionRateLimiter(1, 2);
+        filter = new AdmissionControlFilter(concurrencyLimit, sessionRateLimiter, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/menu");
+            request.setRequestedSessionId("made-up-" + i);
+            assertThat(filter(request).getStatus()).isEqualTo(200);
+        }
+
+        assertThat(sessionRateLimiter.trackedSessions()).isZero();
+    }
+
+    @Test
+    void sessionRateLimiter_shouldEvictBucketsIdleForAFullRefill() {
+        SessionRateLimiter sessionRateLimiter = new SessionRateLimiter(1, 2);
+        sessionRateLimiter.tryAcquire("idle", 0);
+        sessionRateLimiter.tryAcquire("active", TimeUnit.SECONDS.toNanos(2));
+
+        sessionRateLimiter.evictIdle(TimeUnit.SECONDS.toNanos(3));
+
+        assertThat(sessionRateLimiter.trackedSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_shouldNotRateLimitSessionsOnPayment() throws Exception {
+        MockHttpSession sessionA = new MockHttpSession(null, "session-a");
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/payment");
+            request.setSession(sessionA);
+            assertThat(filter(request).getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void doFilter_shouldIgnoreNonApiPaths() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            concurrencyLimit.tryAcquire(1.0);
+        }
+
+        assertThat(filter(new MockHttpServletRequest("GET", "/actuator/health")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_shouldReleaseSlotWhenRequestCompletes() throws Exception {
+        filter(new MockHttpServletRequest("GET", "/api/menu"));
+
+        assertThat(concurrencyLimit.inFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_shouldHoldSlotUntilAsyncProcessingEnds() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports/orders/export");
+        request.setAsyncSupported(true);
+        // As a controller returning a streaming body does
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(concurrencyLimit.inFlight()).isEqualTo(1);
+
+        request.getAsyncContext().complete();
+        assertThat(concurrencyLimit.inFlight()).isZero();
+    }
+
+    @Test
+    void release_shouldShrinkLimitOnSlowRequestsAndRecoverOnFastOnes() {
+        for (int i = 0; i < 5; i++) {
+            concurrencyLimit.tryAcquire(1.0);
+            completeRequest(TARGET_LATENCY * 2);
+        }
+        int shrunk = concurrencyLimit.limit();
+
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < shrunk; j++) {
+                concurrencyLimit.tryAcquire(1.0);
+            }
+            for (int j = 0; j < shrunk; j++) {
+                completeRequest(TARGET_LATENCY / 10);
+            }
+        }
+
+        assertThat(shrunk).isEqualTo(5);
+        assertThat(concurrencyLimit.limit()).isGreaterThan(shrunk).isLessThanOrEqualTo(20);
+    }
+
+    @Test
+    void release_shouldShrinkLimitOncePerBurstOfSlowRequests() {
+        long started = clock;
+        for (int i = 0; i < 8; i++) {
+            concurrencyLimit.tryAcquire(1.0);
+        }
+        // All eight were in flight together: one congestion signal
+        for (int i = 0; i < 8; i++) {
+            concurrencyLimit.release(started, started + TARGET_LATENCY * 2 + i);
+        }
+        assertThat(concurrencyLimit.limit()).isEqualTo(9);
+
+        // A slow request admitted after the decrease shrinks it again
+        clock = started + TARGET_LATENCY * 3;
+        concurrencyLimit.tryAcquire(1.0);
+        completeRequest(TARGET_LATENCY * 2);
+        assertThat(concurrencyLimit.limit()).isEqualTo(8);
+    }
+
+    @Test
+    void release_shouldNotShrinkBelowMinimum() {
+        for (int i = 0; i < 50; i++) {
+            concurrencyLimit.tryAcquire(1.0);
+            completeRequest(TARGET_LATENCY * 2);
+        }
+
+        assertThat(concurrencyLimit.limit()).isEqualTo(2);
+    }
+
+    // One request after another on a fake clock
+    private void completeRequest(long latencyNanos) {
+        long started = clock;
+        clock += latencyNanos;
+        concurrencyLimit.release(started, clock);
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private double decisions(String priorityClass, String outcome) {
+        return meterRegistry.get("chiringuito.admission.decisions")
+                .tag("class", priorityClass)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,256 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.CartEvent;
+import com.chiringuito.domain.entity.CartEventType;
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.CartEventRepository;
+import com.chiringuito.domain.repository.CartSnapshotRepository;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.cart.CartEventStore;
+import com.chiringuito.service.cart.CartState;
+import com.chiringuito.service.cart.EventSourcedCart;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import com.chiringuito.service.exception.CartConflictException;
+import com.chiringuito.service.invalidation.InvalidationBus;
+import com.chiringuito.service.lifecycle.AbandonedCartExpirer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "chiringuito.cart.storage=events",
+        "chiringuito.cart.snapshot-every=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+@Transactional
+class EventSourcedOrderControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private CartEventRepository cartEventRepository;
+
+    @Autowired
+    private CartSnapshotRepository cartSnapshotRepository;
+
+    @Autowired
+    private CartEventStore cartEventStore;
+
+    @Autowired
+    private EventSourcedCart eventSourcedCart;
+
+    @Autowired
+    private AbandonedCartExpirer abandonedCartExpirer;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MenuItem paella;
+    private MenuItem sangria;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        cartSnapshotRepository.deleteAll();
+        cartEventRepository.deleteAll();
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+        List<MenuItem> menu = menuItemRepository.findByAvailableTrueOrderByNameAsc();
+        paella = menu.get(0);
+        sangria = menu.get(1);
+        session = new MockHttpSession();
+    }
+
+    @Test
+    void shouldKeepTheCartInEventsWithoutWritingOrderRows() throws Exception {
+        addItem(paella, 2).andExpect(status().isOk());
+        addItem(sangria, 1).andExpect(status().isOk());
+        addItem(paella, 1)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.itemCount").value(4))
+                .andExpect(jsonPath("$.orderLines[0].quantity").value(3));
+
+        mockMvc.perform(put("/api/order/update-quantity")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateQuantityRequest(sangria.getId(), 5))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemCount").value(8));
+
+        mockMvc.perform(delete("/api/order/remove-item/{id}", paella.getId()).session(session))
+                .andExpect(status().isNoContent());
+
+        UUID cartId = (UUID) session.getAttribute("orderId");
+        BigDecimal expectedTotal = sangria.getPrice().multiply(BigDecimal.valueOf(5));
+        mockMvc.perform(get("/api/order/cart").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(cartId.toString()))
+                .andExpect(jsonPath("$.itemCount").value(5))
+                .andExpect(jsonPath("$.totalAmount").value(expectedTotal.doubleValue()))
+                .andExpect(jsonPath("$.orderLines.length()").value(1));
+
+        assertThat(orderRepository.count()).isZero();
+        assertThat(orderLineRepository.count()).isZero();
+        assertThat(cartEventRepository.findByCartIdAndSequenceGreaterThanOrderBySequence(cartId, 0))
+                .extracting(CartEvent::getType)
+                .containsExactly(CartEventType.ITEM_ADDED, CartEventType.ITEM_ADDED, CartEventType.ITEM_ADDED,
+                        CartEventType.QUANTITY_SET, CartEventType.ITEM_REMOVED);
+    }
+
+    @Test
+    void shouldRebuildTheSameCartFromTheLatestSnapshot() throws Exception {
+        addItem(paella, 1);
+        addItem(sangria, 2);
+        addItem(paella, 3);
+        addItem(sangria, 1);
+        UUID cartId = (UUID) session.getAttribute("orderId");
+
+        assertThat(cartSnapshotRepository.findFirstByCartIdOrderBySequenceDesc(cartId))
+                .hasValueSatisfying(snapshot -> assertThat(snapshot.getSequence()).isEqualTo(3));
+
+        // A store with a cold cache replays the snapshot plus event 4 only
+        CartEventStore coldStore = new CartEventStore(cartEventRepository, cartSnapshotRepository, objectMapper, invalidationBus, 3, 10);
+        CartState rebuilt = coldStore.load(cartId);
+        CartState current = cartEventStore.load(cartId);
+
+        assertThat(rebuilt.sequence()).isEqualTo(4);
+        assertThat(rebuilt.lines()).containsExactlyElementsOf(current.lines());
+        assertThat(rebuilt.itemCount()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldEnforceCartLimitsLikeTheRowModel() throws Exception {
+        addItem(paella, 30).andExpect(status().isOk());
+        addItem(sangria, 21)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cannot exceed maximum of 50 items in cart"));
+
+        mockMvc.perform(delete("/api/order/remove-item/{id}", sangria.getId()).session(session))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Item not found in cart"));
+    }
+
+    @Test
+    void materialize_shouldWriteTheOrderOnceAndCloseTheCart() throws Exception {
+        addItem(paella, 2);
+        addItem(sangria, 1);
+        UUID cartId = (UUID) session.getAttribute("orderId");
+
+        Order order = eventSourcedCart.materialize(cartId);
+
+        assertThat(order.getId()).isEqualTo(cartId);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo(
+                paella.getPrice().multiply(BigDecimal.valueOf(2)).add(sangria.getPrice()));
+        assertThat(orderLineRepository.findByOrderId(cartId))
+                .extracting(OrderLine::getMenuItemId, OrderLine::getQuantity)
+                .containsExactlyInAnyOrder(
+                        Tuple.tuple(paella.getId(), 2),
+                        Tuple.tuple(sangria.getId(), 1));
+
+        assertThat(eventSourcedCart.materialize(cartId).getId()).isEqualTo(cartId);
+        assertThat(orderRepository.count()).isEqualTo(1);
+
+        // The checked-out cart is never reopened
+        addItem(paella, 1).andExpect(status().isOk());
+        assertThat(session.getAttribute("orderId")).isNotEqualTo(cartId);
+    }
+
+    @Test
+    void purge_shouldDeleteEventsAndSnapshotsOfIdleCartsOnly() throws Exception {
+        addItem(paella, 1);
+        addItem(paella, 1);
+        addItem(paella, 1);
+        UUID idleCart = (UUID) session.getAttribute("orderId");
+        session = new MockHttpSession();
+        addItem(sangria, 1);
+        UUID activeCart = (UUID) session.getAttribute("orderId");
+        jdbcTemplate.update("update cart_events set created_at = dateadd('DAY', -1, created_at) where cart_id = ?", idleCart);
+
+        assertThat(abandonedCartExpirer.purgeIdleEventCarts()).isEqualTo(3);
+
+        assertThat(cartEventRepository.findLatestSequence(idleCart)).isEmpty();
+        assertThat(cartSnapshotRepository.findFirstByCartIdOrderBySequenceDesc(idleCart)).isEmpty();
+        assertThat(cartEventRepository.findLatestSequence(activeCart)).contains(1);
+    }
+
+    @Test
+    void shouldAnswer404ForAPurgedCart() throws Exception {
+        addItem(paella, 1);
+        UUID cartId = (UUID) session.getAttribute("orderId");
+        jdbcTemplate.update("update cart_events set created_at = dateadd('DAY', -1, created_at) where cart_id = ?", cartId);
+        abandonedCartExpirer.purgeIdleEventCarts();
+
+        mockMvc.perform(put("/api/order/update-quantity")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateQuantityRequest(paella.getId(), 2))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Order not found"));
+        mockMvc.perform(delete("/api/order/remove-item/{id}", paella.getId()).session(new MockHttpSession()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No active order in session"));
+    }
+
+    @Test
+    void append_shouldRejectAWriterWithAStaleVersion() throws Exception {
+        addItem(paella, 1);
+        CartState loaded = cartEventStore.load((UUID) session.getAttribute("orderId"));
+        cartEventStore.append(loaded, CartEventType.ITEM_ADDED, sangria.getId(), 1, sangria.getPrice());
+
+        assertThatThrownBy(() -> cartEventStore.append(loaded, CartEventType.ITEM_REMOVED, paella.getId(), null, null))
+                .isInstanceOf(CartConflictException.class);
+    }
+
+    private ResultActions addItem(MenuItem item, int quantity) throws Exception {
+        return mockMvc.perform(post("/api/order/add-item")
+                .session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        AddItemRequest.builder().menuItemId(item.getId()).quantity(quantity).build())));
+    }
+}
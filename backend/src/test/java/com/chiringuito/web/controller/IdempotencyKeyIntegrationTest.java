@@ -0,0 +1,156 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+@Transactional
+class IdempotencyKeyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    private MenuItem paella;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+        paella = menuItemRepository.findByAvailableTrueOrderByNameAsc().getFirst();
+        session = new MockHttpSession();
+    }
+
+    @Test
+    void shouldReplayRetriedAddItemWithoutAddingTwice() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        MvcResult first = addItem(key, 2)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+
+        addItem(key, 2)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(first.getResponse().getContentAsString(), JsonCompareMode.STRICT));
+
+        mockMvc.perform(get("/api/order/cart").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemCount").value(2));
+    }
+
+    @Test
+    void shouldExecuteRequestsWithDifferentKeys() throws Exception {
+        addItem(UUID.randomUUID().toString(), 1).andExpect(status().isOk());
+        addItem(UUID.randomUUID().toString(), 1).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/order/cart").session(session))
+                .andExpect(jsonPath("$.itemCount").value(2));
+    }
+
+    @Test
+    void shouldReplayClientErrors() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        addItem(key, 0).andExpect(status().isBadRequest());
+        addItem(key, 0)
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentBody() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        addItem(key, 1).andExpect(status().isOk());
+        addItem(key, 3)
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key was already used with a different request"));
+    }
+
+    @Test
+    void shouldNotReplayRequestsWithoutSessionCookie() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(new AddItemRequest(paella.getId(), 1));
+
+        MvcResult first = mockMvc.perform(post("/api/order/add-item")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        // Another client without a cookie reusing the key must not get the first client's session
+        mockMvc.perform(post("/api/order/add-item")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.orderId").value(not(
+                        objectMapper.readTree(first.getResponse().getContentAsString()).get("orderId").asText())));
+    }
+
+    @Test
+    void shouldRejectMalformedKey() throws Exception {
+        addItem("not a valid key", 1).andExpect(status().isBadRequest());
+
+        assertThat(orderLineRepository.count()).isZero();
+    }
+
+    private ResultActions addItem(String key, int quantity) throws Exception {
+        AddItemRequest request = AddItemRequest.builder()
+                .menuItemId(paella.getId())
+                .quantity(quantity)
+                .build();
+        return mockMvc.perform(post("/api/order/add-item")
+                .session(session)
+                // As the session cookie would: MockMvc leaves the requested session id unset
+                .with(servletRequest -> {
+                    servletRequest.setRequestedSessionId(session.getId());
+                    return servletRequest;
+                })
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
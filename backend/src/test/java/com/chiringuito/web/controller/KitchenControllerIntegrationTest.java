@@ -0,0 +1,129 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+@Transactional
+class KitchenControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    private Order paellaOrder;
+    private Order gazpachoOrder;
+
+    @BeforeEach
+    void setUp() {
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+
+        MenuItem paella = menuItemRepository.save(MenuItem.builder()
+                .name("Test Paella").description("Test paella").price(new BigDecimal("15.99")).available(true).build());
+        MenuItem gazpacho = menuItemRepository.save(MenuItem.builder()
+                .name("Test Gazpacho").description("Test gazpacho").price(new BigDecimal("6.50")).available(true).build());
+
+        LocalDateTime now = LocalDateTime.now();
+        paellaOrder = paidOrder(now.minusMinutes(2), paella, 2);
+        gazpachoOrder = paidOrder(now.minusMinutes(1), gazpacho, 1);
+    }
+
+    @Test
+    void shouldListPreparingOrdersWithItemsAndEstimates() throws Exception {
+        // With no history every item is estimated at the default 5 minutes, so the single gazpacho goes first
+        mockMvc.perform(get("/api/kitchen/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].orderId").value(gazpachoOrder.getId().toString()))
+                .andExpect(jsonPath("$[0].items[0].menuItemName").value("Test Gazpacho"))
+                .andExpect(jsonPath("$[0].estimatedPrepSeconds").value(300))
+                .andExpect(jsonPath("$[1].orderId").value(paellaOrder.getId().toString()))
+                .andExpect(jsonPath("$[1].items[0].quantity").value(2))
+                .andExpect(jsonPath("$[1].estimatedPrepSeconds").value(600))
+                .andExpect(jsonPath("$[1].estimatedReadyAt").exists());
+    }
+
+    @Test
+    void shouldMarkOrderReadyAndDropItFromTheQueue() throws Exception {
+        mockMvc.perform(post("/api/kitchen/mark-ready/{orderId}", paellaOrder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.status").value("READY"))
+                .andExpect(jsonPath("$.smsSent").value(false));
+
+        Order ready = orderRepository.findById(paellaOrder.getId()).orElseThrow();
+        assertThat(ready.getStatus()).isEqualTo(OrderStatus.READY);
+        assertThat(ready.getReadyAt()).isNotNull();
+
+        mockMvc.perform(get("/api/kitchen/orders"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].orderId").value(gazpachoOrder.getId().toString()));
+    }
+
+    @Test
+    void shouldRejectOrdersThatAreNotBeingPrepared() throws Exception {
+        mockMvc.perform(post("/api/kitchen/mark-ready/{orderId}", paellaOrder.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/kitchen/mark-ready/{orderId}", paellaOrder.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    void shouldReturn404ForUnknownOrder() throws Exception {
+        mockMvc.perform(post("/api/kitchen/mark-ready/{orderId}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private Order paidOrder(LocalDateTime paidAt, MenuItem item, int quantity) {
+        BigDecimal total = item.getPrice().multiply(BigDecimal.valueOf(quantity));
+        Order order = orderRepository.save(Order.builder()
+                .status(OrderStatus.PREPARING)
+                .totalAmount(total)
+                .paidAt(paidAt)
+                .build());
+        orderLineRepository.save(OrderLine.builder()
+                .orderId(order.getId())
+                .menuItemId(item.getId())
+                .quantity(quantity)
+                .unitPrice(item.getPrice())
+                .lineTotal(total)
+                .build());
+        return order;
+    }
+}
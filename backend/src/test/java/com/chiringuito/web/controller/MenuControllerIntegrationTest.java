@@ -1,5 +1,7 @@
 package com.chiringuito.web.controller;
 
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -8,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -63,4 +66,70 @@ class MenuControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchMenu_shouldMatchAccentInsensitivePrefixes() throws Exception {
+        mockMvc.perform(get("/api/menu/search")
+                        .param("q", "jamon")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Jamón Ibérico"));
+
+        mockMvc.perform(get("/api/menu/search")
+                        .param("q", "gamb")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Gambas al Ajillo"));
+    }
+
+    @Test
+    void searchMenu_shouldFilterByMaxPrice() throws Exception {
+        mockMvc.perform(get("/api/menu/search")
+                        .param("maxPrice", "5.00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("Churros con Chocolate"))
+                .andExpect(jsonPath("$[1].name").value("Patatas Bravas"));
+    }
+
+    @Test
+    void searchMenu_shouldReturn400ForNegativeMaxPrice() throws Exception {
+        mockMvc.perform(get("/api/menu/search")
+                        .param("maxPrice", "-1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPopularItems_shouldReturnRankingWithinLimit() throws Exception {
+        mockMvc.perform(get("/api/menu/popular")
+                        .param("limit", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(3))));
+    }
+
+    @Test
+    void getPopularItems_shouldReturn400ForInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/menu/popular")
+                        .param("limit", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMenu_shouldServeCborWhenRequested() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/menu")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MenuItemDTO[] menu = new CBORMapper().readValue(body, MenuItemDTO[].class);
+        assertThat(menu).hasSize(10);
+        assertThat(menu[0].name()).isEqualTo("Calamares Fritos");
+    }
+}
@@ -0,0 +1,131 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.search.MenuSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not transactional: the import commits in transactions of its own and refreshes the caches after commit
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class MenuImportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MenuSearchIndex menuSearchIndex;
+
+    private List<Map<String, Object>> originalMenu;
+
+    @BeforeEach
+    void setUp() {
+        originalMenu = jdbcTemplate.queryForList("select id, name, description, price, image_url, available from menu_items");
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Object> originalIds = originalMenu.stream().map(row -> row.get("id")).toList();
+        jdbcTemplate.queryForList("select id from menu_items", Object.class).stream()
+                .filter(id -> !originalIds.contains(id))
+                .forEach(id -> jdbcTemplate.update("delete from menu_items where id = ?", id));
+        originalMenu.forEach(row -> jdbcTemplate.update(
+                "update menu_items set name = ?, description = ?, price = ?, image_url = ?, available = ? where id = ?",
+                row.get("name"), row.get("description"), row.get("price"), row.get("image_url"), row.get("available"),
+                row.get("id")));
+        menuSearchIndex.rebuild();
+    }
+
+    @Test
+    void shouldInsertNewItemsUpdateExistingOnesByNameAndRefreshTheSearchIndex() throws Exception {
+        String csv = """
+                name,description,price,image_url
+                Gazpacho,"Cold soup, now with watermelon",6.25,
+                Tinto de Verano,Red wine with lemon soda,3.50,
+                """;
+
+        mockMvc.perform(post("/api/staff/menu/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.deactivated").value(0));
+
+        assertThat(jdbcTemplate.queryForObject("select price from menu_items where name = 'Gazpacho'", BigDecimal.class))
+                .isEqualByComparingTo("6.25");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from menu_items_staging", Integer.class)).isZero();
+        mockMvc.perform(get("/api/menu/search").param("q", "tinto"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Tinto de Verano"));
+        mockMvc.perform(get("/api/menu/search").param("q", "watermelon"))
+                .andExpect(jsonPath("$[0].name").value("Gazpacho"));
+    }
+
+    @Test
+    void shouldReplaceTheWholeMenuFromJson() throws Exception {
+        String json = """
+                [{"name": "Paella Valenciana", "price": 13.00},
+                 {"name": "Horchata", "description": "Tiger nut milk", "price": 3.00}]""";
+
+        mockMvc.perform(post("/api/staff/menu/import").param("replace", "true")
+                        .contentType("application/json").content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.deactivated").value(originalMenu.size() - 1));
+
+        mockMvc.perform(get("/api/menu"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("Horchata"))
+                .andExpect(jsonPath("$[1].name").value("Paella Valenciana"));
+    }
+
+    @Test
+    void shouldRejectTheWholeImportWhenAnyRowIsInvalid() throws Exception {
+        String csv = """
+                name,price
+                Horchata,3.00
+                ,4.00
+                Agua,0
+                Gazpacho,5.555
+                Horchata,3.50
+                """;
+
+        mockMvc.perform(post("/api/staff/menu/import").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasSize(3)))
+                .andExpect(jsonPath("$.errors[0]").value("Row 2: name must not be blank"))
+                .andExpect(jsonPath("$.errors[1]").value(startsWith("Row 3: price")))
+                .andExpect(jsonPath("$.errors[2]").value("Row 4: price must have at most 2 decimals"));
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from menu_items", Integer.class))
+                .isEqualTo(originalMenu.size());
+    }
+
+    @Test
+    void shouldRejectMalformedFiles() throws Exception {
+        mockMvc.perform(post("/api/staff/menu/import").contentType("text/csv").content("name,price\nHorchata,cheap\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Row 1: invalid price cheap"));
+    }
+}
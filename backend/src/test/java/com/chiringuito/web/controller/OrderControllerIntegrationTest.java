@@ -2,12 +2,15 @@ package com.chiringuito.web.controller;
 
 import com.chiringuito.domain.entity.MenuItem;
 import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
 import com.chiringuito.domain.entity.OrderLine;
 import com.chiringuito.domain.repository.MenuItemRepository;
 import com.chiringuito.domain.repository.OrderLineRepository;
 import com.chiringuito.domain.repository.OrderRepository;
 import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.OrderSummaryDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -179,7 +182,7 @@ class OrderControllerIntegrationTest {
     void shouldReturn400WhenTotalItemsExceed50() throws Exception {
         // Given: Create order with 48 items already
         Order existingOrder = Order.builder()
-                .status("PENDING")
+                .status(OrderStatus.PENDING)
                 .totalAmount(new BigDecimal("480.00"))
                 .build();
         existingOrder = orderRepository.save(existingOrder);
@@ -356,4 +359,33 @@ class OrderControllerIntegrationTest {
                 .andExpect(jsonPath("$.itemCount").value(5)) // 2 + 3
                 .andExpect(jsonPath("$.orderLines", hasSize(2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldServeCartAsCborWhenRequested() throws Exception {
+        // Given
+        AddItemRequest request = AddItemRequest.builder()
+                .menuItemId(testMenuItem.getId())
+                .quantity(2)
+                .build();
+        mockMvc.perform(post("/api/order/add-item")
+                        .session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/order/cart")
+                        .session(session)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        OrderSummaryDTO cart = new CBORMapper().readValue(body, OrderSummaryDTO.class);
+        assertThat(cart.itemCount()).isEqualTo(2);
+        assertThat(cart.totalAmount()).isEqualByComparingTo("31.98");
+        assertThat(cart.orderLines()).hasSize(1);
+        assertThat(cart.orderLines().get(0).menuItemId()).isEqualTo(testMenuItem.getId());
+    }
+}
@@ -0,0 +1,211 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.action.ExportOrdersAction;
+import com.chiringuito.service.reporting.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not transactional: the export reads in transactions of its own, on another thread
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class OrderExportIntegrationTest {
+
+    private static final LocalDateTime DAY = LocalDate.of(2025, 7, 15).atStartOfDay();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MenuItem paella;
+    private MenuItem panConTomate;
+
+    @BeforeEach
+    void setUp() {
+        paella = menuItemRepository.findByAvailableTrueOrderByNameAsc().stream()
+                .filter(item -> item.getName().equals("Paella Valenciana"))
+                .findFirst()
+                .orElseThrow();
+        panConTomate = menuItemRepository.save(MenuItem.builder()
+                .name("Pan \"casero\", con tomate")
+                .description("Needs quoting in CSV")
+                .price(new BigDecimal("3.50"))
+                .available(true)
+                .build());
+
+        // Five orders on the day (one archived, one without lines) and one on the day after
+        createOrder(DAY.plusHours(12), OrderStatus.PICKED_UP, paella, 2);
+        createOrder(DAY.plusHours(13), OrderStatus.PREPARING, panConTomate, 1);
+        createOrder(DAY.plusHours(14), OrderStatus.EXPIRED, null, 0);
+        createOrder(DAY.plusHours(15), OrderStatus.READY, paella, 1);
+        createArchivedOrder(DAY.plusHours(11));
+        createOrder(DAY.plusDays(1).plusHours(12), OrderStatus.PICKED_UP, paella, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_lines_archive");
+        jdbcTemplate.update("delete from orders_archive");
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+        menuItemRepository.delete(panConTomate);
+    }
+
+    @Test
+    void shouldStreamOneCsvRowPerOrderLineOldestFirst() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/reports/orders/export").param("from", DAY.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-2025-07-15.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> rows = csv.lines().toList();
+        assertThat(rows).hasSize(6);
+        assertThat(rows.get(0)).startsWith("order_id,status,total_amount,created_at");
+        assertThat(rows.get(1)).contains(",PICKED_UP,").contains("2025-07-15T11:00");
+        assertThat(rows.get(2)).contains(",PICKED_UP,").contains(",Paella Valenciana,2,");
+        assertThat(rows.get(3)).contains(",PREPARING,").contains(",\"Pan \"\"casero\"\", con tomate\",1,");
+        assertThat(rows.get(4)).contains(",EXPIRED,").endsWith(",,,,,,");
+        assertThat(rows.get(5)).contains(",READY,");
+    }
+
+    @Test
+    void shouldStreamGzippedNdjsonWithOneObjectPerOrder() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/reports/orders/export")
+                        .param("from", DAY.toString())
+                        .param("format", "ndjson")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-2025-07-15.ndjson.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<JsonNode> orders = ndjson.lines().map(this::readTree).toList();
+        assertThat(orders).extracting(order -> order.get("status").asText())
+                .containsExactly("PICKED_UP", "PICKED_UP", "PREPARING", "EXPIRED", "READY");
+        assertThat(orders.get(1).get("lines")).hasSize(1);
+        assertThat(orders.get(1).get("lines").get(0).get("menuItemName").asText()).isEqualTo("Paella Valenciana");
+        assertThat(orders.get(1).get("lines").get(0).get("quantity").asInt()).isEqualTo(2);
+        assertThat(orders.get(3).get("lines")).isEmpty();
+    }
+
+    @Test
+    void shouldExportEveryOrderOnceAcrossChunks() throws Exception {
+        ExportOrdersAction smallChunks = new ExportOrdersAction(dataSource, transactionManager, objectMapper, 2, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        smallChunks.execute(DAY, DAY.plusDays(2), ExportFormat.NDJSON, false, out);
+
+        List<String> orderIds = out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> readTree(line).get("orderId").asText())
+                .toList();
+        assertThat(orderIds).hasSize(6).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/reports/orders/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported export format: xlsx"));
+    }
+
+    private void createOrder(LocalDateTime createdAt, OrderStatus status, MenuItem item, int quantity) {
+        BigDecimal total = item != null ? item.getPrice().multiply(BigDecimal.valueOf(quantity)) : BigDecimal.ZERO;
+        Order order = orderRepository.save(Order.builder().status(status).totalAmount(total).build());
+        jdbcTemplate.update("update orders set created_at = ? where id = ?", createdAt, order.getId());
+        if (item != null) {
+            orderLineRepository.save(OrderLine.builder()
+                    .orderId(order.getId())
+                    .menuItemId(item.getId())
+                    .quantity(quantity)
+                    .unitPrice(item.getPrice())
+                    .lineTotal(total)
+                    .build());
+        }
+    }
+
+    private void createArchivedOrder(LocalDateTime createdAt) {
+        UUID orderId = UUID.randomUUID();
+        jdbcTemplate.update("insert into orders_archive (id, status_code, total_amount, created_at) values (?, ?, ?, ?)",
+                orderId, OrderStatus.PICKED_UP.code(), paella.getPrice(), createdAt);
+        jdbcTemplate.update("""
+                insert into order_lines_archive
+                    (id, order_id, menu_item_id, quantity, unit_price, line_total, order_created_at)
+                values (?, ?, ?, 1, ?, ?, ?)""",
+                UUID.randomUUID(), orderId, paella.getId(), paella.getPrice(), paella.getPrice(), createdAt);
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
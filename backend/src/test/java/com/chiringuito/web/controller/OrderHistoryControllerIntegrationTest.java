@@ -0,0 +1,169 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+@Transactional
+class OrderHistoryControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderLineRepository.deleteAll();
+        orderRepository.deleteAll();
+
+        for (int i = 0; i < 5; i++) {
+            orderRepository.save(Order.builder()
+                    .status(i % 2 == 0 ? OrderStatus.PICKED_UP : OrderStatus.PREPARING)
+                    .totalAmount(new BigDecimal("10.00"))
+                    .build());
+        }
+    }
+
+    @Test
+    void shouldWalkAllPagesNewestFirstWithoutDuplicates() throws Exception {
+        List<String> seen = new ArrayList<>();
+        String previousCreatedAt = null;
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            MockHttpServletRequestBuilder request = get("/api/staff/orders").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode order : page.get("orders")) {
+                String createdAt = order.get("createdAt").asText();
+                if (previousCreatedAt != null) {
+                    assertThat(createdAt).isLessThanOrEqualTo(previousCreatedAt);
+                }
+                previousCreatedAt = createdAt;
+                seen.add(order.get("orderId").asText());
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldPageAcrossLiveAndArchivedOrders() throws Exception {
+        orderRepository.flush();
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from orders_archive");
+        LocalDateTime boundary = LocalDateTime.of(2026, 6, 1, 20, 0);
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        // Live orders from the boundary on, archived ones up to it, with one row on each side at the boundary itself
+        insert("orders", high, boundary);
+        insert("orders", UUID.randomUUID(), boundary.plusMinutes(1));
+        insert("orders", UUID.randomUUID(), boundary.plusMinutes(2));
+        insert("orders_archive", low, boundary);
+        insert("orders_archive", UUID.randomUUID(), boundary.minusMinutes(1));
+        insert("orders_archive", UUID.randomUUID(), boundary.minusMinutes(2));
+        List<String> expected = jdbcTemplate.queryForList(
+                "select id from orders_all order by created_at desc, id desc", UUID.class).stream()
+                .map(UUID::toString).toList();
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/staff/orders").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("orders").forEach(order -> seen.add(order.get("orderId").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(seen.subList(2, 4)).containsExactly(high.toString(), low.toString());
+    }
+
+    @Test
+    void historyPages_shouldSeekTheCreationIndexOnBothSidesOfTheView() {
+        String plan = jdbcTemplate.queryForObject("""
+                explain select * from orders_all
+                where created_at <= ? and (created_at < ? or id < ?)
+                order by created_at desc, id desc
+                limit 2""", String.class, LocalDateTime.now(), LocalDateTime.now(), UUID.randomUUID());
+
+        // A range bound on each side, not a scan of all rows sorted afterwards
+        assertThat(plan).contains("IDX_ORDERS_CREATED_AT_ID: CREATED_AT <= ?1");
+        assertThat(plan).containsPattern("PRIMARY_KEY_\\w+: CREATED_AT <= \\?1");
+    }
+
+    @Test
+    void shouldFilterByStatus() throws Exception {
+        mockMvc.perform(get("/api/staff/orders").param("status", "PREPARING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", hasSize(2)))
+                .andExpect(jsonPath("$.orders[0].status").value("PREPARING"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn400ForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/staff/orders").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    private void insert(String table, UUID id, LocalDateTime createdAt) {
+        jdbcTemplate.update("insert into " + table + " (id, status_code, total_amount, created_at) values (?, ?, ?, ?)",
+                id, OrderStatus.PICKED_UP.code(), new BigDecimal("10.00"), Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,202 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.action.AddItemToOrderAction;
+import com.chiringuito.service.action.GetCartAction;
+import com.chiringuito.service.cart.EventSourcedCart;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.payment.PaymentEventApplier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: events are applied by the payment worker in transactions of its own
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class PaymentWebhookIntegrationTest {
+
+    private static final String SECRET = "local-webhook-secret";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PaymentEventApplier paymentEventApplier;
+
+    @Autowired
+    private AddItemToOrderAction addItemToOrderAction;
+
+    @Autowired
+    private GetCartAction getCartAction;
+
+    @Autowired
+    private EventSourcedCart eventSourcedCart;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MenuItem paella;
+
+    @BeforeEach
+    void setUp() {
+        paella = menuItemRepository.findByAvailableTrueOrderByNameAsc().getFirst();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from payment_events");
+        jdbcTemplate.update("delete from order_status_changes");
+        jdbcTemplate.update("delete from cart_snapshots");
+        jdbcTemplate.update("delete from cart_events");
+        jdbcTemplate.update("delete from order_lines");
+        jdbcTemplate.update("delete from orders");
+    }
+
+    @Test
+    void webhook_shouldRejectInvalidSignatures() throws Exception {
+        String body = event("evt_forged", "payment.succeeded", UUID.randomUUID());
+        long now = System.currentTimeMillis() / 1000;
+
+        mockMvc.perform(post("/api/payment/webhook").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/payment/webhook").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Payment-Signature", "t=" + now + ",v1=" + sign(now, body.replace("forged", "other"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Payment-Signature does not match"));
+        mockMvc.perform(post("/api/payment/webhook").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Payment-Signature", "t=" + (now - 3600) + ",v1=" + sign(now - 3600, body)))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from payment_events", Integer.class)).isZero();
+    }
+
+    @Test
+    void webhook_shouldAcknowledgeOnceAndDeduplicateRedeliveries() throws Exception {
+        String body = event("evt_1", "payment.succeeded", UUID.randomUUID());
+
+        deliver(body).andExpect(status().isAccepted());
+        deliver(body).andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from payment_events where event_id = 'evt_1'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void webhook_shouldRejectEventsWithoutOrder() throws Exception {
+        deliver("{\"id\":\"evt_2\",\"type\":\"payment.succeeded\"}").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void applier_shouldPayTheOrderInReceivedOrderAndIgnoreLaterDuplicates() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        UUID orderId = addItemToOrderAction.execute(new AddItemRequest(paella.getId(), 2), session).orderId();
+
+        deliver(event("evt_failed", "payment.failed", orderId)).andExpect(status().isAccepted());
+        deliver(event("evt_paid", "payment.succeeded", orderId)).andExpect(status().isAccepted());
+        deliver(event("evt_paid_again", "payment.succeeded", orderId)).andExpect(status().isAccepted());
+        paymentEventApplier.applyPendingEvents();
+
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PREPARING);
+        assertThat(order.getPaidAt()).isNotNull();
+        assertThat(order.getReferenceNumber()).matches("A-\\d+");
+        assertThat(order.getReferenceDay()).isNotNull();
+        assertThat(getCartAction.execute(session).referenceNumber()).isEqualTo(order.getReferenceNumber());
+        assertThat(outcomes()).containsExactly("recorded", "applied", "ignored: order is PREPARING");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_status_changes where order_id = ?",
+                Integer.class, orderId)).isEqualTo(1);
+        assertThat(meterRegistry.get("chiringuito.payments.lag").timeGauge().value()).isZero();
+    }
+
+    @Test
+    void lag_shouldGrowWhileTheApplierIsNotRunning() throws Exception {
+        TimeGauge lag = meterRegistry.get("chiringuito.payments.lag").timeGauge();
+
+        // Holding the applier's monitor keeps the scheduled worker out, as a busy scheduler would
+        synchronized (paymentEventApplier) {
+            deliver(event("evt_waiting", "payment.succeeded", UUID.randomUUID())).andExpect(status().isAccepted());
+            jdbcTemplate.update("update payment_events set received_at = ?", LocalDateTime.now().minusMinutes(1));
+
+            assertThat(lag.value(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(60);
+        }
+        paymentEventApplier.applyPendingEvents();
+
+        assertThat(lag.value()).isZero();
+    }
+
+    @Test
+    void applier_shouldMaterializeEventSourcedCarts() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        UUID cartId = eventSourcedCart.addItem(new AddItemRequest(paella.getId(), 3), session).orderId();
+
+        deliver(event("evt_cart", "payment.succeeded", cartId)).andExpect(status().isAccepted());
+        deliver(event("evt_unknown", "payment.succeeded", UUID.randomUUID())).andExpect(status().isAccepted());
+        paymentEventApplier.applyPendingEvents();
+
+        Order order = orderRepository.findById(cartId).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PREPARING);
+        assertThat(eventSourcedCart.getCart(session).referenceNumber()).isEqualTo(order.getReferenceNumber()).isNotNull();
+        assertThat(outcomes()).containsExactly("applied", "ignored: order not found");
+    }
+
+    private ResultActions deliver(String body) throws Exception {
+        long now = System.currentTimeMillis() / 1000;
+        return mockMvc.perform(post("/api/payment/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Payment-Signature", "t=" + now + ",v1=" + sign(now, body))
+                .content(body));
+    }
+
+    private List<String> outcomes() {
+        return jdbcTemplate.queryForList("select outcome from payment_events order by id", String.class);
+    }
+
+    private static String event(String id, String type, UUID orderId) {
+        return "{\"id\":\"" + id + "\",\"type\":\"" + type + "\",\"orderId\":\"" + orderId + "\",\"livemode\":false}";
+    }
+
+    private static String sign(long timestamp, String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal((timestamp + "." + body).getBytes(StandardCharsets.UTF_8)));
+    }
+}
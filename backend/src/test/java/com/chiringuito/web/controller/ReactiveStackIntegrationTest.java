@@ -0,0 +1,170 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.service.action.BrowseMenuAction;
+import com.chiringuito.service.dto.AddItemRequest;
+import com.chiringuito.service.dto.MenuItemDTO;
+import com.chiringuito.service.dto.OrderSummaryDTO;
+import com.chiringuito.service.dto.PickupSlotRequest;
+import com.chiringuito.service.dto.UpdateQuantityRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: requests are served on Netty threads against committed data
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles({"local", "reactive"})
+class ReactiveStackIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BrowseMenuAction browseMenuAction;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> createdOrders = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        createdOrders.forEach(orderId -> {
+            jdbcTemplate.update("delete from order_lines where order_id = ?", orderId);
+            jdbcTemplate.update("delete from orders where id = ?", orderId);
+        });
+    }
+
+    @Test
+    void getMenu_shouldReturnTheSameJsonAsTheServletStack() throws Exception {
+        String body = webTestClient.get().uri("/api/menu")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // Bytes, not writeValueAsString: the UTF-8 generator escapes the emoji surrogate pairs
+        assertThat(body).isEqualTo(new String(objectMapper.writeValueAsBytes(browseMenuAction.execute()), StandardCharsets.UTF_8));
+        assertThat(objectMapper.readValue(body, MenuItemDTO[].class)).hasSize(10);
+    }
+
+    @Test
+    void searchMenu_shouldRejectNegativeMaxPrice() {
+        webTestClient.get().uri("/api/menu/search?maxPrice=-1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Maximum price must not be negative");
+    }
+
+    @Test
+    void getCart_shouldReturnEmptyBodyWithoutCart() {
+        webTestClient.get().uri("/api/order/cart")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getCart_shouldReturnTheCartBuiltInTheSession() throws Exception {
+        List<MenuItemDTO> menu = browseMenuAction.execute();
+        EntityExchangeResult<OrderSummaryDTO> added = webTestClient.post().uri("/api/order/add-item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddItemRequest(menu.get(0).id(), 2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderSummaryDTO.class)
+                .returnResult();
+        createdOrders.add(added.getResponseBody().orderId());
+        ResponseCookie sessionCookie = added.getResponseCookies().getFirst("SESSION");
+        assertThat(sessionCookie).isNotNull();
+
+        OrderSummaryDTO updated = webTestClient.put().uri("/api/order/update-quantity")
+                .cookie(sessionCookie.getName(), sessionCookie.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdateQuantityRequest(menu.get(0).id(), 3))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderSummaryDTO.class)
+                .returnResult().getResponseBody();
+
+        String cart = webTestClient.get().uri("/api/order/cart")
+                .cookie(sessionCookie.getName(), sessionCookie.getValue())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(cart).isEqualTo(new String(objectMapper.writeValueAsBytes(updated), StandardCharsets.UTF_8));
+        assertThat(updated.itemCount()).isEqualTo(3);
+        assertThat(updated.totalAmount()).isEqualByComparingTo(menu.get(0).price().multiply(BigDecimal.valueOf(3)));
+        assertThat(updated.orderLines()).singleElement()
+                .satisfies(line -> assertThat(line.menuItemName()).isEqualTo(menu.get(0).name()));
+    }
+
+    @Test
+    void choosePickupSlot_shouldReturn409ForASlotThatHasStarted() {
+        List<MenuItemDTO> menu = browseMenuAction.execute();
+        EntityExchangeResult<OrderSummaryDTO> added = webTestClient.post().uri("/api/order/add-item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddItemRequest(menu.get(0).id(), 1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderSummaryDTO.class)
+                .returnResult();
+        createdOrders.add(added.getResponseBody().orderId());
+        ResponseCookie sessionCookie = added.getResponseCookies().getFirst("SESSION");
+
+        webTestClient.put().uri("/api/order/pickup-slot")
+                .cookie(sessionCookie.getName(), sessionCookie.getValue())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PickupSlotRequest(LocalDateTime.of(2026, 7, 1, 14, 15)))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("The 14:15 pickup slot has already started, please choose another one");
+    }
+
+    @Test
+    void addItem_shouldReturn400ForInvalidQuantity() {
+        webTestClient.post().uri("/api/order/add-item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddItemRequest(UUID.randomUUID(), 0))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").exists();
+    }
+
+    @Test
+    void addItem_shouldReturn404ForUnknownMenuItem() {
+        webTestClient.post().uri("/api/order/add-item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddItemRequest(UUID.randomUUID(), 1))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,130 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.MenuItem;
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.entity.OrderLine;
+import com.chiringuito.domain.repository.MenuItemRepository;
+import com.chiringuito.domain.repository.OrderLineRepository;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.service.reporting.OrderStatusChangeRecorder;
+import com.chiringuito.service.reporting.SalesRollupUpdater;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+@Transactional
+class ReportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+
+    @Autowired
+    private OrderStatusChangeRecorder orderStatusChangeRecorder;
+
+    @Autowired
+    private SalesRollupUpdater salesRollupUpdater;
+
+    private MenuItem paella;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        paella = menuItemRepository.findByAvailableTrueOrderByNameAsc().stream()
+                .filter(item -> item.getName().equals("Paella Valenciana"))
+                .findFirst()
+                .orElseThrow();
+
+        order = orderRepository.save(Order.builder()
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("25.00"))
+                .build());
+        orderLineRepository.save(OrderLine.builder()
+                .orderId(order.getId())
+                .menuItemId(paella.getId())
+                .quantity(2)
+                .unitPrice(new BigDecimal("12.50"))
+                .lineTotal(new BigDecimal("25.00"))
+                .build());
+    }
+
+    @Test
+    void shouldReportPaidAndPickedUpUnitsFromRollups() throws Exception {
+        // Given: the order is paid and later picked up
+        transition(OrderStatus.PREPARING);
+        assertThat(salesRollupUpdater.applyPendingChanges()).isEqualTo(1);
+        transition(OrderStatus.PICKED_UP);
+        assertThat(salesRollupUpdater.applyPendingChanges()).isEqualTo(1);
+
+        // When / Then
+        mockMvc.perform(get("/api/reports/sales/hourly"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].menuItemId").value(paella.getId().toString()))
+                .andExpect(jsonPath("$[0].menuItemName").value("Paella Valenciana"))
+                .andExpect(jsonPath("$[0].unitsSold").value(2))
+                .andExpect(jsonPath("$[0].revenue").value(25.00))
+                .andExpect(jsonPath("$[0].orderCount").value(1))
+                .andExpect(jsonPath("$[0].unitsPickedUp").value(2));
+    }
+
+    @Test
+    void shouldAccumulateAcrossBatches() throws Exception {
+        transition(OrderStatus.PREPARING);
+        salesRollupUpdater.applyPendingChanges();
+        order.setStatus(OrderStatus.PENDING);
+        transition(OrderStatus.PREPARING);
+        salesRollupUpdater.applyPendingChanges();
+
+        mockMvc.perform(get("/api/reports/sales/hourly"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].unitsSold").value(4))
+                .andExpect(jsonPath("$[0].orderCount").value(2));
+    }
+
+    @Test
+    void shouldIgnoreStatusesThatDoNotAffectSales() {
+        transition(OrderStatus.READY);
+
+        assertThat(salesRollupUpdater.applyPendingChanges()).isEqualTo(1);
+        assertThat(salesRollupUpdater.applyPendingChanges()).isZero();
+    }
+
+    @Test
+    void shouldReturn400WhenRangeIsInverted() throws Exception {
+        mockMvc.perform(get("/api/reports/sales/hourly")
+                        .param("from", "2025-07-15T12:00:00")
+                        .param("to", "2025-07-15T10:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void transition(OrderStatus status) {
+        order.setStatus(status);
+        order = orderRepository.save(order);
+        orderStatusChangeRecorder.record(order);
+    }
+}
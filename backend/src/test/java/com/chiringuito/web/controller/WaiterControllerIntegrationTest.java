@@ -0,0 +1,86 @@
+package com.chiringuito.web.controller;
+
+import com.chiringuito.domain.entity.Order;
+import com.chiringuito.domain.entity.OrderStatus;
+import com.chiringuito.domain.entity.OrderStatusChange;
+import com.chiringuito.domain.repository.OrderRepository;
+import com.chiringuito.domain.repository.OrderStatusChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+@Transactional
+class WaiterControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatusChangeRepository orderStatusChangeRepository;
+
+    private Order readyOrder;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime readyAt = LocalDateTime.now().minusMinutes(8);
+        readyOrder = orderRepository.save(Order.builder()
+                .status(OrderStatus.READY)
+                .totalAmount(new BigDecimal("15.99"))
+                .paidAt(readyAt.minusMinutes(20))
+                .readyAt(readyAt)
+                .referenceNumber("A-7")
+                .build());
+    }
+
+    @Test
+    void shouldMarkOrderPickedUpAndRecordTheChangeForTheRollups() throws Exception {
+        mockMvc.perform(post("/api/waiter/mark-picked-up/{orderId}", readyOrder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.referenceNumber").value("A-7"))
+                .andExpect(jsonPath("$.status").value("PICKED_UP"))
+                .andExpect(jsonPath("$.pickupTimeMinutes").value(8));
+
+        assertThat(orderRepository.findById(readyOrder.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.PICKED_UP);
+        assertThat(orderStatusChangeRepository.findAll())
+                .filteredOn(change -> change.getOrderId().equals(readyOrder.getId()))
+                .extracting(OrderStatusChange::getStatus)
+                .containsExactly(OrderStatus.PICKED_UP);
+    }
+
+    @Test
+    void shouldRejectOrdersThatAreNotReady() throws Exception {
+        mockMvc.perform(post("/api/waiter/mark-picked-up/{orderId}", readyOrder.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/waiter/mark-picked-up/{orderId}", readyOrder.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    void shouldReturn404ForUnknownOrder() throws Exception {
+        mockMvc.perform(post("/api/waiter/mark-picked-up/{orderId}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,62 @@
+package com.chiringuito.web.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyKeyFilterTest {
+
+    private final IdempotencyKeyFilter filter =
+            new IdempotencyKeyFilter(new InMemoryIdempotencyStore(100, Duration.ofHours(1)), Duration.ofSeconds(1));
+
+    @Test
+    void shouldNotStoreResponsesWrittenBeforeAController() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        // As admission control does when it sheds the request
+        FilterChain shed = (req, res) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(429);
+        };
+
+        filter.doFilter(request("key-1"), new MockHttpServletResponse(), shed);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1"), retry, shed);
+
+        assertThat(calls).hasValue(2);
+        assertThat(retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldReplayResponsesWrittenByAController() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain handled = (req, res) -> {
+            calls.incrementAndGet();
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, "handler");
+            res.getWriter().write("{}");
+        };
+
+        filter.doFilter(request("key-2"), new MockHttpServletResponse(), handled);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-2"), retry, handled);
+
+        assertThat(calls).hasValue(1);
+        assertThat(retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo("{}");
+    }
+
+    private static MockHttpServletRequest request(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/order/add-item");
+        request.setRequestedSessionId("session-1");
+        request.addHeader(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContent("{\"quantity\":1}".getBytes());
+        return request;
+    }
+}
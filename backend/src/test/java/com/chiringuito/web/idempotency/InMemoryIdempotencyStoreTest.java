@@ -0,0 +1,121 @@
+package com.chiringuito.web.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-07-15T13:00:00Z"));
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2, Duration.ofMinutes(10), clock);
+
+    @Test
+    void begin_shouldReplayCompletedResponse() {
+        assertThat(store.begin("a", WAIT).isOwner()).isTrue();
+        store.complete("a", response("first"));
+
+        IdempotencyStore.Claim claim = store.begin("a", WAIT);
+
+        assertThat(claim.isOwner()).isFalse();
+        assertThat(new String(claim.replay().body())).isEqualTo("first");
+    }
+
+    @Test
+    void begin_shouldLetRetryExecuteAfterAbandon() {
+        store.begin("a", WAIT);
+        store.abandon("a");
+
+        assertThat(store.begin("a", WAIT).isOwner()).isTrue();
+    }
+
+    @Test
+    void begin_shouldMakeConcurrentDuplicateWaitForTheFirstRequest() throws Exception {
+        store.begin("a", WAIT);
+
+        CompletableFuture<IdempotencyStore.Claim> duplicate = CompletableFuture.supplyAsync(() -> store.begin("a", WAIT));
+        Thread.sleep(50);
+        assertThat(duplicate).isNotDone();
+
+        store.complete("a", response("first"));
+
+        IdempotencyStore.Claim claim = duplicate.get(1, TimeUnit.SECONDS);
+        assertThat(new String(claim.replay().body())).isEqualTo("first");
+    }
+
+    @Test
+    void begin_shouldGiveUpWaitingAfterTimeout() {
+        store.begin("a", WAIT);
+
+        assertThatThrownBy(() -> store.begin("a", Duration.ofMillis(20)))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void begin_shouldForgetExpiredResponses() {
+        store.begin("a", WAIT);
+        store.complete("a", response("first"));
+
+        clock.advance(Duration.ofMinutes(11));
+
+        assertThat(store.begin("a", WAIT).isOwner()).isTrue();
+    }
+
+    @Test
+    void complete_shouldEvictLeastRecentlyUsedBeyondBound() {
+        for (String key : List.of("a", "b")) {
+            store.begin(key, WAIT);
+            store.complete(key, response(key));
+        }
+        store.begin("a", WAIT);
+        store.begin("c", WAIT);
+        store.complete("c", response("c"));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.begin("a", WAIT).isOwner()).isFalse();
+        assertThat(store.begin("b", WAIT).isOwner()).isTrue();
+    }
+
+    private static StoredResponse response(String body) {
+        return new StoredResponse(200, "application/json", List.of(), body.getBytes(), "fingerprint");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
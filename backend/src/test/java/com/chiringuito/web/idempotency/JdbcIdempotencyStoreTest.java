@@ -0,0 +1,77 @@
+package com.chiringuito.web.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("local")
+@Transactional
+class JdbcIdempotencyStoreTest {
+
+    private static final Duration WAIT = Duration.ofMillis(200);
+    private static final String KEY = "a".repeat(64);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcIdempotencyStore nodeA;
+    private JdbcIdempotencyStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        // Two stores with their own local caches over the same table, as on two nodes
+        nodeA = new JdbcIdempotencyStore(jdbcTemplate, new InMemoryIdempotencyStore(100, Duration.ofHours(1)), Duration.ofHours(1));
+        nodeB = new JdbcIdempotencyStore(jdbcTemplate, new InMemoryIdempotencyStore(100, Duration.ofHours(1)), Duration.ofHours(1));
+    }
+
+    @Test
+    void begin_shouldReplayResponseStoredByAnotherNode() {
+        assertThat(nodeA.begin(KEY, WAIT).isOwner()).isTrue();
+        nodeA.complete(KEY, new StoredResponse(201, "application/json", List.of("JSESSIONID=abc; Path=/"),
+                "{\"ok\":true}".getBytes(), "b".repeat(64)));
+
+        IdempotencyStore.Claim claim = nodeB.begin(KEY, WAIT);
+
+        assertThat(claim.isOwner()).isFalse();
+        assertThat(claim.replay().status()).isEqualTo(201);
+        assertThat(claim.replay().setCookies()).containsExactly("JSESSIONID=abc; Path=/");
+        assertThat(new String(claim.replay().body())).isEqualTo("{\"ok\":true}");
+    }
+
+    @Test
+    void begin_shouldConflictWhileAnotherNodeIsStillExecuting() {
+        nodeA.begin(KEY, WAIT);
+
+        assertThatThrownBy(() -> nodeB.begin(KEY, WAIT)).isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void abandon_shouldReleaseTheKeyForAllNodes() {
+        nodeA.begin(KEY, WAIT);
+        nodeA.abandon(KEY);
+
+        assertThat(nodeB.begin(KEY, WAIT).isOwner()).isTrue();
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteExpiredRows() {
+        jdbcTemplate.update("insert into idempotency_keys (key_hash, expires_at) values (?, ?)",
+                KEY, LocalDateTime.now().minusMinutes(1));
+
+        nodeA.purgeExpired();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from idempotency_keys", Integer.class)).isZero();
+    }
+}
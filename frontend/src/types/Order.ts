@@ -5,6 +5,7 @@ export type OrderStatus = 'PENDING' | 'PREPARING' | 'READY' | 'COMPLETED';
 export interface Order {
   orderId: string;
   status: OrderStatus;
+  referenceNumber?: string | null;
   totalAmount: number;
   itemCount: number;
   orderLines: OrderLine[];